@@ -1,10 +1,23 @@
+plugins {
+    // Micro-benchmarks in src/jmh: ./gradlew :api-gateway:jmh
+    id("me.champeau.jmh")
+}
+
 dependencies {
+    implementation(project(":loadbalancer"))
     implementation("org.springframework.cloud:spring-cloud-starter-gateway")
     implementation ("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.springframework.boot:spring-boot-starter-data-redis-reactive")
 	implementation("org.springframework.cloud:spring-cloud-starter-netflix-eureka-client")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("org.springframework.cloud:spring-cloud-config-client")
+    jmh("org.springframework:spring-test")
+}
 
-}
\ No newline at end of file
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,129 @@
+package com.hms.api_gateway.securities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.authorization.DelegatingReactiveAuthorizationManager;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authorization cost: the compiled table against the equivalent ordered pathMatchers
+ * chain that ServerHttpSecurity builds (DelegatingReactiveAuthorizationManager), using the real
+ * rules from config-server's api-gateway.yml.
+ * <p>
+ * ./gradlew :api-gateway:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private static final String RULES_FILE = "../config-server/src/main/resources/configuration/api-gateway.yml";
+
+    /**
+     * Early rule, middle rule, late rule and the catch-all.
+     */
+    @Param({"GET /api/bff/patients/p1/detail", "GET /api/medicines/m1", "DELETE /api/invoices/i1", "GET /api/notifications/n1"})
+    public String request;
+
+    private MockServerWebExchange exchange;
+    private AuthorizationContext context;
+    private Mono<Authentication> authentication;
+    private TableAuthorizationManager table;
+    private DelegatingReactiveAuthorizationManager chain;
+
+    @Setup
+    public void setup() throws IOException {
+        AuthorizationProperties properties = loadRules();
+        table = new TableAuthorizationManager(properties);
+        chain = chainOf(properties);
+
+        String[] parts = request.split(" ");
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.valueOf(parts[0]), parts[1]));
+        context = new AuthorizationContext(exchange);
+        authentication = Mono.just(new TestingAuthenticationToken("user", null, "RECEPTIONIST"));
+    }
+
+    @Benchmark
+    public AuthorizationDecision pathMatchersChain() {
+        return chain.check(authentication, exchange).block();
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiledTable() {
+        return table.check(authentication, context).block();
+    }
+
+    private static AuthorizationProperties loadRules() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : new YamlPropertySourceLoader().load("api-gateway", new FileSystemResource(RULES_FILE))) {
+            environment.getPropertySources().addLast(source);
+        }
+        return new Binder(ConfigurationPropertySources.get(environment))
+                .bind("hms.gateway.authorization", AuthorizationProperties.class)
+                .orElseThrow(() -> new IllegalStateException("No hms.gateway.authorization rules in " + RULES_FILE));
+    }
+
+    /**
+     * What the previous exchanges.pathMatchers(...).hasAnyAuthority(...) chain compiled to.
+     */
+    private static DelegatingReactiveAuthorizationManager chainOf(AuthorizationProperties properties) {
+        DelegatingReactiveAuthorizationManager.Builder builder = DelegatingReactiveAuthorizationManager.builder();
+        for (AuthorizationProperties.Rule rule : properties.getRules()) {
+            String[] paths = rule.getPaths().toArray(String[]::new);
+            List<ServerWebExchangeMatcher> matchers = new ArrayList<>();
+            if (rule.getMethods().isEmpty()) {
+                matchers.add(ServerWebExchangeMatchers.pathMatchers(paths));
+            } else {
+                for (String method : rule.getMethods()) {
+                    matchers.add(ServerWebExchangeMatchers.pathMatchers(HttpMethod.valueOf(method), paths));
+                }
+            }
+            ReactiveAuthorizationManager<AuthorizationContext> manager = switch (rule.effectiveAccess()) {
+                case PERMIT_ALL -> (auth, ctx) -> Mono.just(new AuthorizationDecision(true));
+                case DENY_ALL -> (auth, ctx) -> Mono.just(new AuthorizationDecision(false));
+                case AUTHENTICATED -> AuthenticatedReactiveAuthorizationManager.authenticated();
+                case ROLES -> AuthorityReactiveAuthorizationManager.hasAnyAuthority(rule.getRoles().toArray(String[]::new));
+            };
+            for (ServerWebExchangeMatcher matcher : matchers) {
+                builder.add(new ServerWebExchangeMatcherEntry<>(matcher, manager));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.hms.api_gateway.bff;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.bff")
+public class BffProperties {
+
+    /**
+     * Default budget of one section; a slower section is returned as TIMEOUT instead of delaying the page.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Per-section overrides, e.g. invoices: 3s.
+     */
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    /**
+     * Page size for list sections.
+     */
+    private int pageSize = 20;
+
+    public Duration timeoutOf(String section) {
+        return timeouts.getOrDefault(section, timeout);
+    }
+}
@@ -0,0 +1,109 @@
+package com.hms.api_gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hms.api_gateway.securities.TableAuthorizationManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the patient detail page from five services in one round trip. Sections are fetched
+ * concurrently, each with its own timeout; a failing section is reported in {@code sections}
+ * and the rest of the page is still returned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PatientDetailComposer {
+
+    private final WebClient.Builder loadBalancedWebClient;
+    private final BffProperties properties;
+    private final TableAuthorizationManager authorizationManager;
+
+    public Mono<Map<String, Object>> compose(String patientId, Jwt caller) {
+        int size = properties.getPageSize();
+        // Each section is authorized as if the caller had requested the routed API itself
+        Mono<Section> patient = fetch("patient", caller, "/api/patients/" + patientId,
+                "http://patient-service/patients/{id}", patientId);
+        Mono<Section> appointments = fetch("appointments", caller, "/api/appointments/by-patient/" + patientId,
+                "http://appointment-service/appointments/by-patient/{id}?size=" + size + "&sort=appointmentTime,desc", patientId);
+        Mono<Section> exams = fetch("exams", caller, "/api/exams/all",
+                "http://medical-exam-service/exams/all?filter=patientId=={id}&size=" + size + "&sort=examDate,desc", patientId);
+        Mono<Section> prescriptions = fetch("prescriptions", caller, "/api/exams/prescriptions/by-patient/" + patientId,
+                "http://medical-exam-service/exams/prescriptions/by-patient/{id}?size=" + size, patientId);
+        Mono<Section> invoices = fetch("invoices", caller, "/api/invoices/by-patient/" + patientId,
+                "http://billing-service/invoices/by-patient/{id}", patientId);
+
+        return Mono.zip(patient, appointments, exams, prescriptions, invoices)
+                .map(sections -> {
+                    Map<String, Section> byName = new LinkedHashMap<>();
+                    byName.put("patient", sections.getT1());
+                    byName.put("appointments", sections.getT2());
+                    byName.put("exams", sections.getT3());
+                    byName.put("prescriptions", sections.getT4());
+                    byName.put("invoices", sections.getT5());
+
+                    Map<String, Object> document = new LinkedHashMap<>();
+                    Map<String, Section.Status> status = new LinkedHashMap<>();
+                    byName.forEach((name, section) -> {
+                        document.put(name, section.data());
+                        status.put(name, section.status());
+                    });
+                    document.put("sections", status);
+                    return document;
+                });
+    }
+
+    private Mono<Section> fetch(String section, Jwt caller, String gatewayPath, String uri, String patientId) {
+        String role = caller.getClaimAsString("role");
+        if (!authorizationManager.isGranted(HttpMethod.GET, gatewayPath, role != null ? List.of(role) : List.of())) {
+            return Mono.just(Section.of(Section.Status.FORBIDDEN));
+        }
+        return loadBalancedWebClient.build()
+                .get()
+                .uri(uri, patientId)
+                .headers(headers -> {
+                    // Same identity headers AuthFilter adds to routed requests
+                    headers.set("X-User-ID", caller.getSubject());
+                    headers.set("X-User-Role", role);
+                    headers.set("X-User-Email", caller.getClaimAsString("email"));
+                    String branch = caller.getClaimAsString("branch");
+                    if (branch != null) {
+                        headers.set("X-Branch-ID", branch);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> Section.ok(body.path("data")))
+                .timeout(properties.timeoutOf(section))
+                .onErrorResume(e -> Mono.just(failed(section, patientId, e)));
+    }
+
+    private static Section failed(String section, String patientId, Throwable e) {
+        if (e instanceof TimeoutException) {
+            log.warn("BFF section {} timed out for patient {}", section, patientId);
+            return Section.of(Section.Status.TIMEOUT);
+        }
+        if (e instanceof WebClientResponseException response) {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                return Section.of(Section.Status.NOT_FOUND);
+            }
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)) {
+                return Section.of(Section.Status.FORBIDDEN);
+            }
+        }
+        log.warn("BFF section {} failed for patient {}: {}", section, patientId, e.getMessage());
+        return Section.of(Section.Status.ERROR);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hms.api_gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One part of a composed document. {@code data} is the {@code data} field of the service's
+ * ApiResponse, or null when the section is not OK.
+ */
+public record Section(Status status, JsonNode data) {
+
+    public enum Status {
+        OK, TIMEOUT, ERROR, NOT_FOUND, FORBIDDEN
+    }
+
+    public static Section ok(JsonNode data) {
+        return new Section(Status.OK, data);
+    }
+
+    public static Section of(Status status) {
+        return new Section(status, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.hms.api_gateway.caches;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+public record CachedResponse(HttpStatusCode status, MediaType contentType, byte[] body, Instant cachedAt, Instant expiresAt) {
+}
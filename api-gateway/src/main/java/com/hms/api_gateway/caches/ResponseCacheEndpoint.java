@@ -0,0 +1,38 @@
+package com.hms.api_gateway.caches;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/responsecache - entries and hit ratio per route.
+ * DELETE /actuator/responsecache[/{route}] - evict everything or one route.
+ */
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+
+    private final ResponseCacheStore store;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "entries", store.size(),
+                "routes", store.stats()
+        );
+    }
+
+    @DeleteOperation
+    public void invalidateAll() {
+        store.invalidateAll();
+    }
+
+    @DeleteOperation
+    public void invalidateRoute(@Selector String route) {
+        store.invalidateRoute(route);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hms.api_gateway.caches;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Total size of cached bodies across all routes.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Larger responses (e.g. unpaged exports) are passed through uncached.
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String name;
+
+        /**
+         * GETs under this path are cached; POST/PUT/PATCH/DELETE under it evict the route.
+         */
+        private String path;
+
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /**
+         * Other paths whose writes also evict this route (e.g. departments for employees).
+         */
+        private List<String> invalidatedBy = new ArrayList<>();
+    }
+}
@@ -0,0 +1,117 @@
+package com.hms.api_gateway.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte-bounded store of cached gateway responses. Keys start with {@code <route>|} so a whole
+ * route can be evicted at once when something is written through it.
+ */
+public class ResponseCacheStore {
+
+    public static final String METRIC_NAME = "gateway.response.cache";
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, LongAdder[]> routeStats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        meterRegistry.gaugeMapSize(METRIC_NAME + ".size", List.of(), cache.asMap());
+    }
+
+    public static String key(String route, String scope, String pathAndQuery) {
+        return route + "|" + scope + "|" + pathAndQuery;
+    }
+
+    public CachedResponse get(String route, String key) {
+        CachedResponse response = cache.getIfPresent(key);
+        record(route, response != null);
+        return response;
+    }
+
+    /**
+     * Read before forwarding a GET and pass to {@link #put}; a write that finished in between
+     * bumps it, so a response fetched before that write is not cached afterwards.
+     */
+    public long generation(String route) {
+        return generations.computeIfAbsent(route, r -> new AtomicLong()).get();
+    }
+
+    public void put(String route, String key, CachedResponse response, long generation) {
+        if (generation(route) == generation) {
+            cache.put(key, response);
+        }
+    }
+
+    public void invalidateRoute(String route) {
+        generations.computeIfAbsent(route, r -> new AtomicLong()).incrementAndGet();
+        String prefix = route + "|";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        meterRegistry.counter(METRIC_NAME + ".evictions", "route", route).increment();
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hits, misses and hit ratio per route since startup.
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        routeStats.forEach((route, counters) -> {
+            long hits = counters[0].sum();
+            long misses = counters[1].sum();
+            long total = hits + misses;
+            result.put(route, Map.of(
+                    "hits", hits,
+                    "misses", misses,
+                    "hitRatio", total == 0 ? 0.0 : (double) hits / total
+            ));
+        });
+        return result;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void record(String route, boolean hit) {
+        routeStats.computeIfAbsent(route, r -> new LongAdder[]{new LongAdder(), new LongAdder()})[hit ? 0 : 1].increment();
+        meterRegistry.counter(METRIC_NAME + ".requests", "route", route, "result", hit ? "hit" : "miss").increment();
+    }
+}
@@ -0,0 +1,59 @@
+package com.hms.api_gateway.coalescing;
+
+import com.hms.api_gateway.caches.CachedResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Upstream calls currently in flight, by request key. The first caller of a key becomes the
+ * leader and publishes the response; callers arriving before it completes share it.
+ */
+public class InFlightRequests {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @return a new flight to lead, or {@code null} if one is already in flight ({@link #follow}).
+     */
+    public Flight tryLead(String key) {
+        Flight flight = new Flight(key);
+        return flights.putIfAbsent(key, flight) == null ? flight : null;
+    }
+
+    /**
+     * Response of the in-flight leader; empty if there is none or it produced nothing shareable.
+     */
+    public Mono<CachedResponse> follow(String key) {
+        Flight flight = flights.get(key);
+        return flight != null ? flight.sink.asMono() : Mono.empty();
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    public class Flight {
+        private final String key;
+        private final Sinks.One<CachedResponse> sink = Sinks.one();
+
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        public void complete(CachedResponse response) {
+            flights.remove(key, this);
+            sink.tryEmitValue(response);
+        }
+
+        /**
+         * Leader failed, was cancelled or streamed its body: followers call upstream themselves.
+         */
+        public void abandon() {
+            flights.remove(key, this);
+            sink.tryEmitEmpty();
+        }
+    }
+}
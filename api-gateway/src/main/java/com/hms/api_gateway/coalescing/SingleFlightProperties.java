@@ -0,0 +1,36 @@
+package com.hms.api_gateway.coalescing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.single-flight")
+public class SingleFlightProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a coalesced request waits for the leader before calling upstream itself.
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String name;
+        private String path;
+
+        /**
+         * Only coalesce requests of the same user (responses that depend on the caller).
+         */
+        private boolean perUser = false;
+    }
+}
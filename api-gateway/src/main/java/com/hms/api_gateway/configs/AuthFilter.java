@@ -12,6 +12,9 @@ import reactor.core.publisher.Mono;
 
 @Component
 public class AuthFilter implements GlobalFilter, Ordered {
+
+    private static final String BRANCH_HEADER = "X-Branch-ID";
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 
@@ -23,16 +26,28 @@ public class AuthFilter implements GlobalFilter, Ordered {
                     String userId = jwt.getSubject();
                     String userRole = jwt.getClaim("role");
                     String userEmail = jwt.getClaim("email");
+                    String branchId = jwt.getClaim("branch");
 
                     ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
                             .header("X-User-ID", userId)
                             .header("X-User-Role", userRole)
                             .header("X-User-Email", userEmail)
+                            .headers(headers -> {
+                                // Branch only comes from the token; never trust a client-supplied header
+                                headers.remove(BRANCH_HEADER);
+                                if (branchId != null) {
+                                    headers.set(BRANCH_HEADER, branchId);
+                                }
+                            })
                             .build();
 
                     return exchange.mutate().request(mutatedRequest).build();
                 })
-                .switchIfEmpty(Mono.just(exchange))
+                .switchIfEmpty(Mono.fromSupplier(() -> exchange.mutate()
+                        .request(exchange.getRequest().mutate()
+                                .headers(headers -> headers.remove(BRANCH_HEADER))
+                                .build())
+                        .build()))
                 .flatMap(chain::filter);
     }
 
@@ -0,0 +1,22 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.bff.BffProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties(BffProperties.class)
+public class BffConfig {
+
+    /**
+     * Resolves http://&lt;service-id&gt;/... through Eureka, like the lb:// gateway routes.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClient() {
+        return WebClient.builder();
+    }
+}
@@ -0,0 +1,17 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.loadbalancer.concurrency.ConcurrencyLimitProperties;
+import com.hms.loadbalancer.concurrency.PriorityClassifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public PriorityClassifier priorityClassifier(ConcurrencyLimitProperties properties) {
+        return new PriorityClassifier(properties.getPriorities());
+    }
+}
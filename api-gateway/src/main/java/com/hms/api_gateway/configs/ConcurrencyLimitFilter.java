@@ -0,0 +1,104 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.loadbalancer.concurrency.AdaptiveLimiter;
+import com.hms.loadbalancer.concurrency.ConcurrencyLimitProperties;
+import com.hms.loadbalancer.concurrency.Priority;
+import com.hms.loadbalancer.concurrency.PriorityClassifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptive concurrency limit per downstream route. The limit follows the route's latency (see
+ * GradientLimit), and when it is reached the request is shed with a fast 503 instead of queueing
+ * behind a slow service. Reports are shed first, clinical writes last (see {@link Priority}).
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    // Mirrors ErrorCode.SERVICE_OVERLOADED
+    private static final String SHED_BODY = "{\"code\":2014,\"message\":\"Service Overloaded\",\"timestamp\":\"%s\"}";
+
+    private final ConcurrencyLimitProperties properties;
+    private final PriorityClassifier classifier;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, PriorityClassifier classifier,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.classifier = classifier;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        Priority priority = classifier.classify(exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        AdaptiveLimiter.Permit permit = limiters.computeIfAbsent(routeId, this::newLimiter).tryAcquire(priority);
+        if (permit == null) {
+            return shed(exchange.getResponse(), routeId, priority);
+        }
+
+        return chain.filter(exchange)
+                .doOnSuccess(v -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && (status.value() == 503 || status.value() == 504)) {
+                        permit.onDropped();
+                    } else {
+                        permit.onSuccess();
+                    }
+                })
+                .doOnError(e -> permit.onDropped())
+                .doOnCancel(permit::onIgnore);
+    }
+
+    private AdaptiveLimiter newLimiter(String routeId) {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties.newLimit());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private Mono<Void> shed(ServerHttpResponse response, String routeId, Priority priority) {
+        meterRegistry.counter("gateway.concurrency.shed", "route", routeId, "priority", priority.name()).increment();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = SHED_BODY.formatted(Instant.now()).getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    @Override
+    public int getOrder() {
+        // After RateLimitFilter (1): callers over their own quota don't take a slot
+        return 2;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.hedging.HedgingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+
+    /**
+     * Plain (not load-balanced) client: HedgingFilter picks the instance of each attempt itself.
+     */
+    @Bean
+    public WebClient hedgingWebClient(HedgingProperties properties) {
+        return WebClient.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) properties.getMaxBodySize().toBytes()))
+                .build();
+    }
+}
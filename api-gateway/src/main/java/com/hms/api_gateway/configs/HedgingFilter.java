@@ -0,0 +1,238 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.hedging.HedgeBudget;
+import com.hms.api_gateway.hedging.HedgingProperties;
+import com.hms.api_gateway.hedging.RollingPercentile;
+import com.hms.loadbalancer.InstanceStats;
+import com.hms.loadbalancer.LoadBalancerStatsRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DelegatingServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hedged GETs for opted-in lookup routes (hms.gateway.hedging.routes). The request is sent to the
+ * load-balanced instance; if it has not answered by the rule's rolling p95, a second attempt goes
+ * to a different instance. The first response wins and the other attempt is cancelled. A
+ * {@link HedgeBudget} per rule bounds the extra load.
+ * <p>
+ * Matched requests are proxied here instead of by the Netty routing filter, so every attempt is
+ * timed for the percentile, and the peak-EWMA stats still see both attempts.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    public static final String HEDGED_HEADER = "X-Hedged";
+
+    private final HedgingProperties properties;
+    private final WebClient webClient;
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final ObjectProvider<LoadBalancerStatsRegistry> statsRegistry;
+    private final MeterRegistry meterRegistry;
+    private final List<RuleState> rules;
+
+    public HedgingFilter(HedgingProperties properties,
+                         WebClient hedgingWebClient,
+                         LoadBalancerClientFactory clientFactory,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         ObjectProvider<LoadBalancerStatsRegistry> statsRegistry,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.webClient = hedgingWebClient;
+        this.clientFactory = clientFactory;
+        this.headersFilters = headersFilters;
+        this.statsRegistry = statsRegistry;
+        this.meterRegistry = meterRegistry;
+        this.rules = properties.getRoutes().stream()
+                .map(rule -> new RuleState(PathPatternParser.defaultInstance.parse(rule.getPath()), rule.getName(),
+                        new RollingPercentile(properties.getWindow()),
+                        new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetBurst())))
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled()
+                || url == null
+                || !"lb".equals(url.getScheme())
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || exchange.getRequest().getHeaders().getContentLength() > 0) {
+            return chain.filter(exchange);
+        }
+        RuleState rule = matchRule(exchange);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = url.getHost();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.addAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+        requestHeaders.remove(HttpHeaders.HOST);
+        rule.budget().deposit();
+
+        return Mono.from(clientFactory.getInstance(serviceId).choose())
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .flatMap(primary -> {
+                    Mono<Attempt> first = attempt(rule, primary, url, requestHeaders, false);
+                    long percentile = rule.latencies().percentile(properties.getPercentile(), properties.getMinSamples(), System.nanoTime());
+                    if (percentile < 0) {
+                        return first;
+                    }
+                    long delay = Math.max(properties.getMinDelay().toNanos(), percentile);
+                    Mono<Attempt> second = Mono.delay(Duration.ofNanos(delay))
+                            .flatMap(tick -> otherInstance(serviceId, primary))
+                            .filter(instance -> rule.budget().tryWithdraw())
+                            .flatMap(instance -> {
+                                meterRegistry.counter("gateway.hedging.hedges", "rule", rule.name()).increment();
+                                return attempt(rule, instance, url, requestHeaders, true);
+                            });
+                    return Mono.firstWithValue(first, second);
+                })
+                .timeout(properties.getTimeout())
+                // Same answer as the Netty routing filter gives for a response timeout
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "Response took longer than timeout: " + properties.getTimeout(), e))
+                .flatMap(winner -> write(exchange, rule, winner))
+                // No instance registered: let the routing filters produce the usual 503
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Attempt> attempt(RuleState rule, ServiceInstance instance, URI url, HttpHeaders headers, boolean hedge) {
+        URI target = LoadBalancerUriTools.reconstructURI(
+                new DelegatingServiceInstance(instance, instance.isSecure() ? "https" : "http"), url);
+        LoadBalancerStatsRegistry registry = statsRegistry.getIfAvailable();
+        return Mono.defer(() -> {
+            InstanceStats stats = registry != null ? registry.get(instance) : null;
+            long start = System.nanoTime();
+            if (stats != null) {
+                stats.start();
+            }
+            return webClient.get()
+                    .uri(target)
+                    .headers(h -> h.addAll(headers))
+                    .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> new Attempt(response.statusCode(), response.headers().asHttpHeaders(), body, hedge)))
+                    .doOnSuccess(result -> {
+                        long rtt = System.nanoTime() - start;
+                        rule.latencies().record(rtt);
+                        if (stats != null) {
+                            stats.complete(rtt, result.status().is5xxServerError(), System.nanoTime(), registry.properties());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (stats != null) {
+                            stats.complete(System.nanoTime() - start, true, System.nanoTime(), registry.properties());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (stats != null) {
+                            stats.abandon();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Another instance of the service, preferring the lowest peak-EWMA cost; empty with a single instance.
+     */
+    private Mono<ServiceInstance> otherInstance(String serviceId, ServiceInstance primary) {
+        ServiceInstanceListSupplier supplier = clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class)
+                .getIfAvailable();
+        if (supplier == null) {
+            return Mono.empty();
+        }
+        LoadBalancerStatsRegistry registry = statsRegistry.getIfAvailable();
+        return supplier.get().next().flatMap(instances -> {
+            List<ServiceInstance> others = instances.stream()
+                    .filter(instance -> !LoadBalancerStatsRegistry.key(instance).equals(LoadBalancerStatsRegistry.key(primary)))
+                    .toList();
+            if (others.isEmpty()) {
+                return Mono.empty();
+            }
+            if (registry == null) {
+                return Mono.just(others.get(ThreadLocalRandom.current().nextInt(others.size())));
+            }
+            long now = System.nanoTime();
+            return Mono.justOrEmpty(others.stream()
+                    .filter(instance -> !registry.get(instance).isEjected(now))
+                    .min(Comparator.comparingDouble(instance -> registry.get(instance).cost())));
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, RuleState rule, Attempt winner) {
+        meterRegistry.counter("gateway.hedging.requests", "rule", rule.name(),
+                "winner", winner.hedge() ? "hedge" : "primary").increment();
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(winner.status());
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), winner.headers(),
+                exchange, HttpHeadersFilter.Type.RESPONSE));
+        if (winner.hedge()) {
+            response.getHeaders().set(HEDGED_HEADER, "true");
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(winner.body())));
+    }
+
+    private RuleState matchRule(ServerWebExchange exchange) {
+        // Rules are written against the client path, before StripPrefix rewrote it
+        LinkedHashSet<URI> originals = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, new LinkedHashSet<>());
+        PathContainer path = originals.isEmpty()
+                ? exchange.getRequest().getPath().pathWithinApplication()
+                : PathContainer.parsePath(originals.iterator().next().getRawPath());
+        for (RuleState rule : rules) {
+            if (rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        // The request URL is lb://<service>/<rewritten path> here, before it is resolved to one instance
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    private record RuleState(PathPattern pattern, String name, RollingPercentile latencies, HedgeBudget budget) {
+    }
+
+    private record Attempt(HttpStatusCode status, HttpHeaders headers, byte[] body, boolean hedge) {
+    }
+}
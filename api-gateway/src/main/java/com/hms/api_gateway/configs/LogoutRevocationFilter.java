@@ -0,0 +1,52 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.securities.CachingReactiveJwtDecoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Revokes the caller's access token once auth-service confirms a logout, so the token
+ * cached by {@link CachingReactiveJwtDecoder} cannot be replayed until it expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class LogoutRevocationFilter implements GlobalFilter, Ordered {
+
+    private static final Set<String> LOGOUT_PATHS = Set.of("/api/auth/logout", "/auth-service/auth/logout");
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final CachingReactiveJwtDecoder jwtDecoder;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        var request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (request.getMethod() != HttpMethod.POST
+                || !LOGOUT_PATHS.contains(request.getPath().value())
+                || authorization == null
+                || !authorization.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+            var status = exchange.getResponse().getStatusCode();
+            if (status != null && status.is2xxSuccessful()) {
+                jwtDecoder.revoke(authorization.substring(BEARER_PREFIX.length()));
+            }
+        }));
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.ratelimits.LocalTokenBucketLimiter;
+import com.hms.api_gateway.ratelimits.RateLimitProperties;
+import com.hms.api_gateway.ratelimits.RateLimiterBackend;
+import com.hms.api_gateway.ratelimits.RedisTokenBucketLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiterBackend rateLimiterBackend(RateLimitProperties properties,
+                                                 ObjectProvider<ReactiveStringRedisTemplate> redisTemplate) {
+        if (properties.getBackend() == RateLimitProperties.Backend.REDIS) {
+            return new RedisTokenBucketLimiter(redisTemplate.getObject());
+        }
+        return new LocalTokenBucketLimiter(properties.getMaxLocalBuckets());
+    }
+}
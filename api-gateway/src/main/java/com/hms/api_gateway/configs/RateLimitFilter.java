@@ -0,0 +1,146 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.ratelimits.RateLimitDecision;
+import com.hms.api_gateway.ratelimits.RateLimitProperties;
+import com.hms.api_gateway.ratelimits.RateLimiterBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Token-bucket admission control per user and route. Runs after {@link AuthFilter}; the user is
+ * taken from the verified token (same value as X-User-ID), anonymous callers are keyed by client IP.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    // Mirrors ErrorCode.TOO_MANY_REQUESTS so clients see the same error shape as from the services
+    private static final String REJECTED_BODY = "{\"code\":2013,\"message\":\"Too Many Requests\",\"timestamp\":\"%s\"}";
+
+    private final RateLimitProperties properties;
+    private final RateLimiterBackend backend;
+    private final MeterRegistry meterRegistry;
+    private final List<CompiledRule> rules;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiterBackend backend, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.rules = properties.getRoutes().stream()
+                .map(rule -> new CompiledRule(PathPatternParser.defaultInstance.parse(rule.getPath()), rule))
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> new Caller(((JwtAuthenticationToken) principal).getToken()))
+                .defaultIfEmpty(new Caller("ip:" + clientIp(exchange), RateLimitProperties.ANONYMOUS_ROLE))
+                .flatMap(caller -> {
+                    CompiledRule rule = matchRule(exchange);
+                    String ruleName = rule != null ? rule.source().getName() : routeId(exchange);
+                    RateLimitProperties.Quota quota = resolveQuota(rule, caller.role());
+
+                    return backend.tryConsume(ruleName + ":" + caller.key(), quota)
+                            .flatMap(decision -> {
+                                ServerHttpResponse response = exchange.getResponse();
+                                response.getHeaders().set(LIMIT_HEADER, Long.toString(quota.getCapacity()));
+                                if (decision.allowed()) {
+                                    if (decision.remaining() >= 0) {
+                                        response.getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+                                    }
+                                    return chain.filter(exchange);
+                                }
+                                return reject(response, decision, ruleName);
+                            });
+                });
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, RateLimitDecision decision, String ruleName) {
+        meterRegistry.counter("gateway.ratelimit.rejected", "rule", ruleName).increment();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = REJECTED_BODY.formatted(Instant.now()).getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private CompiledRule matchRule(ServerWebExchange exchange) {
+        var path = exchange.getRequest().getPath().pathWithinApplication();
+        for (CompiledRule rule : rules) {
+            if (rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private RateLimitProperties.Quota resolveQuota(CompiledRule rule, String role) {
+        if (rule != null) {
+            RateLimitProperties.RouteRule source = rule.source();
+            if (role != null && source.getRoles().containsKey(role)) {
+                return source.getRoles().get(role);
+            }
+            if (source.getDefaultQuota() != null) {
+                return source.getDefaultQuota();
+            }
+        }
+        if (role != null && properties.getRoles().containsKey(role)) {
+            return properties.getRoles().get(role);
+        }
+        return properties.getDefaultQuota();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "default";
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        // After AuthFilter (-1), before the request is forwarded
+        return 1;
+    }
+
+    private record CompiledRule(PathPattern pattern, RateLimitProperties.RouteRule source) {
+    }
+
+    private record Caller(String key, String role) {
+        Caller(Jwt jwt) {
+            this("user:" + jwt.getSubject(), jwt.getClaimAsString("role"));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.caches.ResponseCacheEndpoint;
+import com.hms.api_gateway.caches.ResponseCacheProperties;
+import com.hms.api_gateway.caches.ResponseCacheStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCacheStore responseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseCacheStore(properties, meterRegistry);
+    }
+
+    @Bean
+    public ResponseCacheEndpoint responseCacheEndpoint(ResponseCacheStore responseCacheStore) {
+        return new ResponseCacheEndpoint(responseCacheStore);
+    }
+}
@@ -0,0 +1,179 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.caches.CachedResponse;
+import com.hms.api_gateway.caches.ResponseCacheProperties;
+import com.hms.api_gateway.caches.ResponseCacheStore;
+import com.hms.api_gateway.securities.CallerScope;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caches GET responses of read-mostly catalog routes (hms.gateway.response-cache.routes).
+ * <p>
+ * Entries are scoped by the caller's role and branch, so callers only ever share a response with
+ * callers the security rules treat identically. A successful POST/PUT/PATCH/DELETE through the
+ * gateway on a route (or one of its {@code invalidated-by} paths) evicts the whole route. Writes
+ * that bypass the gateway (service-to-service Feign calls) are only picked up after the TTL.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    private final List<CompiledRoute> routes;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, ResponseCacheStore store) {
+        this.properties = properties;
+        this.store = store;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(
+                        route,
+                        PathPatternParser.defaultInstance.parse(route.getPath()),
+                        route.getInvalidatedBy().stream().map(PathPatternParser.defaultInstance::parse).toList()))
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || routes.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        HttpMethod method = exchange.getRequest().getMethod();
+        RequestPath path = exchange.getRequest().getPath();
+        if (method == HttpMethod.GET) {
+            CompiledRoute route = routes.stream()
+                    .filter(candidate -> candidate.pattern().matches(path.pathWithinApplication()))
+                    .findFirst()
+                    .orElse(null);
+            return route == null ? chain.filter(exchange) : serveCached(exchange, chain, route);
+        }
+        if (WRITE_METHODS.contains(method)) {
+            List<CompiledRoute> affected = routes.stream()
+                    .filter(route -> route.isInvalidatedBy(path))
+                    .toList();
+            if (!affected.isEmpty()) {
+                return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                    var status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        affected.forEach(route -> store.invalidateRoute(route.source().getName()));
+                    }
+                }));
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> serveCached(ServerWebExchange exchange, GatewayFilterChain chain, CompiledRoute route) {
+        String routeName = route.source().getName();
+        return CallerScope.of(exchange, false)
+                .flatMap(scope -> {
+                    var uri = exchange.getRequest().getURI();
+                    String key = ResponseCacheStore.key(routeName, scope,
+                            uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery());
+
+                    CachedResponse cached = store.get(routeName, key);
+                    if (cached != null) {
+                        return writeCached(exchange.getResponse(), cached);
+                    }
+
+                    long generation = store.generation(routeName);
+                    ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), routeName, key, generation, route.source().getTtl());
+                    return chain.filter(exchange.mutate().response(capturing).build());
+                });
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentType(cached.contentType());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE, Long.toString(Duration.between(cached.cachedAt(), Instant.now()).toSeconds()));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter starts writing it, and answer
+        // hits before SingleFlightFilter coalesces misses
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+        private final String routeName;
+        private final String key;
+        private final long generation;
+        private final Duration ttl;
+
+        CapturingResponse(ServerHttpResponse delegate, String routeName, String key, long generation, Duration ttl) {
+            super(delegate);
+            this.routeName = routeName;
+            this.key = key;
+            this.generation = generation;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                return bytes;
+            }).defaultIfEmpty(new byte[0]).flatMap(bytes -> {
+
+                if (bytes.length <= properties.getMaxEntrySize().toBytes()) {
+                    Instant now = Instant.now();
+                    store.put(routeName, key,
+                            new CachedResponse(getStatusCode(), getHeaders().getContentType(), bytes, now, now.plus(ttl)),
+                            generation);
+                }
+                getHeaders().set(CACHE_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private boolean isCacheable() {
+            var status = getStatusCode();
+            if (status == null || status.value() != 200 || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            String cacheControl = getHeaders().getCacheControl();
+            return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+        }
+    }
+
+    private record CompiledRoute(ResponseCacheProperties.Route source, PathPattern pattern, List<PathPattern> invalidatedBy) {
+        boolean isInvalidatedBy(RequestPath path) {
+            var container = path.pathWithinApplication();
+            return pattern.matches(container) || invalidatedBy.stream().anyMatch(p -> p.matches(container));
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.hms.api_gateway.configs;
 
-import com.hms.api_gateway.constants.SecurityConstant;
+import com.hms.api_gateway.securities.AuthorizationProperties;
+import com.hms.api_gateway.securities.CachingReactiveJwtDecoder;
+import com.hms.api_gateway.securities.JwtCacheEndpoint;
+import com.hms.api_gateway.securities.JwtCacheProperties;
+import com.hms.api_gateway.securities.TableAuthorizationManager;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
@@ -25,6 +30,7 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.X509EncodedKeySpec;
 
 @Configuration
+@EnableConfigurationProperties({JwtCacheProperties.class, AuthorizationProperties.class})
 public class SecurityConfig {
     public static final SignatureAlgorithm JWT_ALGORITHM = SignatureAlgorithm.RS256;
 
@@ -38,97 +44,36 @@ public class SecurityConfig {
         this.publicKey = loadPublicKey(publicKeyPem);
     }
 
+    /**
+     * RS256 verification is the most expensive step of a gateway request, while a browser reuses
+     * the same access token for its whole lifetime - verified tokens are cached until {@code exp}.
+     */
     @Bean
-    public ReactiveJwtDecoder reactiveJwtDecoder() {
-        return NimbusReactiveJwtDecoder
+    public CachingReactiveJwtDecoder reactiveJwtDecoder(JwtCacheProperties jwtCacheProperties, MeterRegistry meterRegistry) {
+        ReactiveJwtDecoder nimbusDecoder = NimbusReactiveJwtDecoder
                 .withPublicKey(this.publicKey)
                 .signatureAlgorithm(JWT_ALGORITHM)
                 .build();
+        return new CachingReactiveJwtDecoder(nimbusDecoder, jwtCacheProperties, meterRegistry);
+    }
+
+    @Bean
+    public JwtCacheEndpoint jwtCacheEndpoint(CachingReactiveJwtDecoder reactiveJwtDecoder) {
+        return new JwtCacheEndpoint(reactiveJwtDecoder);
+    }
+
+    @Bean
+    public TableAuthorizationManager authorizationManager(AuthorizationProperties authorizationProperties) {
+        return new TableAuthorizationManager(authorizationProperties);
     }
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TableAuthorizationManager authorizationManager) {
         http
                 .cors(cors -> {}) // Enable CORS - picks up CorsWebFilter bean
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
-                .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints (no auth required)
-                        .pathMatchers(SecurityConstant.PUBLIC_URLS).permitAll()
-                        
-                        // ============================================
-                        // ADMIN ONLY - Account & HR Management
-                        // ============================================
-                        // Account search allowed for RECEPTIONIST (to link patient accounts)
-                        .pathMatchers(HttpMethod.GET, "/api/auth/accounts/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.POST, "/api/auth/accounts/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.PUT, "/api/auth/accounts/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.DELETE, "/api/auth/accounts/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.POST, "/api/hr/departments/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.PUT, "/api/hr/departments/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.DELETE, "/api/hr/departments/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.POST, "/api/hr/employees/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.PUT, "/api/hr/employees/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.DELETE, "/api/hr/employees/**").hasAuthority("ADMIN")
-                        
-                        // ============================================
-                        // STAFF + PATIENT - Read HR Data (for booking)
-                        // ============================================
-                        .pathMatchers(HttpMethod.GET, "/api/hr/**").hasAnyAuthority("ADMIN", "DOCTOR", "NURSE", "RECEPTIONIST", "PATIENT")
-                        
-                        // ============================================
-                        // MEDICAL STAFF - Exams & Prescriptions
-                        // ============================================
-                        .pathMatchers(HttpMethod.POST, "/api/exams/**").hasAnyAuthority("ADMIN", "DOCTOR")
-                        .pathMatchers(HttpMethod.PUT, "/api/exams/**").hasAnyAuthority("ADMIN", "DOCTOR")
-                        .pathMatchers(HttpMethod.DELETE, "/api/exams/**").hasAnyAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.GET, "/api/exams/**").hasAnyAuthority("ADMIN", "DOCTOR", "NURSE", "PATIENT")
-                        
-                        // ============================================
-                        // MEDICINE - Admin manages, Staff reads
-                        // ============================================
-                        .pathMatchers(HttpMethod.POST, "/api/medicines/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.PUT, "/api/medicines/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.DELETE, "/api/medicines/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.PATCH, "/api/medicines/**").hasAnyAuthority("ADMIN", "DOCTOR")
-                        .pathMatchers(HttpMethod.GET, "/api/medicines/**").authenticated()
-                        
-                        // ============================================
-                        // PATIENT MANAGEMENT
-                        // ============================================
-                        .pathMatchers("/api/patients/me/**").authenticated()  // Self-service
-                        .pathMatchers(HttpMethod.GET, "/api/patients/**").hasAnyAuthority("ADMIN", "DOCTOR", "NURSE", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.POST, "/api/patients/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.PUT, "/api/patients/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        
-                        // ============================================
-                        // APPOINTMENTS - Various roles
-                        // ============================================
-                        .pathMatchers("/api/appointments/**").authenticated()
-                        
-                        // ============================================
-                        // SCHEDULES - Staff manages, all authenticated can read
-                        // ============================================
-                        .pathMatchers(HttpMethod.POST, "/api/hr/schedules/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.PUT, "/api/hr/schedules/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.GET, "/api/hr/schedules/**").authenticated()
-                        
-                        // ============================================
-                        // BILLING - Admin and Receptionist for invoices
-                        // ============================================
-                        .pathMatchers(HttpMethod.POST, "/api/invoices/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.PUT, "/api/invoices/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                        .pathMatchers(HttpMethod.DELETE, "/api/invoices/**").hasAuthority("ADMIN")
-                        .pathMatchers(HttpMethod.GET, "/api/invoices/**").hasAnyAuthority("ADMIN", "RECEPTIONIST", "PATIENT")
-                        .pathMatchers("/api/vnpay/**").authenticated()  // VNPay payment
-                        
-                        // ============================================
-                        // REPORTS - Admin only for analytics
-                        // ============================================
-                        .pathMatchers("/api/reports/**").hasAuthority("ADMIN")
-                        
-                        // Default: require authentication
-                        .anyExchange().authenticated()
-                )
+                // Rules are configuration (hms.gateway.authorization.rules), compiled into a path trie
+                .authorizeExchange(exchanges -> exchanges.anyExchange().access(authorizationManager))
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
                 );
@@ -0,0 +1,142 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.caches.CachedResponse;
+import com.hms.api_gateway.coalescing.InFlightRequests;
+import com.hms.api_gateway.coalescing.SingleFlightProperties;
+import com.hms.api_gateway.securities.CallerScope;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Collapses concurrent identical GETs (same path, query and caller scope) into one upstream call.
+ * The first request is forwarded; requests arriving while it is in flight wait for its response
+ * and receive a copy. Nothing is kept after the leader completes - that is ResponseCacheFilter's job.
+ * <p>
+ * Metric {@code gateway.singleflight.requests{route, role=leader|follower}}; the coalesce ratio of a
+ * route is follower / (leader + follower).
+ */
+@Component
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlightFilter implements GlobalFilter, Ordered {
+
+    public static final String COALESCED_HEADER = "X-Coalesced";
+    public static final String METRIC_NAME = "gateway.singleflight.requests";
+
+    private final SingleFlightProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final InFlightRequests inFlight = new InFlightRequests();
+    private final List<CompiledRoute> routes;
+
+    public SingleFlightFilter(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(route, PathPatternParser.defaultInstance.parse(route.getPath())))
+                .toList();
+        meterRegistry.gauge("gateway.singleflight.inflight", inFlight, InFlightRequests::size);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        var path = exchange.getRequest().getPath().pathWithinApplication();
+        CompiledRoute route = routes.stream()
+                .filter(candidate -> candidate.pattern().matches(path))
+                .findFirst()
+                .orElse(null);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeName = route.source().getName();
+        return CallerScope.of(exchange, route.source().isPerUser())
+                .flatMap(scope -> {
+                    var uri = exchange.getRequest().getURI();
+                    String key = routeName + "|" + scope + "|" + uri.getRawPath() + "?" + uri.getRawQuery();
+
+                    InFlightRequests.Flight flight = inFlight.tryLead(key);
+                    if (flight == null) {
+                        meterRegistry.counter(METRIC_NAME, "route", routeName, "role", "follower").increment();
+                        return inFlight.follow(key)
+                                .timeout(properties.getMaxWait(), Mono.empty())
+                                .flatMap(response -> writeShared(exchange.getResponse(), response))
+                                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+                    }
+
+                    meterRegistry.counter(METRIC_NAME, "route", routeName, "role", "leader").increment();
+                    return chain.filter(exchange.mutate().response(new LeaderResponse(exchange.getResponse(), flight)).build())
+                            .doFinally(signal -> flight.abandon());
+                });
+    }
+
+    private static Mono<Void> writeShared(ServerHttpResponse response, CachedResponse shared) {
+        response.setStatusCode(shared.status());
+        if (shared.contentType() != null) {
+            response.getHeaders().setContentType(shared.contentType());
+        }
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside ResponseCacheFilter (misses only), still before NettyWriteResponseFilter
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * Publishes the leader's buffered body to the followers while writing it to its own client.
+     */
+    private static class LeaderResponse extends ServerHttpResponseDecorator {
+        private final InFlightRequests.Flight flight;
+
+        LeaderResponse(ServerHttpResponse delegate, InFlightRequests.Flight flight) {
+            super(delegate);
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                flight.abandon();
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                return bytes;
+            }).defaultIfEmpty(new byte[0]).flatMap(bytes -> {
+
+                Instant now = Instant.now();
+                flight.complete(new CachedResponse(getStatusCode(), getHeaders().getContentType(), bytes, now, now));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    private record CompiledRoute(SingleFlightProperties.Route source, PathPattern pattern) {
+    }
+}
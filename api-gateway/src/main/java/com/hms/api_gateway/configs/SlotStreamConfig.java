@@ -0,0 +1,29 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.slots.SlotStreamHub;
+import com.hms.api_gateway.slots.SlotStreamProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(SlotStreamProperties.class)
+public class SlotStreamConfig {
+
+    /**
+     * The Redis subscription is lazy - it opens with the first SSE subscriber.
+     */
+    @Bean
+    public SlotStreamHub slotStreamHub(ReactiveStringRedisTemplate redisTemplate,
+                                       SlotStreamProperties properties,
+                                       MeterRegistry meterRegistry) {
+        SlotStreamHub hub = new SlotStreamHub(redisTemplate, properties);
+        Gauge.builder("gateway.slots.subscribers", hub, SlotStreamHub::subscribers)
+                .description("Open slot availability SSE connections")
+                .register(meterRegistry);
+        return hub;
+    }
+}
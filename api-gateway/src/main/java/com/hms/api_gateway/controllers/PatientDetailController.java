@@ -0,0 +1,58 @@
+package com.hms.api_gateway.controllers;
+
+import com.hms.api_gateway.bff.PatientDetailComposer;
+import com.hms.api_gateway.bff.Section;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Backend-for-frontend endpoints: one request per page instead of one per service.
+ */
+@RestController
+@RequestMapping("/api/bff")
+@RequiredArgsConstructor
+public class PatientDetailController {
+
+    private final PatientDetailComposer patientDetailComposer;
+
+    /**
+     * Patient profile, appointments, exams, prescriptions and invoices in one document.
+     * {@code data.sections} tells per section whether it is OK, TIMEOUT, ERROR, NOT_FOUND or FORBIDDEN.
+     */
+    @GetMapping("/patients/{patientId}/detail")
+    public Mono<ResponseEntity<Map<String, Object>>> patientDetail(
+            @PathVariable String patientId,
+            @AuthenticationPrincipal Jwt jwt) {
+        return patientDetailComposer.compose(patientId, jwt)
+                .map(document -> {
+                    @SuppressWarnings("unchecked")
+                    var sections = (Map<String, Section.Status>) document.get("sections");
+                    if (sections.get("patient") == Section.Status.NOT_FOUND) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body(3000, "Patient Not Found", null));
+                    }
+                    return ResponseEntity.ok(body(1000, "success", document));
+                });
+    }
+
+    // Same envelope as common ApiResponse
+    private static Map<String, Object> body(int code, String message, Object data) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("code", code);
+        body.put("message", message);
+        body.put("data", data);
+        body.put("timestamp", Instant.now());
+        return body;
+    }
+}
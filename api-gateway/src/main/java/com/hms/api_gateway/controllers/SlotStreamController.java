@@ -0,0 +1,72 @@
+package com.hms.api_gateway.controllers;
+
+import com.hms.api_gateway.slots.SlotStreamHub;
+import com.hms.api_gateway.slots.SlotStreamProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Slot availability push for booking UIs, replacing polling of GET /api/appointments/slots.
+ */
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+public class SlotStreamController {
+
+    private final SlotStreamHub slotStreamHub;
+    private final SlotStreamProperties properties;
+
+    /**
+     * {@code GET /api/slots/stream?key=<doctorId>:<yyyy-MM-dd>&key=...}
+     * <p>
+     * Events: {@code subscribed} once (load the slots now), then {@code slot} with a JSON delta
+     * {doctorId, date, type: BOOKED|RELEASED|INVALIDATED, times: ["HH:mm"], at}. On INVALIDATED,
+     * reload that day's slots.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(@RequestParam("key") List<String> keys) {
+        if (!properties.isEnabled()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        Set<String> validated = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (!isValidKey(key)) {
+                return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Invalid key '" + key + "', expected <doctorId>:<yyyy-MM-dd>"));
+            }
+            validated.add(key);
+        }
+        if (validated.size() > properties.getMaxKeys()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + properties.getMaxKeys() + " keys per stream"));
+        }
+        return slotStreamHub.subscribe(validated);
+    }
+
+    private static boolean isValidKey(String key) {
+        int separator = key.lastIndexOf(':');
+        if (separator <= 0) {
+            return false;
+        }
+        try {
+            LocalDate.parse(key.substring(separator + 1));
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hms.api_gateway.hedging;
+
+/**
+ * Token budget for hedges: every request deposits {@code ratio} tokens, a hedge spends one. With
+ * a ratio of 0.05 hedges add at most ~5% load to a route even when all of it is slow, plus a
+ * small burst allowance.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.maxTokens = burst;
+        this.tokens = burst;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hms.api_gateway.hedging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Latency percentile of the rule after which the hedge is sent.
+     */
+    private double percentile = 0.95;
+
+    /**
+     * No hedging until the rule has this many latency samples.
+     */
+    private int minSamples = 50;
+
+    /**
+     * Number of most recent latencies the percentile is computed over.
+     */
+    private int window = 512;
+
+    /**
+     * Lower bound of the hedge delay, so a fast route is not hedged on noise.
+     */
+    private Duration minDelay = Duration.ofMillis(20);
+
+    /**
+     * Hedges allowed per request, e.g. 0.05 = at most ~5% extra load on the route.
+     */
+    private double budgetRatio = 0.05;
+
+    /**
+     * Hedges that may be sent in a burst before the budget has been earned by requests.
+     */
+    private int budgetBurst = 10;
+
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * Bodies are buffered to pick the winner; lookups are small.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(2);
+
+    /**
+     * Opt-in: only GETs matching one of these rules are hedged.
+     */
+    private List<Rule> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String name;
+
+        private String path;
+    }
+}
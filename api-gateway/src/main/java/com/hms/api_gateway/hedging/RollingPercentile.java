@@ -0,0 +1,51 @@
+package com.hms.api_gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Percentile over the last {@code window} latencies of a rule. The sorted view is recomputed at
+ * most once per {@link #REFRESH_NANOS}, so reads on the request path are cheap.
+ */
+public class RollingPercentile {
+
+    private static final long REFRESH_NANOS = 1_000_000_000L;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    private long cachedValue = -1;
+    private long cachedAtNanos;
+    private double cachedPercentile;
+
+    public RollingPercentile(int window) {
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 with fewer than {@code minSamples} samples
+     */
+    public synchronized long percentile(double percentile, int minSamples, long nowNanos) {
+        if (count < minSamples) {
+            return -1;
+        }
+        if (cachedValue >= 0 && cachedPercentile == percentile && nowNanos - cachedAtNanos < REFRESH_NANOS) {
+            return cachedValue;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+        cachedValue = sorted[Math.max(0, index)];
+        cachedPercentile = percentile;
+        cachedAtNanos = nowNanos;
+        return cachedValue;
+    }
+}
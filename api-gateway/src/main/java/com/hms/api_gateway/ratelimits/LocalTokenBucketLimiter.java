@@ -0,0 +1,52 @@
+package com.hms.api_gateway.ratelimits;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * In-memory buckets - exact for a single gateway, per-replica with several.
+ */
+public class LocalTokenBucketLimiter implements RateLimiterBackend {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalTokenBucketLimiter(long maxBuckets) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(String key, RateLimitProperties.Quota quota) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(quota.getCapacity(), System.nanoTime()));
+        return Mono.just(bucket.tryConsume(quota, System.nanoTime()));
+    }
+
+    static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        synchronized RateLimitDecision tryConsume(RateLimitProperties.Quota quota, long nowNanos) {
+            double elapsedSeconds = (double) (nowNanos - lastRefillNanos) / NANOS_PER_SECOND;
+            tokens = Math.min(quota.getCapacity(), tokens + elapsedSeconds * quota.getRefillPerSecond());
+            lastRefillNanos = nowNanos;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return RateLimitDecision.allow((long) tokens);
+            }
+            return RateLimitDecision.reject((long) Math.ceil((1 - tokens) / quota.getRefillPerSecond()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hms.api_gateway.ratelimits;
+
+/**
+ * @param remaining         whole tokens left after this request
+ * @param retryAfterSeconds when rejected, seconds until one token is available again
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterSeconds) {
+
+    public static RateLimitDecision allow(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision reject(long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, Math.max(1, retryAfterSeconds));
+    }
+}
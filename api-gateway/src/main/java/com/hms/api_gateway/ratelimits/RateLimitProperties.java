@@ -0,0 +1,78 @@
+package com.hms.api_gateway.ratelimits;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket quotas. A request is charged against one bucket per (rule, user): the first
+ * {@link #routes} rule whose path matches, otherwise the gateway route it was routed to.
+ * Quota lookup: rule role quota, rule default, global role quota, global default.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.rate-limit")
+public class RateLimitProperties {
+
+    public static final String ANONYMOUS_ROLE = "ANONYMOUS";
+
+    private boolean enabled = true;
+
+    /**
+     * LOCAL keeps buckets in this gateway's memory; REDIS shares them between gateway replicas.
+     */
+    private Backend backend = Backend.LOCAL;
+
+    private Quota defaultQuota = new Quota(100, 20);
+
+    /**
+     * Per-role quotas (ADMIN, DOCTOR, ..., ANONYMOUS for requests without a token).
+     */
+    private Map<String, Quota> roles = new HashMap<>();
+
+    /**
+     * Stricter rules for expensive paths, checked in order.
+     */
+    private List<RouteRule> routes = new ArrayList<>();
+
+    /**
+     * Upper bound of in-memory buckets for the LOCAL backend; idle buckets are evicted first.
+     */
+    private long maxLocalBuckets = 100_000;
+
+    public enum Backend {
+        LOCAL, REDIS
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+        /**
+         * Burst size - requests allowed back to back with a full bucket.
+         */
+        private long capacity;
+
+        /**
+         * Sustained rate - tokens added per second.
+         */
+        private double refillPerSecond;
+    }
+
+    @Getter
+    @Setter
+    public static class RouteRule {
+        private String name;
+        private String path;
+        private Quota defaultQuota;
+        private Map<String, Quota> roles = new HashMap<>();
+    }
+}
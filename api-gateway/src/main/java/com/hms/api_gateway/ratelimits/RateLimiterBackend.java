@@ -0,0 +1,11 @@
+package com.hms.api_gateway.ratelimits;
+
+import reactor.core.publisher.Mono;
+
+public interface RateLimiterBackend {
+
+    /**
+     * Take one token from the bucket {@code key}, creating it full with {@code quota} if missing.
+     */
+    Mono<RateLimitDecision> tryConsume(String key, RateLimitProperties.Quota quota);
+}
@@ -0,0 +1,64 @@
+package com.hms.api_gateway.ratelimits;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all gateway replicas. Refill and take run atomically in one Lua script using
+ * the Redis clock, so replicas with skewed clocks still agree. If Redis is unreachable requests are
+ * let through - rate limiting must not take the gateway down with it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTokenBucketLimiter implements RateLimiterBackend {
+
+    private static final String KEY_PREFIX = "hms:ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry = math.ceil((1 - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+            return { allowed, math.floor(tokens), retry }
+            """, List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(String key, RateLimitProperties.Quota quota) {
+        return redisTemplate.execute(TOKEN_BUCKET,
+                        List.of(KEY_PREFIX + key),
+                        List.of(Long.toString(quota.getCapacity()), Double.toString(quota.getRefillPerSecond())))
+                .next()
+                .map(result -> {
+                    long allowed = ((Number) result.get(0)).longValue();
+                    long remaining = ((Number) result.get(1)).longValue();
+                    long retryAfter = ((Number) result.get(2)).longValue();
+                    return allowed == 1 ? RateLimitDecision.allow(remaining) : RateLimitDecision.reject(retryAfter);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Rate limit backend unavailable, allowing request: {}", e.getMessage());
+                    return Mono.just(RateLimitDecision.allow(-1));
+                });
+    }
+}
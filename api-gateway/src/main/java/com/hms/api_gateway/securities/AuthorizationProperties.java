@@ -0,0 +1,49 @@
+package com.hms.api_gateway.securities;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered access rules of the gateway; the first rule matching path and method decides.
+ * Paths support literal segments, {@code *} / {@code {var}} (one segment) and a trailing {@code **}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.authorization")
+public class AuthorizationProperties {
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Access {
+        PERMIT_ALL, AUTHENTICATED, ROLES, DENY_ALL
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Empty means any method.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Defaults to ROLES when {@link #roles} is set, AUTHENTICATED otherwise.
+         */
+        private Access access;
+
+        private List<String> roles = new ArrayList<>();
+
+        public Access effectiveAccess() {
+            if (access != null) {
+                return access;
+            }
+            return roles.isEmpty() ? Access.AUTHENTICATED : Access.ROLES;
+        }
+    }
+}
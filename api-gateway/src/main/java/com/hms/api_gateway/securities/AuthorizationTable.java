@@ -0,0 +1,201 @@
+package com.hms.api_gateway.securities;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of {@link AuthorizationProperties}: a segment trie over all rule paths, with the
+ * allowed methods and roles of each rule as bitmasks.
+ * <p>
+ * A lookup walks the request path once and only visits branches that can match, instead of testing
+ * every pattern in order. First-match order is kept by returning the lowest matching rule index.
+ */
+public final class AuthorizationTable {
+
+    public static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private static final List<HttpMethod> METHODS = List.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.PATCH, HttpMethod.DELETE, HttpMethod.OPTIONS, HttpMethod.TRACE);
+    private static final int ALL_METHODS = (1 << METHODS.size()) - 1;
+    private static final int[] NONE = new int[0];
+
+    private final Node root = new Node();
+    private final int[] methodMasks;
+    private final long[] roleMasks;
+    private final AuthorizationProperties.Access[] access;
+    private final Map<String, Long> roleBits = new HashMap<>();
+
+    private AuthorizationTable(List<AuthorizationProperties.Rule> rules) {
+        this.methodMasks = new int[rules.size()];
+        this.roleMasks = new long[rules.size()];
+        this.access = new AuthorizationProperties.Access[rules.size()];
+
+        for (int i = 0; i < rules.size(); i++) {
+            AuthorizationProperties.Rule rule = rules.get(i);
+            access[i] = rule.effectiveAccess();
+            methodMasks[i] = rule.getMethods().isEmpty() ? ALL_METHODS : maskOf(rule.getMethods());
+            for (String role : rule.getRoles()) {
+                roleMasks[i] |= roleBit(role);
+            }
+            if (rule.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("Authorization rule #" + i + " has no paths");
+            }
+            for (String path : rule.getPaths()) {
+                insert(path, i);
+            }
+        }
+    }
+
+    public static AuthorizationTable compile(List<AuthorizationProperties.Rule> rules) {
+        return new AuthorizationTable(rules);
+    }
+
+    /**
+     * @return index of the first rule matching method and path, or {@link #NO_MATCH}
+     */
+    public int match(HttpMethod method, PathContainer path) {
+        int methodIndex = METHODS.indexOf(method);
+        if (methodIndex < 0) {
+            return NO_MATCH;
+        }
+        List<PathContainer.Element> elements = path.elements();
+        List<String> segments = new ArrayList<>(elements.size() / 2 + 1);
+        for (PathContainer.Element element : elements) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                segments.add(segment.valueToMatch());
+            }
+        }
+        // "/a/" has a trailing empty segment, like PathPattern sees it
+        if (path.value().endsWith("/") && path.value().length() > 1) {
+            segments.add("");
+        }
+        return find(root, segments, 0, 1 << methodIndex, NO_MATCH);
+    }
+
+    public AuthorizationProperties.Access access(int rule) {
+        return rule == NO_MATCH ? AuthorizationProperties.Access.AUTHENTICATED : access[rule];
+    }
+
+    /**
+     * Whether an authenticated caller with these roles passes {@code rule}.
+     */
+    public boolean isGranted(int rule, Collection<String> roles) {
+        return switch (access(rule)) {
+            case PERMIT_ALL, AUTHENTICATED -> true;
+            case DENY_ALL -> false;
+            case ROLES -> (roleMasks[rule] & roleMask(roles)) != 0;
+        };
+    }
+
+    public long roleMask(Collection<String> roles) {
+        long mask = 0;
+        for (String role : roles) {
+            Long bit = roleBits.get(role);
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    public int size() {
+        return access.length;
+    }
+
+    private int find(Node node, List<String> segments, int index, int methodBit, int best) {
+        best = firstMatching(node.catchAll, methodBit, best);
+        if (index == segments.size()) {
+            return firstMatching(node.terminal, methodBit, best);
+        }
+        Node literal = node.literals.get(segments.get(index));
+        if (literal != null) {
+            best = find(literal, segments, index + 1, methodBit, best);
+        }
+        if (node.wildcard != null) {
+            best = find(node.wildcard, segments, index + 1, methodBit, best);
+        }
+        return best;
+    }
+
+    private int firstMatching(int[] rules, int methodBit, int best) {
+        for (int rule : rules) {
+            if (rule >= best) {
+                break;
+            }
+            if ((methodMasks[rule] & methodBit) != 0) {
+                return rule;
+            }
+        }
+        return best;
+    }
+
+    private void insert(String path, int rule) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        String[] parts = trimmed.isEmpty() ? new String[0] : trimmed.split("/", -1);
+        Node node = root;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.equals("**")) {
+                if (i != parts.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of a path: " + path);
+                }
+                node.catchAll = append(node.catchAll, rule);
+                return;
+            }
+            if (part.equals("*") || (part.startsWith("{") && part.endsWith("}"))) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else if (part.contains("*") || part.contains("{")) {
+                throw new IllegalArgumentException("Partial wildcards are not supported: " + path);
+            } else {
+                node = node.literals.computeIfAbsent(part, p -> new Node());
+            }
+        }
+        node.terminal = append(node.terminal, rule);
+    }
+
+    private long roleBit(String role) {
+        return roleBits.computeIfAbsent(role, r -> {
+            if (roleBits.size() >= Long.SIZE) {
+                throw new IllegalArgumentException("At most " + Long.SIZE + " distinct roles are supported");
+            }
+            return 1L << roleBits.size();
+        });
+    }
+
+    private static int maskOf(List<String> methods) {
+        int mask = 0;
+        for (String method : methods) {
+            int index = METHODS.indexOf(HttpMethod.valueOf(method.toUpperCase()));
+            if (index < 0) {
+                throw new IllegalArgumentException("Unsupported method in authorization rule: " + method);
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    private static int[] append(int[] rules, int rule) {
+        // Rules are inserted in order, so the arrays stay sorted
+        int[] result = Arrays.copyOf(rules, rules.length + 1);
+        result[rules.length] = rule;
+        return result;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private int[] terminal = NONE;
+        private int[] catchAll = NONE;
+    }
+}
@@ -0,0 +1,153 @@
+package com.hms.api_gateway.securities;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Wraps a {@link ReactiveJwtDecoder} with a bounded cache of already verified tokens.
+ * <p>
+ * Entries are keyed by the SHA-256 of the raw token (the token itself is never stored as a key)
+ * and expire exactly at the token's {@code exp}, so a cached token is never accepted longer than
+ * the delegate would accept it. Revocation is explicit: {@link #revoke(String)} rejects a single
+ * token until it expires, {@link #revokeSubject(String)} rejects every token of a user issued
+ * before the call. Revocation keeps working when caching is disabled.
+ * <p>
+ * Revocations are not size-bounded: evicting one would make a logged-out token valid again.
+ * Each entry still expires at the token's {@code exp}, so the set only holds live tokens.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    public static final String METRIC_NAME = "gateway.jwt.cache";
+
+    private final ReactiveJwtDecoder delegate;
+    private final boolean cacheEnabled;
+    private final Cache<String, Jwt> verified;
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<String, Instant> revokedSubjects;
+    private final Duration revocationRetention;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cacheEnabled = properties.isEnabled();
+        this.revocationRetention = properties.getRevocationRetention();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(CachingReactiveJwtDecoder.<Jwt>untilExpiry(Jwt::getExpiresAt))
+                .recordStats()
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(CachingReactiveJwtDecoder.<Instant>untilExpiry(Function.identity()))
+                .build();
+        this.revokedSubjects = Caffeine.newBuilder()
+                .expireAfterWrite(revocationRetention)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, METRIC_NAME);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String key = hash(token);
+        if (revokedTokens.getIfPresent(key) != null) {
+            return Mono.error(new BadJwtException("Token has been revoked"));
+        }
+        Jwt cached = cacheEnabled ? verified.getIfPresent(key) : null;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.decode(token)
+                .flatMap(jwt -> {
+                    if (isRevokedBySubject(jwt)) {
+                        return Mono.error(new BadJwtException("Token has been revoked"));
+                    }
+                    if (cacheEnabled && jwt.getExpiresAt() != null) {
+                        verified.put(key, jwt);
+                    }
+                    return Mono.just(jwt);
+                });
+    }
+
+    /**
+     * Reject this token from now on, even though its signature and {@code exp} are still valid.
+     */
+    public void revoke(String token) {
+        String key = hash(token);
+        Jwt cached = verified.getIfPresent(key);
+        verified.invalidate(key);
+        Instant exp = cached != null && cached.getExpiresAt() != null
+                ? cached.getExpiresAt()
+                : Instant.now().plus(revocationRetention);
+        revokedTokens.put(key, exp);
+    }
+
+    /**
+     * Reject every token of {@code subject} issued up to now (e.g. password change, account disabled).
+     */
+    public void revokeSubject(String subject) {
+        revokedSubjects.put(subject, Instant.now());
+        verified.asMap().values().removeIf(jwt -> subject.equals(jwt.getSubject()));
+    }
+
+    /**
+     * Drop all verified entries; the next request of every session is verified again.
+     */
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    public long size() {
+        return verified.estimatedSize();
+    }
+
+    public double hitRate() {
+        return verified.stats().hitRate();
+    }
+
+    private boolean isRevokedBySubject(Jwt jwt) {
+        Instant cutoff = jwt.getSubject() != null ? revokedSubjects.getIfPresent(jwt.getSubject()) : null;
+        return cutoff != null && (jwt.getIssuedAt() == null || !jwt.getIssuedAt().isAfter(cutoff));
+    }
+
+    private static <V> Expiry<String, V> untilExpiry(Function<V, Instant> expiresAt) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, V value, long currentTime) {
+                Instant exp = expiresAt.apply(value);
+                return Math.max(0, Duration.between(Instant.now(), exp).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hms.api_gateway.securities;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Groups callers that the security rules cannot tell apart (same role and branch), or a single
+ * user when the response depends on who asks. Used to decide which callers may share a response.
+ */
+public final class CallerScope {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    private CallerScope() {
+    }
+
+    public static Mono<String> of(ServerWebExchange exchange, boolean perUser) {
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> of(((JwtAuthenticationToken) principal).getToken(), perUser))
+                .defaultIfEmpty(ANONYMOUS);
+    }
+
+    public static String of(Jwt jwt, boolean perUser) {
+        String branch = jwt.getClaimAsString("branch");
+        String scope = jwt.getClaimAsString("role") + (branch != null ? "@" + branch : "");
+        return perUser ? scope + ":" + jwt.getSubject() : scope;
+    }
+}
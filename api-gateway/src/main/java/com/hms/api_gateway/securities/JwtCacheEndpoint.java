@@ -0,0 +1,39 @@
+package com.hms.api_gateway.securities;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/jwtcache - size and hit rate of the verified-token cache.
+ * DELETE /actuator/jwtcache - drop all cached verifications.
+ * DELETE /actuator/jwtcache/{subject} - revoke every token issued so far to a user.
+ */
+@Endpoint(id = "jwtcache")
+@RequiredArgsConstructor
+public class JwtCacheEndpoint {
+
+    private final CachingReactiveJwtDecoder decoder;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "size", decoder.size(),
+                "hitRate", decoder.hitRate()
+        );
+    }
+
+    @DeleteOperation
+    public void invalidateAll() {
+        decoder.invalidateAll();
+    }
+
+    @DeleteOperation
+    public void revokeSubject(@Selector String subject) {
+        decoder.revokeSubject(subject);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hms.api_gateway.securities;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.jwt-cache")
+public class JwtCacheProperties {
+
+    /**
+     * Cache verified tokens so repeated requests skip the RS256 signature check.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of verified tokens kept (roughly one per active session).
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * How long a subject-wide revocation is remembered; must cover the access token lifetime.
+     */
+    private Duration revocationRetention = Duration.ofHours(1);
+}
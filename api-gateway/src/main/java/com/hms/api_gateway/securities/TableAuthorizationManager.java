@@ -0,0 +1,94 @@
+package com.hms.api_gateway.securities;
+
+import com.hms.api_gateway.constants.SecurityConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authorizes every exchange against the compiled {@link AuthorizationTable}. The table is rebuilt
+ * from {@code hms.gateway.authorization.rules} on a config refresh, so access rules change without
+ * a code change or restart. {@link SecurityConstant#PUBLIC_URLS} always come first, so a bad rule
+ * set cannot lock users out of login.
+ */
+@Slf4j
+public class TableAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final Mono<AuthorizationDecision> DENIED = Mono.just(new AuthorizationDecision(false));
+
+    private final AuthorizationProperties properties;
+    private volatile AuthorizationTable table;
+
+    public TableAuthorizationManager(AuthorizationProperties properties) {
+        this.properties = properties;
+        this.table = compile(properties);
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        var request = context.getExchange().getRequest();
+        AuthorizationTable current = table;
+        int rule = current.match(request.getMethod(), request.getPath().pathWithinApplication());
+
+        return switch (current.access(rule)) {
+            case PERMIT_ALL -> GRANTED;
+            case DENY_ALL -> DENIED;
+            case AUTHENTICATED, ROLES -> authentication
+                    .filter(auth -> auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken))
+                    .map(auth -> new AuthorizationDecision(current.isGranted(rule, roles(auth.getAuthorities()))))
+                    .defaultIfEmpty(new AuthorizationDecision(false));
+        };
+    }
+
+    /**
+     * Same decision for a request the caller has not made yet (e.g. BFF sections).
+     */
+    public boolean isGranted(HttpMethod method, String path, Collection<String> roles) {
+        AuthorizationTable current = table;
+        return current.isGranted(current.match(method, PathContainer.parsePath(path)), roles);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            AuthorizationTable reloaded = compile(properties);
+            this.table = reloaded;
+            log.info("Reloaded gateway authorization table with {} rules", reloaded.size());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid gateway authorization rules, keeping the previous table: {}", e.getMessage());
+        }
+    }
+
+    private static AuthorizationTable compile(AuthorizationProperties properties) {
+        AuthorizationProperties.Rule publicUrls = new AuthorizationProperties.Rule();
+        publicUrls.setPaths(List.of(SecurityConstant.PUBLIC_URLS));
+        publicUrls.setAccess(AuthorizationProperties.Access.PERMIT_ALL);
+
+        List<AuthorizationProperties.Rule> rules = new ArrayList<>();
+        rules.add(publicUrls);
+        rules.addAll(properties.getRules());
+        return AuthorizationTable.compile(rules);
+    }
+
+    private static List<String> roles(Collection<? extends GrantedAuthority> authorities) {
+        List<String> roles = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            roles.add(authority.getAuthority());
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hms.api_gateway.slots;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans slot deltas from Redis pub/sub out to SSE subscribers. All connections of this gateway
+ * instance share one pattern subscription, opened with the first subscriber and closed with the
+ * last; each connection only receives the doctor/date keys it asked for. The "subscribed" event
+ * is sent only while that subscription is confirmed active, and again after it was re-established.
+ */
+@Slf4j
+public class SlotStreamHub {
+
+    private final SlotStreamProperties properties;
+    private final Flux<Delta> deltas;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private volatile boolean active;
+
+    public SlotStreamHub(ReactiveStringRedisTemplate redisTemplate, SlotStreamProperties properties) {
+        this.properties = properties;
+        String prefix = properties.getChannelPrefix();
+        // READY is emitted once Redis has confirmed the pattern subscription (again after every retry)
+        this.deltas = redisTemplate.listenToPatternLater(prefix + "*")
+                .flatMapMany(messages -> Flux.just(Delta.READY).concatWith(messages
+                        .map(message -> new Delta(message.getChannel().substring(prefix.length()), message.getMessage()))))
+                .doOnNext(delta -> {
+                    if (delta == Delta.READY) {
+                        active = true;
+                    }
+                })
+                .doOnError(e -> {
+                    active = false;
+                    log.warn("Slot delta subscription failed, retrying: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .doFinally(signal -> active = false)
+                .share();
+    }
+
+    /**
+     * @param keys &lt;doctorId&gt;:&lt;yyyy-MM-dd&gt;
+     */
+    public Flux<ServerSentEvent<String>> subscribe(Set<String> keys) {
+        // Tells the client to (re)load the current slots; sent only once the Redis subscription is active,
+        // so every delta published after that load reaches the client
+        ServerSentEvent<String> subscribed = ServerSentEvent.<String>builder()
+                .event("subscribed")
+                .data(String.join(",", keys))
+                .build();
+        Flux<ServerSentEvent<String>> live = deltas
+                .filter(delta -> delta == Delta.READY || keys.contains(delta.key()))
+                .map(delta -> delta == Delta.READY ? subscribed : ServerSentEvent.<String>builder()
+                        .event("slot")
+                        .data(delta.payload())
+                        .build());
+        // Joined an already active subscription: no READY will come, the client can load right away.
+        // Subscribed after live (merge subscribes in order), so no delta falls between the two.
+        Flux<ServerSentEvent<String>> alreadyActive = Flux.defer(() -> active ? Flux.just(subscribed) : Flux.empty());
+        Flux<ServerSentEvent<String>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<String>builder().comment("keepalive").build());
+
+        return Flux.merge(live, alreadyActive, heartbeats)
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    private record Delta(String key, String payload) {
+        static final Delta READY = new Delta(null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hms.api_gateway.slots;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.gateway.slot-stream")
+public class SlotStreamProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Must match hms.slot-events.channel-prefix of the publishing services.
+     */
+    private String channelPrefix = "hms:slots:";
+
+    /**
+     * Comment lines keep idle connections open through proxies and load balancers.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Doctor/date keys one connection may subscribe to.
+     */
+    private int maxKeys = 20;
+}
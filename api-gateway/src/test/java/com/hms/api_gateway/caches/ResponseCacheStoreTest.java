@@ -0,0 +1,51 @@
+package com.hms.api_gateway.caches;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheStoreTest {
+
+    private final ResponseCacheStore store = new ResponseCacheStore(new ResponseCacheProperties(), new SimpleMeterRegistry());
+
+    private static CachedResponse response() {
+        Instant now = Instant.now();
+        return new CachedResponse(HttpStatus.OK, MediaType.APPLICATION_JSON, "{}".getBytes(), now, now.plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Invalidating a route should evict only its entries and count hit ratio per route")
+    void invalidateRoute() {
+        String medicines = ResponseCacheStore.key("medicines", "DOCTOR", "/api/medicines");
+        String departments = ResponseCacheStore.key("departments", "DOCTOR", "/api/hr/departments");
+        store.put("medicines", medicines, response(), store.generation("medicines"));
+        store.put("departments", departments, response(), store.generation("departments"));
+
+        assertNotNull(store.get("medicines", medicines));
+        store.invalidateRoute("medicines");
+
+        assertNull(store.get("medicines", medicines));
+        assertNotNull(store.get("departments", departments));
+        assertEquals(0.5, store.stats().get("medicines").get("hitRatio"));
+    }
+
+    @Test
+    @DisplayName("A response fetched before a write should not be cached after it")
+    void staleGenerationIsDropped() {
+        String key = ResponseCacheStore.key("medicines", "DOCTOR", "/api/medicines");
+        long generation = store.generation("medicines");
+
+        store.invalidateRoute("medicines");
+        store.put("medicines", key, response(), generation);
+
+        assertNull(store.get("medicines", key));
+    }
+}
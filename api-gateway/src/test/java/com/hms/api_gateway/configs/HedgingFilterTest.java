@@ -0,0 +1,148 @@
+package com.hms.api_gateway.configs;
+
+import com.hms.api_gateway.hedging.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class HedgingFilterTest {
+
+    private static final ServiceInstance PRIMARY = new DefaultServiceInstance("a", "lookup-service", "host-a", 8080, false);
+    private static final ServiceInstance SECONDARY = new DefaultServiceInstance("b", "lookup-service", "host-b", 8080, false);
+    private static final Duration SLOW = Duration.ofSeconds(3);
+
+    // Response delay per instance host
+    private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private final AtomicInteger routedByChain = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        routedByChain.incrementAndGet();
+        return Mono.empty();
+    };
+    private HedgingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        HedgingProperties.Rule rule = new HedgingProperties.Rule();
+        rule.setName("lookups");
+        rule.setPath("/api/lookups/**");
+        properties = new HedgingProperties();
+        properties.setRoutes(List.of(rule));
+        properties.setMinSamples(3);
+        properties.setMinDelay(Duration.ofMillis(50));
+        properties.setTimeout(Duration.ofSeconds(1));
+        properties.setBudgetRatio(0);
+        properties.setBudgetBurst(1);
+    }
+
+    @Test
+    @DisplayName("A primary answering within the percentile should win without a hedge")
+    void primaryWins() {
+        HedgingFilter filter = warmedUp();
+
+        MockServerWebExchange exchange = send(filter);
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("host-a", exchange.getResponse().getBodyAsString().block());
+        assertNull(exchange.getResponse().getHeaders().getFirst(HedgingFilter.HEDGED_HEADER));
+        assertEquals(0, routedByChain.get());
+    }
+
+    @Test
+    @DisplayName("A slow primary should lose to the hedge sent to the other instance")
+    void hedgeWins() {
+        HedgingFilter filter = warmedUp();
+        delays.put("host-a", SLOW);
+
+        MockServerWebExchange exchange = send(filter);
+
+        assertEquals("host-b", exchange.getResponse().getBodyAsString().block());
+        assertEquals("true", exchange.getResponse().getHeaders().getFirst(HedgingFilter.HEDGED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Without budget no hedge is sent, and a primary slower than the timeout should answer 504")
+    void budgetExhaustedTimesOut() {
+        HedgingFilter filter = warmedUp();
+        delays.put("host-a", SLOW);
+        // Spends the only token of the burst
+        assertEquals("host-b", send(filter).getResponse().getBodyAsString().block());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> send(filter));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+    }
+
+    /**
+     * A filter with enough fast samples for a percentile, so the next request can hedge.
+     */
+    private HedgingFilter warmedUp() {
+        HedgingFilter filter = filter();
+        for (int i = 0; i < properties.getMinSamples(); i++) {
+            send(filter);
+        }
+        return filter;
+    }
+
+    private MockServerWebExchange send(HedgingFilter filter) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/lookups/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("lb://lookup-service/lookups/1"));
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HedgingFilter filter() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String host = request.url().getHost();
+                    return Mono.delay(delays.getOrDefault(host, Duration.ZERO))
+                            .map(tick -> ClientResponse.create(HttpStatus.OK).body(host).build());
+                })
+                .build();
+
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = mock(ReactiveLoadBalancer.class);
+        doReturn(Mono.just(new DefaultResponse(PRIMARY))).when(loadBalancer).choose();
+        ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+        doReturn(Flux.just(List.of(PRIMARY, SECONDARY))).when(supplier).get();
+        ObjectProvider<ServiceInstanceListSupplier> suppliers = mock(ObjectProvider.class);
+        doReturn(supplier).when(suppliers).getIfAvailable();
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        doReturn(loadBalancer).when(clientFactory).getInstance("lookup-service");
+        doReturn(suppliers).when(clientFactory).getLazyProvider("lookup-service", ServiceInstanceListSupplier.class);
+
+        return new HedgingFilter(properties, webClient, clientFactory,
+                mock(ObjectProvider.class), mock(ObjectProvider.class), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,46 @@
+package com.hms.api_gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingPercentileTest {
+
+    @Test
+    void noPercentileBeforeMinSamples() {
+        RollingPercentile latencies = new RollingPercentile(100);
+        latencies.record(10);
+
+        assertEquals(-1, latencies.percentile(0.95, 2, 0));
+    }
+
+    @Test
+    void percentileCoversOnlyTheWindow() {
+        RollingPercentile latencies = new RollingPercentile(100);
+        for (int i = 1; i <= 100; i++) {
+            latencies.record(i);
+        }
+        assertEquals(95, latencies.percentile(0.95, 1, 0));
+
+        // Overwrite the window with slow samples; cached value expires after a second
+        for (int i = 0; i < 100; i++) {
+            latencies.record(1_000);
+        }
+        assertEquals(95, latencies.percentile(0.95, 1, 1));
+        assertEquals(1_000, latencies.percentile(0.95, 1, 2_000_000_000L));
+    }
+
+    @Test
+    void budgetAllowsBurstThenRatio() {
+        HedgeBudget budget = new HedgeBudget(0.5, 1);
+
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+}
@@ -0,0 +1,31 @@
+package com.hms.api_gateway.ratelimits;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Bucket should allow a burst, reject with Retry-After, then refill")
+    void burstThenRefill() {
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota(3, 0.5);
+        LocalTokenBucketLimiter.TokenBucket bucket = new LocalTokenBucketLimiter.TokenBucket(3, 0);
+
+        assertTrue(bucket.tryConsume(quota, 0).allowed());
+        assertTrue(bucket.tryConsume(quota, 0).allowed());
+        assertEquals(0, bucket.tryConsume(quota, 0).remaining());
+
+        RateLimitDecision rejected = bucket.tryConsume(quota, 0);
+        assertFalse(rejected.allowed());
+        assertEquals(2, rejected.retryAfterSeconds());
+
+        assertTrue(bucket.tryConsume(quota, 2 * SECOND).allowed());
+        assertFalse(bucket.tryConsume(quota, 2 * SECOND).allowed());
+    }
+}
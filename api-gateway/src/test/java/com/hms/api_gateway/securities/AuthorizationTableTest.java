@@ -0,0 +1,67 @@
+package com.hms.api_gateway.securities;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorizationTableTest {
+
+    private static AuthorizationProperties.Rule rule(List<String> paths, List<String> methods, List<String> roles) {
+        AuthorizationProperties.Rule rule = new AuthorizationProperties.Rule();
+        rule.setPaths(paths);
+        rule.setMethods(methods);
+        rule.setRoles(roles);
+        return rule;
+    }
+
+    private final AuthorizationTable table = AuthorizationTable.compile(List.of(
+            rule(List.of("/api/*/aggregate"), List.of("GET"), List.of("ADMIN")),        // 0
+            rule(List.of("/api/hr/**"), List.of("GET"), List.of("ADMIN", "PATIENT")),  // 1
+            rule(List.of("/api/hr/schedules/**"), List.of("POST"), List.of("NURSE")), // 2
+            rule(List.of("/api/patients/me/**"), List.of(), List.of()),                // 3
+            rule(List.of("/api/patients/{id}"), List.of("GET"), List.of("DOCTOR")),   // 4
+            rule(List.of("/**"), List.of(), List.of())                                 // 5
+    ));
+
+    private int match(HttpMethod method, String path) {
+        return table.match(method, PathContainer.parsePath(path));
+    }
+
+    @Test
+    @DisplayName("The first rule in configuration order should win, like the pathMatchers chain")
+    void firstMatchWins() {
+        assertEquals(0, match(HttpMethod.GET, "/api/hr/aggregate"));
+        assertEquals(1, match(HttpMethod.GET, "/api/hr/schedules/me"));
+        assertEquals(2, match(HttpMethod.POST, "/api/hr/schedules"));
+        assertEquals(3, match(HttpMethod.GET, "/api/patients/me"));
+        assertEquals(4, match(HttpMethod.GET, "/api/patients/p-1"));
+        assertEquals(5, match(HttpMethod.GET, "/api/patients/p-1/history"));
+        assertEquals(5, match(HttpMethod.DELETE, "/api/hr/departments/1"));
+    }
+
+    @Test
+    @DisplayName("Role bitmasks should grant only the listed roles")
+    void rolesAreChecked() {
+        int rule = match(HttpMethod.GET, "/api/hr/employees");
+        assertTrue(table.isGranted(rule, List.of("PATIENT")));
+        assertFalse(table.isGranted(rule, List.of("NURSE")));
+        assertTrue(table.isGranted(match(HttpMethod.GET, "/unknown"), List.of()));
+    }
+
+    @Test
+    @DisplayName("Unsupported patterns should fail at startup, not at request time")
+    void rejectsPartialWildcards() {
+        assertThrows(IllegalArgumentException.class, () -> AuthorizationTable.compile(List.of(
+                rule(List.of("/api/**/aggregate"), List.of(), List.of()))));
+        assertThrows(IllegalArgumentException.class, () -> AuthorizationTable.compile(List.of(
+                rule(List.of("/api/report*"), List.of(), List.of()))));
+    }
+}
@@ -0,0 +1,78 @@
+package com.hms.api_gateway.securities;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingReactiveJwtDecoderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private CachingReactiveJwtDecoder decoder() {
+        return decoder(new JwtCacheProperties());
+    }
+
+    private CachingReactiveJwtDecoder decoder(JwtCacheProperties properties) {
+        return new CachingReactiveJwtDecoder(token -> {
+            verifications.incrementAndGet();
+            return Mono.just(Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user-1")
+                    .issuedAt(Instant.now().minusSeconds(10))
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .build());
+        }, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Repeated tokens should be verified once")
+    void cachesVerifiedTokens() {
+        CachingReactiveJwtDecoder decoder = decoder();
+        for (int i = 0; i < 5; i++) {
+            decoder.decode("token-a").block();
+        }
+        decoder.decode("token-b").block();
+
+        assertEquals(2, verifications.get());
+        assertEquals(2, decoder.size());
+    }
+
+    @Test
+    @DisplayName("Revoked tokens and subjects should be rejected")
+    void rejectsRevokedTokens() {
+        CachingReactiveJwtDecoder decoder = decoder();
+        decoder.decode("token-a").block();
+
+        decoder.revoke("token-a");
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a").block());
+
+        decoder.decode("token-b").block();
+        decoder.revokeSubject("user-1");
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-b").block());
+    }
+
+    @Test
+    @DisplayName("Revocations should not be evicted by the verified-token size limit")
+    void keepsRevocationsBeyondCacheSize() {
+        JwtCacheProperties properties = new JwtCacheProperties();
+        properties.setMaxSize(2);
+        CachingReactiveJwtDecoder decoder = decoder(properties);
+
+        for (int i = 0; i < 50; i++) {
+            decoder.revoke("token-" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            String token = "token-" + i;
+            assertThrows(BadJwtException.class, () -> decoder.decode(token).block(), token);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hms.api_gateway.slots;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class SlotStreamHubTest {
+
+    private static final String KEY = "doctor-1:2030-01-01";
+
+    private final Sinks.One<Flux<ReactiveSubscription.Message<String, String>>> confirmation = Sinks.one();
+    private final Sinks.Many<ReactiveSubscription.Message<String, String>> messages =
+            Sinks.many().multicast().directBestEffort();
+    private SlotStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        doReturn(confirmation.asMono()).when(redisTemplate).listenToPatternLater(anyString());
+        SlotStreamProperties properties = new SlotStreamProperties();
+        properties.setHeartbeat(Duration.ofHours(1));
+        hub = new SlotStreamHub(redisTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("subscribed should only be sent once the Redis pattern subscription is confirmed")
+    void subscribedAfterConfirmation() {
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        Disposable connection = hub.subscribe(Set.of(KEY)).subscribe(events::add);
+        assertTrue(events.isEmpty());
+
+        confirmation.tryEmitValue(messages.asFlux());
+        publish(KEY, "{\"time\":\"09:00\"}");
+        publish("doctor-2:2030-01-01", "{\"time\":\"10:00\"}");
+
+        assertEquals(List.of("subscribed", "slot"), names(events));
+        assertEquals("{\"time\":\"09:00\"}", events.get(1).data());
+        connection.dispose();
+    }
+
+    @Test
+    @DisplayName("A client joining an active subscription should get subscribed right away")
+    void subscribedWhenAlreadyActive() {
+        Disposable first = hub.subscribe(Set.of(KEY)).subscribe();
+        confirmation.tryEmitValue(messages.asFlux());
+
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        Disposable second = hub.subscribe(Set.of(KEY)).subscribe(events::add);
+        publish(KEY, "{\"time\":\"09:30\"}");
+
+        assertEquals(List.of("subscribed", "slot"), names(events));
+        assertEquals(2, hub.subscribers());
+        first.dispose();
+        second.dispose();
+        assertEquals(0, hub.subscribers());
+    }
+
+    private void publish(String key, String payload) {
+        messages.tryEmitNext(new ReactiveSubscription.PatternMessage<>("hms:slots:*", "hms:slots:" + key, payload));
+    }
+
+    private static List<String> names(List<ServerSentEvent<String>> events) {
+        return events.stream().map(ServerSentEvent::event).toList();
+    }
+}
@@ -1,11 +1,30 @@
+plugins {
+    // Micro-benchmarks in src/jmh: ./gradlew :appointment-service:jmh
+    id("me.champeau.jmh")
+}
+
 dependencies {
     implementation(project(":common"))
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-netflix-eureka-client")
     implementation("org.springframework.cloud:spring-cloud-config-client")
+    // Slot availability deltas (common SlotDeltaPublisher)
+    implementation("org.springframework.boot:spring-boot-starter-data-redis")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
+    // Versioned schema migrations in src/main/resources/db/migration
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-mysql")
     runtimeOnly("com.mysql:mysql-connector-j")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    // Query plan test against a real MySQL (skipped when Docker is unavailable)
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:mysql")
+    testRuntimeOnly("com.mysql:mysql-connector-j")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
-}
\ No newline at end of file
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,104 @@
+package com.hms.appointment_service.slots;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.dtos.appointment.TimeSlotResponse;
+import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.services.AppointmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booked-slot part of GET /appointments/slots: the original path (the doctor-day's appointments
+ * mapped to HH:mm strings, List.contains per slot) against the slot index bit test. Both build
+ * the same 20-slot day (08:00-18:00). The original path also pays a database round trip per call,
+ * which is not measured here.
+ * <p>
+ * ./gradlew :appointment-service:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotLookupBenchmark {
+
+    private static final String DOCTOR_ID = "doctor-1";
+    private static final LocalTime OPEN = LocalTime.of(8, 0);
+    private static final LocalTime CLOSE = LocalTime.of(18, 0);
+
+    /**
+     * Appointments of the doctor-day; every fourth one is cancelled.
+     */
+    @Param({"4", "16", "40"})
+    public int appointments;
+
+    private LocalDate date;
+    private List<Appointment> dayAppointments;
+    private SlotIndex slotIndex;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.now(SlotIndex.CLINIC_ZONE).plusDays(1);
+        dayAppointments = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctorId(DOCTOR_ID);
+            appointment.setAppointmentTime(date.atTime(OPEN.plusMinutes(30L * (i % 20))).atZone(SlotIndex.CLINIC_ZONE).toInstant());
+            appointment.setStatus(i % 4 == 3 ? AppointmentStatus.CANCELLED : AppointmentStatus.SCHEDULED);
+            dayAppointments.add(appointment);
+            if (appointment.getStatus() != AppointmentStatus.CANCELLED) {
+                rows.add(new Object[]{DOCTOR_ID, appointment.getAppointmentTime()});
+            }
+        }
+
+        // Only the startup query is used; it returns the non-cancelled appointments
+        AppointmentRepository repository = (AppointmentRepository) Proxy.newProxyInstance(
+                AppointmentRepository.class.getClassLoader(),
+                new Class<?>[]{AppointmentRepository.class},
+                (proxy, method, args) -> "findDoctorTimesFrom".equals(method.getName()) ? rows : null);
+        slotIndex = new SlotIndex(repository);
+        slotIndex.rebuild();
+    }
+
+    @Benchmark
+    public List<TimeSlotResponse> originalListContains() {
+        List<String> bookedTimes = dayAppointments.stream()
+                .filter(a -> a.getStatus() != AppointmentStatus.CANCELLED)
+                .map(a -> a.getAppointmentTime().atZone(SlotIndex.CLINIC_ZONE).toLocalTime().toString().substring(0, 5))
+                .toList();
+        return AppointmentService.buildSlots(OPEN, CLOSE, time -> bookedTimes.contains(AppointmentService.slotLabel(time)));
+    }
+
+    @Benchmark
+    public List<TimeSlotResponse> slotIndexBitTest() {
+        long booked = slotIndex.bookedSlots(DOCTOR_ID, date).orElseThrow();
+        return AppointmentService.buildSlots(OPEN, CLOSE, time -> SlotIndex.isBooked(booked, time));
+    }
+
+    /**
+     * Lookup alone, without building the response list.
+     */
+    @Benchmark
+    public long slotIndexLookupOnly() {
+        return slotIndex.bookedSlots(DOCTOR_ID, date).orElseThrow();
+    }
+}
@@ -2,6 +2,7 @@ package com.hms.appointment_service.clients;
 
 import com.hms.common.configs.FeignConfig;
 import com.hms.common.dtos.ApiResponse;
+import com.hms.common.dtos.PageResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,8 +17,8 @@ import java.time.LocalDate;
  * - Validating doctor exists and is available
  * - Updating schedule status when appointments are created/cancelled
  * 
- * Note: Using direct URL to bypass Eureka service discovery issues.
- * The URL uses Docker container hostname which works on the same network.
+ * Resolved through Eureka by default (peak-EWMA load balancing across replicas); set HR_SERVICE_URL
+ * to pin a direct URL instead, which bypasses discovery and load balancing.
  */
 @FeignClient(
         name = "hr-service",
@@ -36,6 +37,37 @@ public interface HrClient {
             @RequestParam("date") @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) LocalDate date
     );
 
+    /**
+     * Available doctor schedules in a date range, optionally narrowed to one department.
+     * Each row carries the doctor's name and department, so one page replaces a per-doctor lookup.
+     */
+    @GetMapping("/hr/schedules/doctors")
+    ApiResponse<PageResponse<DoctorScheduleInfo>> getDoctorSchedules(
+            @RequestParam("startDate") @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "departmentId", required = false) String departmentId,
+            @RequestParam("page") int page,
+            @RequestParam("size") int size
+    );
+
+    /**
+     * Schedules from a date on, changed since a point in time (all when null), oldest change first.
+     * Feeds the local schedule replica.
+     */
+    @GetMapping("/hr/schedules/feed")
+    ApiResponse<PageResponse<ScheduleFeedInfo>> getScheduleFeed(
+            @RequestParam("fromDate") @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "updatedSince", required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.Instant updatedSince,
+            @RequestParam("page") int page,
+            @RequestParam("size") int size
+    );
+
+    /**
+     * All employees (unpaged) with their department names. Feeds the local employee replica.
+     */
+    @GetMapping("/hr/employees/all")
+    ApiResponse<PageResponse<EmployeeInfo>> getAllEmployees(@RequestParam("all") boolean all);
+
     /**
      * Update schedule status.
      * Called when:
@@ -62,7 +94,8 @@ public interface HrClient {
             java.time.LocalTime startTime,
             @com.fasterxml.jackson.annotation.JsonFormat(pattern = "HH:mm:ss")
             java.time.LocalTime endTime,
-            String status
+            String status,
+            String branchId
     ) {
         /**
          * Calculate how many 30-minute slots this schedule has.
@@ -73,6 +106,45 @@ public interface HrClient {
         }
     }
 
+    /**
+     * Schedule row of getDoctorSchedules, with the doctor summary hr-service attaches to it.
+     */
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
+    record DoctorScheduleInfo(
+            String id,
+            String employeeId,
+            java.time.LocalDate workDate,
+            @com.fasterxml.jackson.annotation.JsonFormat(pattern = "HH:mm:ss")
+            java.time.LocalTime startTime,
+            @com.fasterxml.jackson.annotation.JsonFormat(pattern = "HH:mm:ss")
+            java.time.LocalTime endTime,
+            String status,
+            ScheduleEmployee employee
+    ) {}
+
+    /**
+     * Schedule row of getScheduleFeed.
+     */
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
+    record ScheduleFeedInfo(
+            String id,
+            String employeeId,
+            java.time.LocalDate workDate,
+            @com.fasterxml.jackson.annotation.JsonFormat(pattern = "HH:mm:ss")
+            java.time.LocalTime startTime,
+            @com.fasterxml.jackson.annotation.JsonFormat(pattern = "HH:mm:ss")
+            java.time.LocalTime endTime,
+            String status,
+            java.time.Instant updatedAt,
+            String branchId
+    ) {}
+
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
+    record ScheduleEmployee(String id, String fullName, ScheduleDepartment department) {}
+
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
+    record ScheduleDepartment(String id, String name) {}
+
     /**
      * Get employee by ID.
      * Used to validate doctor exists and fetch name for snapshot.
@@ -83,6 +155,7 @@ public interface HrClient {
     /**
      * DTO for employee info from hr-service.
      */
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
     record EmployeeInfo(
             String id,
             String fullName,
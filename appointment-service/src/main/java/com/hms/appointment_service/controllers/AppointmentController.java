@@ -4,8 +4,10 @@ import com.hms.appointment_service.clients.PatientClient;
 import com.hms.appointment_service.dtos.appointment.AppointmentRequest;
 import com.hms.appointment_service.dtos.appointment.AppointmentResponse;
 import com.hms.appointment_service.dtos.appointment.AppointmentStatsResponse;
+import com.hms.appointment_service.dtos.appointment.AvailableSlotResponse;
 import com.hms.appointment_service.dtos.appointment.CancelAppointmentResponse;
 import com.hms.appointment_service.dtos.appointment.CancelRequest;
+import com.hms.appointment_service.dtos.appointment.DoctorDateCount;
 import com.hms.appointment_service.entities.Appointment;
 import com.hms.appointment_service.mappers.AppointmentMapper;
 import com.hms.appointment_service.services.AppointmentService;
@@ -25,6 +27,8 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 
 @RequestMapping("/appointments")
@@ -32,6 +36,9 @@ import java.time.LocalDate;
 @Slf4j
 public class AppointmentController extends GenericController<Appointment, String, AppointmentRequest, AppointmentResponse> {
 
+    private static final Set<String> AGGREGATABLE_FIELDS = Set.of(
+            "status", "type", "doctorId", "doctorName", "doctorDepartment", "patientId");
+
     private final AppointmentService appointmentService;
     private final AppointmentMapper appointmentMapper;
     private final PatientClient patientClient;
@@ -47,6 +54,11 @@ public class AppointmentController extends GenericController<Appointment, String
         this.patientClient = patientClient;
     }
 
+    @Override
+    protected Set<String> aggregatableFields() {
+        return AGGREGATABLE_FIELDS;
+    }
+
     /**
      * Override findAll to enforce PATIENT role can only see their own appointments.
      * For PATIENT users, this automatically filters by their patientId.
@@ -56,7 +68,8 @@ public class AppointmentController extends GenericController<Appointment, String
     public ResponseEntity<ApiResponse<PageResponse<AppointmentResponse>>> findAll(
             Pageable pageable,
             @RequestParam(value = "filter", required = false) @Nullable String filter,
-            @RequestParam(value = "all", defaultValue = "false") boolean all) {
+            @RequestParam(value = "all", defaultValue = "false") boolean all,
+            @RequestParam(value = "fields", required = false) @Nullable Set<String> fields) {
         
         String effectiveFilter = filter;
         
@@ -92,7 +105,19 @@ public class AppointmentController extends GenericController<Appointment, String
         if (all) {
             pageable = Pageable.unpaged(pageable.getSort());
         }
-        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification)));
+        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification, fields)));
+    }
+
+    /**
+     * Earliest free slots across doctors (optionally one department) between two dates, inclusive.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<List<AvailableSlotResponse>>> findAvailability(
+            @RequestParam(value = "departmentId", required = false) @Nullable String departmentId,
+            @RequestParam("from") LocalDate from,
+            @RequestParam("to") LocalDate to,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.ok(appointmentService.findAvailability(departmentId, from, to, limit)));
     }
 
     /**
@@ -154,6 +179,17 @@ public class AppointmentController extends GenericController<Appointment, String
         return ResponseEntity.ok(ApiResponse.ok("Cancelled " + cancelledCount + " appointments", cancelledCount));
     }
 
+    /**
+     * Batch bulk cancel for many (doctorId, date) pairs.
+     * Called by hr-service when several schedules are cancelled at once.
+     */
+    @PostMapping("/bulk-cancel/batch")
+    public ResponseEntity<ApiResponse<List<DoctorDateCount>>> bulkCancelByDoctorAndDates(
+            @RequestBody List<DoctorDateCount> pairs,
+            @RequestParam("reason") String reason) {
+        return ResponseEntity.ok(ApiResponse.ok(appointmentService.cancelByDoctorAndDates(pairs, reason)));
+    }
+
     /**
      * Count active (SCHEDULED) appointments for a doctor on a specific date.
      * Called by hr-service to validate if schedule can be deleted.
@@ -166,6 +202,16 @@ public class AppointmentController extends GenericController<Appointment, String
         return ResponseEntity.ok(ApiResponse.ok(count));
     }
 
+    /**
+     * Batch count of active (SCHEDULED) appointments for many (doctorId, date) pairs.
+     * Called by hr-service to validate bulk schedule deletes in a single round trip.
+     */
+    @PostMapping("/count/batch")
+    public ResponseEntity<ApiResponse<List<DoctorDateCount>>> countByDoctorAndDates(
+            @RequestBody List<DoctorDateCount> pairs) {
+        return ResponseEntity.ok(ApiResponse.ok(appointmentService.countByDoctorAndDates(pairs)));
+    }
+
     /**
      * COMPENSATION: Restore cancelled appointments for a doctor on a specific date.
      * Called by hr-service when saga rollback is needed after appointments were cancelled
@@ -178,6 +224,15 @@ public class AppointmentController extends GenericController<Appointment, String
         int restoredCount = appointmentService.restoreByDoctorAndDate(doctorId, date);
         return ResponseEntity.ok(ApiResponse.ok("Restored " + restoredCount + " appointments", restoredCount));
     }
+
+    /**
+     * COMPENSATION: Batch restore for many (doctorId, date) pairs.
+     */
+    @PostMapping("/bulk-restore/batch")
+    public ResponseEntity<ApiResponse<List<DoctorDateCount>>> bulkRestoreByDoctorAndDates(
+            @RequestBody List<DoctorDateCount> pairs) {
+        return ResponseEntity.ok(ApiResponse.ok(appointmentService.restoreByDoctorAndDates(pairs)));
+    }
     
     /**
      * Get appointment statistics for reporting.
@@ -0,0 +1,29 @@
+package com.hms.appointment_service.dtos.appointment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A free slot returned by the range availability search.
+ * time is the HH:mm label used by the single-day slots endpoint; startsAt is the same slot as an instant.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotResponse {
+    private String doctorId;
+    private String doctorName;
+    private String departmentId;
+    private String departmentName;
+    private LocalDate date;
+    private String time;
+    private Instant startsAt;
+}
@@ -2,9 +2,12 @@ package com.hms.appointment_service.entities;
 
 import com.hms.appointment_service.constants.AppointmentStatus;
 import com.hms.appointment_service.constants.AppointmentType;
+import com.hms.common.branches.BranchEntityListener;
+import com.hms.common.branches.BranchScoped;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -15,14 +18,19 @@ import java.time.Instant;
 
 @Getter
 @Setter
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, BranchEntityListener.class})
 @Table
 @Entity
-public class Appointment {
+public class Appointment implements BranchScoped {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
+    // Branch partition key: set by BranchEntityListener, filtered by Hibernate on every query
+    @TenantId
+    @Column(name = "branch_id", updatable = false, length = 36)
+    private String branchId;
+
     private String patientId;
 
     // Snapshot at creation for historical accuracy
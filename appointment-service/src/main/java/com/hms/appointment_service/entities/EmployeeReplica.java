@@ -0,0 +1,30 @@
+package com.hms.appointment_service.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Local copy of an hr-service employee, refreshed by HrReplicaSync.
+ * syncedAt is the start of the sync that last saw the row; rows a full sync did not see are removed.
+ */
+@Getter
+@Setter
+@Table(name = "hr_employee_replica")
+@Entity
+public class EmployeeReplica {
+    @Id
+    private String id;
+
+    private String fullName;
+
+    private String role;
+
+    private String departmentId;
+
+    private String departmentName;
+
+    private Instant syncedAt;
+}
@@ -0,0 +1,50 @@
+package com.hms.appointment_service.entities;
+
+import com.hms.common.branches.BranchEntityListener;
+import com.hms.common.branches.BranchScoped;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Local copy of an hr-service schedule, refreshed by HrReplicaSync.
+ * updatedAt is hr-service's own timestamp and drives incremental sync; syncedAt is local.
+ * branchId is copied from hr-service, so branch users only see their own branch's schedules, as they do there.
+ */
+@Getter
+@Setter
+@Table(name = "hr_schedule_replica", indexes = {
+        @Index(name = "idx_schedule_replica_employee_date", columnList = "employee_id, work_date"),
+        @Index(name = "idx_schedule_replica_date", columnList = "work_date")})
+@EntityListeners(BranchEntityListener.class)
+@Entity
+public class ScheduleReplica implements BranchScoped {
+    @Id
+    private String id;
+
+    // Branch partition key: copied from hr-service by the (cross-branch) sync, filtered by Hibernate on every query
+    @TenantId
+    @Column(name = "branch_id", updatable = false, length = 36)
+    private String branchId;
+
+    @Column(name = "employee_id")
+    private String employeeId;
+
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private String status;
+
+    private Instant updatedAt;
+
+    private Instant syncedAt;
+}
@@ -0,0 +1,38 @@
+package com.hms.appointment_service.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Claim on a doctor's slot, one row per active (not cancelled) appointment.
+ * The unique key on (doctor_id, slot_start) is what makes concurrent bookings of the same slot safe:
+ * the second insert fails instead of both passing a read-then-insert check.
+ * appointmentId is null between the claim in validateCreate and the save of the appointment.
+ */
+@Getter
+@Setter
+@Table(
+        name = "slot_reservation",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_reservation_doctor_slot", columnNames = {"doctor_id", "slot_start"}),
+        indexes = @Index(name = "idx_slot_reservation_appointment", columnList = "appointment_id"))
+@Entity
+public class SlotReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private String doctorId;
+
+    @Column(name = "slot_start", nullable = false)
+    private Instant slotStart;
+
+    @Column(name = "appointment_id")
+    private String appointmentId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -6,12 +6,21 @@ import com.hms.appointment_service.constants.AppointmentStatus;
 import com.hms.appointment_service.dtos.appointment.AppointmentRequest;
 import com.hms.appointment_service.dtos.appointment.AppointmentResponse;
 import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.entities.SlotReservation;
+import com.hms.appointment_service.replica.HrDirectory;
 import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.services.SlotReservationService;
+import com.hms.appointment_service.slots.SlotIndex;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.exceptions.errors.ApiException;
 import com.hms.common.exceptions.errors.ErrorCode;
+import com.hms.common.hooks.BulkOperationContext;
 import com.hms.common.hooks.GenericHook;
+import com.hms.common.securities.UserContext;
+import com.hms.common.slots.SlotDeltaPublisher;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +29,18 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
@@ -30,21 +49,40 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
     private final HrClient hrClient;
     private final PatientClient patientClient;
     private final AppointmentRepository appointmentRepository;
+    private final ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher;
+    private final SlotIndex slotIndex;
+    private final SlotReservationService slotReservationService;
+    private final HrDirectory hrDirectory;
+    private final Map<String, Appointment> pendingDeletes = new ConcurrentHashMap<>();
+    private final ExecutorService remoteLookups = Executors.newVirtualThreadPerTaskExecutor();
 
     // Manual constructor to apply @Lazy
     public AppointmentHook(
             @Lazy HrClient hrClient,
             @Lazy PatientClient patientClient,
-            AppointmentRepository appointmentRepository) {
+            AppointmentRepository appointmentRepository,
+            ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher,
+            SlotIndex slotIndex,
+            SlotReservationService slotReservationService,
+            HrDirectory hrDirectory) {
         this.hrClient = hrClient;
         this.patientClient = patientClient;
         this.appointmentRepository = appointmentRepository;
+        this.slotDeltaPublisher = slotDeltaPublisher;
+        this.slotIndex = slotIndex;
+        this.slotReservationService = slotReservationService;
+        this.hrDirectory = hrDirectory;
     }
 
     private static final int APPOINTMENT_DURATION_MINUTES = 30;
+    // Covers one Feign call with its read timeout; the three lookups run side by side within it
+    private static final Duration REMOTE_VALIDATION_TIMEOUT = Duration.ofSeconds(10);
     private static final String SCHEDULE_KEY = "schedule";
     private static final String PATIENT_KEY = "patient";
     private static final String DOCTOR_KEY = "doctor";
+    private static final String OLD_TIME_KEY = "oldAppointmentTime";
+    private static final String RESERVATION_KEY = "slotReservation";
+    private static final String BULK_SLOTS_KEY = "deletedSlots";
 
     @Override
     public void enrichFindAll(PageResponse<AppointmentResponse> response) {
@@ -71,15 +109,49 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
         }
         context.put("appointmentInstant", appointmentInstant);
 
-        // 2. Validate patient exists
-        PatientClient.PatientInfo patient;
+        // Patient, doctor and schedule lookups are independent: start all three, then check them in the
+        // original order so the first failing check still decides the error. They share one deadline.
+        LocalDate appointmentDate = appointmentInstant.atZone(ZoneId.systemDefault()).toLocalDate();
+        long deadline = System.nanoTime() + REMOTE_VALIDATION_TIMEOUT.toNanos();
+        var patientLookup = lookup(() -> patientClient.getPatientById(input.getPatientId()).getData());
+        var doctorLookup = lookup(() -> hrDirectory.getEmployeeById(input.getDoctorId()).getData());
+        var scheduleLookup = lookup(() -> hrDirectory.getScheduleByDoctorAndDate(input.getDoctorId(), appointmentDate).getData());
+
         try {
-            var response = patientClient.getPatientById(input.getPatientId());
-            patient = response.getData();
-        } catch (Exception e) {
-            log.error("Failed to validate patient: {}", e.getMessage());
-            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unable to verify patient");
+            validateLookups(patientLookup, doctorLookup, scheduleLookup, deadline, context);
+        } finally {
+            patientLookup.cancel(true);
+            doctorLookup.cancel(true);
+            scheduleLookup.cancel(true);
+        }
+        var schedule = (HrClient.ScheduleInfo) context.get(SCHEDULE_KEY);
+
+        // Validate time is within schedule hours
+        // Use fixed timezone Asia/Ho_Chi_Minh for clinic time
+        LocalTime appointmentTime = appointmentInstant.atZone(ZoneId.of("Asia/Ho_Chi_Minh")).toLocalTime();
+        LocalTime scheduleStart = schedule.startTime(); // Already LocalTime
+        LocalTime scheduleEnd = schedule.endTime(); // Already LocalTime
+        
+        if (appointmentTime.isBefore(scheduleStart) || 
+            appointmentTime.plusMinutes(APPOINTMENT_DURATION_MINUTES).isAfter(scheduleEnd)) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, 
+                    "Appointment time is outside doctor's schedule hours (" + scheduleStart + " - " + scheduleEnd + ")");
         }
+
+        // 5. Check for double booking: reject overlaps with other start times, then claim the slot itself.
+        //    The claim is an insert on a unique key, so concurrent bookings of the same slot cannot both pass.
+        checkOverlap(input.getDoctorId(), appointmentInstant, null);
+        context.put(RESERVATION_KEY, slotReservationService.claim(input.getDoctorId(), appointmentInstant));
+    }
+
+    private void validateLookups(
+            Future<PatientClient.PatientInfo> patientLookup,
+            Future<HrClient.EmployeeInfo> doctorLookup,
+            Future<HrClient.ScheduleInfo> scheduleLookup,
+            long deadline,
+            Map<String, Object> context) {
+        // 2. Validate patient exists
+        PatientClient.PatientInfo patient = await(patientLookup, deadline, "patient", "Unable to verify patient");
         if (patient == null) {
             throw new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "Patient not found");
         }
@@ -87,14 +159,7 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
         context.put(PATIENT_KEY, patient);
 
         // 3. Validate doctor exists and has DOCTOR role
-        HrClient.EmployeeInfo doctor;
-        try {
-            var response = hrClient.getEmployeeById(input.getDoctorId());
-            doctor = response.getData();
-        } catch (Exception e) {
-            log.error("Failed to validate doctor: {}", e.getMessage());
-            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unable to verify doctor");
-        }
+        HrClient.EmployeeInfo doctor = await(doctorLookup, deadline, "doctor", "Unable to verify doctor");
         if (doctor == null) {
             throw new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "Doctor not found");
         }
@@ -104,15 +169,7 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
         context.put(DOCTOR_KEY, doctor);
 
         // 4. Validate doctor has schedule for this date
-        LocalDate appointmentDate = appointmentInstant.atZone(ZoneId.systemDefault()).toLocalDate();
-        HrClient.ScheduleInfo schedule;
-        try {
-            var response = hrClient.getScheduleByDoctorAndDate(input.getDoctorId(), appointmentDate);
-            schedule = response.getData();
-        } catch (Exception e) {
-            log.error("Failed to validate doctor schedule: {}", e.getMessage());
-            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unable to verify doctor schedule");
-        }
+        HrClient.ScheduleInfo schedule = await(scheduleLookup, deadline, "doctor schedule", "Unable to verify doctor schedule");
         if (schedule == null) {
             throw new ApiException(ErrorCode.VALIDATION_ERROR, "Doctor has no schedule on this date");
         }
@@ -121,29 +178,6 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
         if ("CANCELLED".equals(schedule.status())) {
             throw new ApiException(ErrorCode.VALIDATION_ERROR, "Doctor's schedule is cancelled for this date");
         }
-        
-        // Validate time is within schedule hours
-        // Use fixed timezone Asia/Ho_Chi_Minh for clinic time
-        LocalTime appointmentTime = appointmentInstant.atZone(ZoneId.of("Asia/Ho_Chi_Minh")).toLocalTime();
-        LocalTime scheduleStart = schedule.startTime(); // Already LocalTime
-        LocalTime scheduleEnd = schedule.endTime(); // Already LocalTime
-        
-        if (appointmentTime.isBefore(scheduleStart) || 
-            appointmentTime.plusMinutes(APPOINTMENT_DURATION_MINUTES).isAfter(scheduleEnd)) {
-            throw new ApiException(ErrorCode.VALIDATION_ERROR, 
-                    "Appointment time is outside doctor's schedule hours (" + scheduleStart + " - " + scheduleEnd + ")");
-        }
-
-        // 5. Check for double booking
-        Instant start = appointmentInstant;
-        Instant end = start.plus(Duration.ofMinutes(APPOINTMENT_DURATION_MINUTES));
-        
-        List<Appointment> overlapping = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(input.getDoctorId(), start, end);
-        
-        if (!overlapping.isEmpty()) {
-            throw new ApiException(ErrorCode.VALIDATION_ERROR, "This time slot is already booked");
-        }
     }
 
     @Override
@@ -165,8 +199,10 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
 
     @Override
     public void afterCreate(Appointment entity, AppointmentResponse response, Map<String, Object> context) {
+        slotReservationService.link((SlotReservation) context.get(RESERVATION_KEY), entity.getId());
         // Check if schedule should be marked as BOOKED
         checkAndUpdateScheduleStatus(entity);
+        bookSlot(entity.getDoctorId(), entity.getAppointmentTime());
     }
 
     @Override
@@ -176,6 +212,22 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
             throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, 
                     "Cannot update appointment with status: " + existing.getStatus());
         }
+        // Store old time - a reschedule frees the old slot
+        context.put(OLD_TIME_KEY, existing.getAppointmentTime());
+
+        // A reschedule claims the new slot before the appointment moves
+        if (input.getAppointmentTime() != null) {
+            Instant newTime;
+            try {
+                newTime = Instant.parse(input.getAppointmentTime());
+            } catch (Exception e) {
+                throw new ApiException(ErrorCode.VALIDATION_ERROR, "Invalid appointment time format. Use ISO-8601 format.");
+            }
+            if (!newTime.equals(existing.getAppointmentTime())) {
+                checkOverlap(existing.getDoctorId(), newTime, id);
+                context.put(RESERVATION_KEY, slotReservationService.claim(existing.getDoctorId(), newTime));
+            }
+        }
     }
 
     @Override
@@ -188,31 +240,146 @@ public class AppointmentHook implements GenericHook<Appointment, String, Appoint
         // If status changed to CANCELLED, may need to update schedule back to AVAILABLE
         if (entity.getStatus() == AppointmentStatus.CANCELLED) {
             checkAndUpdateScheduleStatus(entity);
+            releaseSlot(entity.getDoctorId(), entity.getAppointmentTime());
+            return;
+        }
+        Instant oldTime = (Instant) context.get(OLD_TIME_KEY);
+        if (oldTime != null && !oldTime.equals(entity.getAppointmentTime())) {
+            slotReservationService.link((SlotReservation) context.get(RESERVATION_KEY), entity.getId());
+            releaseSlot(entity.getDoctorId(), oldTime);
+            bookSlot(entity.getDoctorId(), entity.getAppointmentTime());
         }
     }
 
     @Override
     public void validateDelete(String id) {
         // Generally don't allow hard delete - use cancel status instead
+        // afterDelete only receives the id; keep the slot to free
+        appointmentRepository.findById(id)
+                .filter(appointment -> appointment.getStatus() != AppointmentStatus.CANCELLED)
+                .ifPresent(appointment -> pendingDeletes.put(id, appointment));
     }
 
     @Override
     public void afterDelete(String id) {
-        // No cleanup needed
+        Appointment deleted = pendingDeletes.remove(id);
+        if (deleted != null) {
+            releaseSlot(deleted.getDoctorId(), deleted.getAppointmentTime());
+        }
     }
 
     @Override
-    public void validateBulkDelete(Iterable<String> ids) {
-        // No bulk delete validation
+    public void validateBulkDelete(BulkOperationContext<Appointment, String> context) {
+        // afterBulkDelete runs once the rows are gone; keep the slots to free, loaded with the batch
+        context.getAttributes().put(BULK_SLOTS_KEY, context.getEntities().stream()
+                .filter(appointment -> appointment.getStatus() != AppointmentStatus.CANCELLED)
+                .toList());
     }
 
     @Override
-    public void afterBulkDelete(Iterable<String> ids) {
-        // No cleanup needed
+    @SuppressWarnings("unchecked")
+    public void afterBulkDelete(BulkOperationContext<Appointment, String> context) {
+        var deleted = (List<Appointment>) context.getAttributes().getOrDefault(BULK_SLOTS_KEY, List.of());
+        Map<String, Map<LocalDate, List<Instant>>> slots = new HashMap<>();
+        for (Appointment appointment : deleted) {
+            slots.computeIfAbsent(appointment.getDoctorId(), k -> new HashMap<>())
+                    .computeIfAbsent(clinicDate(appointment.getAppointmentTime()), k -> new ArrayList<>())
+                    .add(appointment.getAppointmentTime());
+        }
+        slots.forEach((doctorId, byDate) -> byDate.forEach((date, times) -> {
+            slotReservationService.releaseAll(doctorId, times);
+            times.forEach(time -> slotIndex.releaseAfterCommit(doctorId, time));
+            slotDeltaPublisher.ifAvailable(publisher -> publisher.released(doctorId, date,
+                    times.stream().map(AppointmentHook::clinicTime).toList()));
+        }));
     }
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Run a remote lookup on a virtual thread, carrying the caller's user context so Feign still
+     * forwards the user and branch headers. The returned future interrupts the lookup when cancelled.
+     */
+    private <T> Future<T> lookup(Supplier<T> call) {
+        UserContext.User user = UserContext.getUser();
+        return remoteLookups.submit(() -> {
+            UserContext.setUser(user);
+            try {
+                return call.get();
+            } finally {
+                UserContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Wait for a lookup until the shared deadline. Failures and timeouts map to VALIDATION_ERROR with the
+     * same message the sequential calls used.
+     */
+    private <T> T await(Future<T> lookup, long deadline, String subject, String failureMessage) {
+        try {
+            return lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, failureMessage);
+        } catch (ExecutionException e) {
+            log.error("Failed to validate {}: {}", subject, e.getCause().getMessage());
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, failureMessage);
+        } catch (TimeoutException e) {
+            log.error("Failed to validate {}: no response within {}", subject, REMOTE_VALIDATION_TIMEOUT);
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, failureMessage);
+        }
+    }
+
+    @PreDestroy
+    void shutdownLookups() {
+        remoteLookups.shutdownNow();
+    }
+
+    /**
+     * Reject a booking that overlaps another active appointment starting at a different time
+     * (off-grid schedules). Same-start conflicts are caught by the slot claim.
+     */
+    private void checkOverlap(String doctorId, Instant start, String ignoredId) {
+        Duration duration = Duration.ofMinutes(APPOINTMENT_DURATION_MINUTES);
+        boolean overlaps = appointmentRepository
+                .findByDoctorIdAndAppointmentTimeBetween(doctorId, start.minus(duration), start.plus(duration))
+                .stream()
+                .filter(a -> a.getStatus() != AppointmentStatus.CANCELLED && !a.getId().equals(ignoredId))
+                .map(Appointment::getAppointmentTime)
+                .anyMatch(time -> !time.equals(start)
+                        && time.isAfter(start.minus(duration)) && time.isBefore(start.plus(duration)));
+        if (overlaps) {
+            throw new ApiException(ErrorCode.APPOINTMENT_CONFLICT, "This time slot is already booked");
+        }
+    }
+
+    /**
+     * Mark the slot taken in this instance's index and tell subscribers (and other instances),
+     * both once the booking commits.
+     */
+    private void bookSlot(String doctorId, Instant time) {
+        slotIndex.bookAfterCommit(doctorId, time);
+        slotDeltaPublisher.ifAvailable(publisher -> publisher.booked(doctorId, clinicDate(time), List.of(clinicTime(time))));
+    }
+
+    private void releaseSlot(String doctorId, Instant time) {
+        slotReservationService.release(doctorId, time);
+        slotIndex.releaseAfterCommit(doctorId, time);
+        slotDeltaPublisher.ifAvailable(publisher -> publisher.released(doctorId, clinicDate(time), List.of(clinicTime(time))));
+    }
+
+    private static LocalDate clinicDate(Instant time) {
+        return time.atZone(SlotIndex.CLINIC_ZONE).toLocalDate();
+    }
+
+    /**
+     * Slot label as returned by GET /appointments/slots (HH:mm).
+     */
+    private static String clinicTime(Instant time) {
+        return time.atZone(SlotIndex.CLINIC_ZONE).toLocalTime().toString().substring(0, 5);
+    }
+
     /**
      * Check if all slots are booked and update schedule status accordingly.
      */
@@ -0,0 +1,118 @@
+package com.hms.appointment_service.replica;
+
+import com.hms.appointment_service.clients.HrClient;
+import com.hms.appointment_service.entities.EmployeeReplica;
+import com.hms.appointment_service.entities.ScheduleReplica;
+import com.hms.appointment_service.repositories.EmployeeReplicaRepository;
+import com.hms.appointment_service.repositories.ScheduleReplicaRepository;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.dtos.PageResponse;
+import com.hms.common.helpers.FeignHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Doctor and schedule lookups for booking, answered from the local HR replica once it is loaded.
+ * A lookup the replica cannot answer (not loaded yet, or the row is newer than the last sync) goes to
+ * hr-service exactly as before, so callers see the same responses and exceptions. Results use the
+ * HrClient DTOs so callers do not care where they came from.
+ * <p>
+ * Schedules are branch-scoped like in hr-service: the replica keeps hr-service's branch_id as a tenant column,
+ * so a branch user only finds their own branch's schedules locally and a miss goes to hr-service, which applies
+ * the same scope. Employees are not branch-scoped in hr-service and are not here either.
+ */
+@Component
+@Slf4j
+public class HrDirectory {
+
+    private static final int SCHEDULE_PAGE_SIZE = 100;
+
+    private final HrClient hrClient;
+    private final HrReplicaSync replicaSync;
+    private final EmployeeReplicaRepository employeeRepository;
+    private final ScheduleReplicaRepository scheduleRepository;
+
+    public HrDirectory(
+            @Lazy HrClient hrClient,
+            HrReplicaSync replicaSync,
+            EmployeeReplicaRepository employeeRepository,
+            ScheduleReplicaRepository scheduleRepository) {
+        this.hrClient = hrClient;
+        this.replicaSync = replicaSync;
+        this.employeeRepository = employeeRepository;
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    /**
+     * Same contract as HrClient.getEmployeeById.
+     */
+    public ApiResponse<HrClient.EmployeeInfo> getEmployeeById(String employeeId) {
+        if (replicaSync.isReady()) {
+            Optional<EmployeeReplica> local = employeeRepository.findById(employeeId);
+            if (local.isPresent()) {
+                return ApiResponse.ok(toEmployeeInfo(local.get()));
+            }
+        }
+        return hrClient.getEmployeeById(employeeId);
+    }
+
+    /**
+     * Same contract as HrClient.getScheduleByDoctorAndDate.
+     */
+    public ApiResponse<HrClient.ScheduleInfo> getScheduleByDoctorAndDate(String doctorId, LocalDate date) {
+        if (replicaSync.isReady()) {
+            Optional<ScheduleReplica> local = scheduleRepository.findFirstByEmployeeIdAndWorkDate(doctorId, date);
+            if (local.isPresent()) {
+                ScheduleReplica schedule = local.get();
+                return ApiResponse.ok(new HrClient.ScheduleInfo(schedule.getId(), schedule.getEmployeeId(),
+                        schedule.getWorkDate(), schedule.getStartTime(), schedule.getEndTime(), schedule.getStatus(),
+                        schedule.getBranchId()));
+            }
+        }
+        return hrClient.getScheduleByDoctorAndDate(doctorId, date);
+    }
+
+    /**
+     * AVAILABLE doctor schedules in a date range, optionally one department, in time order.
+     * Served by one local query once the replica is loaded, otherwise paged from hr-service.
+     */
+    public List<HrClient.DoctorScheduleInfo> getDoctorSchedules(LocalDate startDate, LocalDate endDate, String departmentId) {
+        List<HrClient.DoctorScheduleInfo> schedules = new ArrayList<>();
+        if (replicaSync.isReady()) {
+            for (Object[] row : scheduleRepository.findDoctorSchedules(startDate, endDate, "AVAILABLE", departmentId)) {
+                ScheduleReplica schedule = (ScheduleReplica) row[0];
+                EmployeeReplica doctor = (EmployeeReplica) row[1];
+                schedules.add(new HrClient.DoctorScheduleInfo(schedule.getId(), schedule.getEmployeeId(),
+                        schedule.getWorkDate(), schedule.getStartTime(), schedule.getEndTime(), schedule.getStatus(),
+                        new HrClient.ScheduleEmployee(doctor.getId(), doctor.getFullName(),
+                                new HrClient.ScheduleDepartment(doctor.getDepartmentId(), doctor.getDepartmentName()))));
+            }
+            return schedules;
+        }
+
+        int page = 0;
+        PageResponse<HrClient.DoctorScheduleInfo> result;
+        do {
+            int currentPage = page;
+            result = FeignHelper.safeCall(() ->
+                    hrClient.getDoctorSchedules(startDate, endDate, departmentId, currentPage, SCHEDULE_PAGE_SIZE)).getData();
+            if (result == null || result.getContent() == null) {
+                break;
+            }
+            schedules.addAll(result.getContent());
+            page++;
+        } while (result.getTotalPages() != null && page < result.getTotalPages());
+        return schedules;
+    }
+
+    private static HrClient.EmployeeInfo toEmployeeInfo(EmployeeReplica employee) {
+        return new HrClient.EmployeeInfo(employee.getId(), employee.getFullName(), employee.getRole(),
+                employee.getDepartmentId(), employee.getDepartmentName());
+    }
+}
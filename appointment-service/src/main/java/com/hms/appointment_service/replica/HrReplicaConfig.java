@@ -0,0 +1,48 @@
+package com.hms.appointment_service.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Local HR read model (hms.hr-replica.*).
+ * Staleness is exported as hms.hr_replica.staleness (seconds since the last successful sync, NaN before
+ * the first) and in the hrReplica health component. The component stays UP when stale: bookings keep
+ * working from the replica during an hr-service outage, which is the point of having it.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HrReplicaProperties.class)
+public class HrReplicaConfig {
+
+    @Bean
+    public Gauge hrReplicaStalenessGauge(HrReplicaSync replicaSync, MeterRegistry meterRegistry) {
+        return Gauge.builder("hms.hr_replica.staleness", replicaSync,
+                        sync -> sync.staleness().map(age -> age.toMillis() / 1000.0).orElse(Double.NaN))
+                .baseUnit("seconds")
+                .description("Age of the local HR replica")
+                .register(meterRegistry);
+    }
+
+    @Bean
+    public HealthIndicator hrReplicaHealthIndicator(HrReplicaSync replicaSync, HrReplicaProperties properties) {
+        return () -> {
+            if (!properties.isEnabled()) {
+                return Health.up().withDetail("enabled", false).build();
+            }
+            return Health.up()
+                    .withDetail("ready", replicaSync.isReady())
+                    .withDetail("stale", replicaSync.isStale())
+                    .withDetail("lastSyncAt", replicaSync.lastSyncAt().map(Object::toString).orElse("never"))
+                    .withDetail("stalenessSeconds", replicaSync.staleness().map(Duration::toSeconds).orElse(-1L))
+                    .build();
+        };
+    }
+}
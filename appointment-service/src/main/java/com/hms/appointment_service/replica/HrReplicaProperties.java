@@ -0,0 +1,35 @@
+package com.hms.appointment_service.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "hms.hr-replica")
+@Getter
+@Setter
+public class HrReplicaProperties {
+
+    /**
+     * When off, every lookup goes to hr-service as before.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between incremental syncs (employees, schedules changed since the last one).
+     */
+    private Duration syncInterval = Duration.ofSeconds(30);
+
+    /**
+     * Interval of full snapshots, which also drop rows deleted in hr-service.
+     */
+    private Duration fullSyncInterval = Duration.ofHours(1);
+
+    /**
+     * Age of the last successful sync after which the replica is reported stale.
+     */
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+    private int pageSize = 200;
+}
@@ -0,0 +1,245 @@
+package com.hms.appointment_service.replica;
+
+import com.hms.appointment_service.clients.HrClient;
+import com.hms.appointment_service.entities.EmployeeReplica;
+import com.hms.appointment_service.entities.ScheduleReplica;
+import com.hms.appointment_service.repositories.EmployeeReplicaRepository;
+import com.hms.appointment_service.repositories.ScheduleReplicaRepository;
+import com.hms.appointment_service.slots.SlotIndex;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.dtos.PageResponse;
+import com.hms.common.exceptions.errors.ErrorCode;
+import com.hms.common.helpers.FeignHelper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the local copy of hr-service employees and schedules fresh.
+ * <p>
+ * The first run takes a full snapshot; later runs fetch all employees (a small table, and department
+ * renames do not touch employee rows) and only the schedules changed since the newest updatedAt seen so
+ * far. A full snapshot every fullSyncInterval removes rows deleted in hr-service. Schedule change events
+ * (INVALIDATED slot deltas) trigger an early sync and a direct re-read of the affected doctor-day, which
+ * also covers deletes between full snapshots.
+ * <p>
+ * A failed sync keeps the previous data; {@link #staleness()} tells how old it is.
+ * <p>
+ * Runs without a UserContext, i.e. as a cross-branch session: it copies every branch's schedules with their
+ * branch_id, and Hibernate scopes the reads of branch users (HrDirectory) to their own branch.
+ */
+@Component
+@Slf4j
+public class HrReplicaSync {
+
+    private static final int RETENTION_DAYS = 1;
+
+    private final HrClient hrClient;
+    private final EmployeeReplicaRepository employeeRepository;
+    private final ScheduleReplicaRepository scheduleRepository;
+    private final HrReplicaProperties properties;
+    private final Set<DayKey> dirtyDays = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+    private final ExecutorService eventSync = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hr-replica-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Instant lastSyncAt;
+    private volatile Instant lastFullSyncAt;
+    private Instant scheduleWatermark;
+
+    public HrReplicaSync(
+            @Lazy HrClient hrClient,
+            EmployeeReplicaRepository employeeRepository,
+            ScheduleReplicaRepository scheduleRepository,
+            HrReplicaProperties properties) {
+        this.hrClient = hrClient;
+        this.employeeRepository = employeeRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * True once a full snapshot has been loaded.
+     */
+    public boolean isReady() {
+        return properties.isEnabled() && lastFullSyncAt != null;
+    }
+
+    public Optional<Instant> lastSyncAt() {
+        return Optional.ofNullable(lastSyncAt);
+    }
+
+    /**
+     * Age of the data; empty before the first successful sync.
+     */
+    public Optional<Duration> staleness() {
+        return lastSyncAt().map(at -> Duration.between(at, Instant.now()));
+    }
+
+    public boolean isStale() {
+        return staleness().map(age -> age.compareTo(properties.getStaleAfter()) > 0).orElse(true);
+    }
+
+    /**
+     * A schedule of this doctor-day changed in hr-service: re-read it and pull other changes now
+     * rather than at the next scheduled sync.
+     */
+    public void invalidate(String doctorId, LocalDate date) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        dirtyDays.add(new DayKey(doctorId, date));
+        if (syncQueued.compareAndSet(false, true)) {
+            eventSync.execute(() -> {
+                syncQueued.set(false);
+                sync();
+            });
+        }
+    }
+
+    @Scheduled(initialDelayString = "${hms.hr-replica.initial-delay:5s}", fixedDelayString = "${hms.hr-replica.sync-interval:30s}")
+    public void scheduledSync() {
+        if (properties.isEnabled()) {
+            sync();
+        }
+    }
+
+    public synchronized void sync() {
+        Instant started = Instant.now();
+        boolean full = lastFullSyncAt == null
+                || started.isAfter(lastFullSyncAt.plus(properties.getFullSyncInterval()));
+        try {
+            syncEmployees(started);
+            LocalDate fromDate = LocalDate.now(SlotIndex.CLINIC_ZONE).minusDays(RETENTION_DAYS);
+            if (full) {
+                int synced = syncSchedules(fromDate, null, started);
+                int removed = scheduleRepository.deleteNotSyncedSince(fromDate, started);
+                scheduleRepository.deleteBefore(fromDate);
+                log.info("HR replica snapshot: {} schedules, {} removed", synced, removed);
+            } else {
+                syncSchedules(fromDate, scheduleWatermark, started);
+            }
+            refreshDirtyDays(started);
+            lastSyncAt = started;
+            if (full) {
+                lastFullSyncAt = started;
+            }
+        } catch (Exception e) {
+            log.warn("HR replica sync failed, keeping data from {}: {}", lastSyncAt, e.getMessage());
+        }
+    }
+
+    private void syncEmployees(Instant started) {
+        PageResponse<HrClient.EmployeeInfo> employees = FeignHelper.safeCall(() -> hrClient.getAllEmployees(true)).getData();
+        if (employees == null || employees.getContent() == null) {
+            throw new IllegalStateException("hr-service returned no employee list");
+        }
+        List<EmployeeReplica> rows = new ArrayList<>(employees.getContent().size());
+        for (HrClient.EmployeeInfo employee : employees.getContent()) {
+            EmployeeReplica row = new EmployeeReplica();
+            row.setId(employee.id());
+            row.setFullName(employee.fullName());
+            row.setRole(employee.role());
+            row.setDepartmentId(employee.departmentId());
+            row.setDepartmentName(employee.departmentName());
+            row.setSyncedAt(started);
+            rows.add(row);
+        }
+        employeeRepository.saveAll(rows);
+        employeeRepository.deleteNotSyncedSince(started);
+    }
+
+    /**
+     * Page through the schedule feed and upsert every row; advances the watermark to the newest updatedAt.
+     */
+    private int syncSchedules(LocalDate fromDate, Instant updatedSince, Instant started) {
+        int synced = 0;
+        int page = 0;
+        Instant watermark = updatedSince;
+        PageResponse<HrClient.ScheduleFeedInfo> result;
+        do {
+            int currentPage = page;
+            result = FeignHelper.safeCall(() -> hrClient.getScheduleFeed(
+                    fromDate, updatedSince, currentPage, properties.getPageSize())).getData();
+            if (result == null || result.getContent() == null) {
+                throw new IllegalStateException("hr-service returned no schedule feed");
+            }
+            List<ScheduleReplica> rows = new ArrayList<>(result.getContent().size());
+            for (HrClient.ScheduleFeedInfo schedule : result.getContent()) {
+                rows.add(toReplica(schedule.id(), schedule.branchId(), schedule.employeeId(), schedule.workDate(),
+                        schedule.startTime(), schedule.endTime(), schedule.status(), schedule.updatedAt(), started));
+                if (schedule.updatedAt() != null && (watermark == null || schedule.updatedAt().isAfter(watermark))) {
+                    watermark = schedule.updatedAt();
+                }
+            }
+            scheduleRepository.saveAll(rows);
+            synced += rows.size();
+            page++;
+        } while (result.getTotalPages() != null && page < result.getTotalPages());
+        // The feed is inclusive (updatedAt >= watermark): the newest rows come again next time, harmlessly
+        scheduleWatermark = watermark;
+        return synced;
+    }
+
+    /**
+     * Re-read doctor-days named by change events. A not-found answer means the schedule was deleted.
+     */
+    private void refreshDirtyDays(Instant started) {
+        for (DayKey day : List.copyOf(dirtyDays)) {
+            ApiResponse<HrClient.ScheduleInfo> response = FeignHelper.safeCall(() ->
+                    hrClient.getScheduleByDoctorAndDate(day.doctorId(), day.date()));
+            HrClient.ScheduleInfo schedule = response.getData();
+            if (schedule != null) {
+                scheduleRepository.deleteByEmployeeIdAndWorkDate(day.doctorId(), day.date());
+                scheduleRepository.save(toReplica(schedule.id(), schedule.branchId(), schedule.employeeId(),
+                        schedule.workDate(), schedule.startTime(), schedule.endTime(), schedule.status(), null, started));
+            } else if (response.getCode() != null && response.getCode() == ErrorCode.RESOURCE_NOT_FOUND.getCode()) {
+                scheduleRepository.deleteByEmployeeIdAndWorkDate(day.doctorId(), day.date());
+            } else {
+                continue; // hr-service error: keep the day dirty and retry on the next sync
+            }
+            dirtyDays.remove(day);
+        }
+    }
+
+    private static ScheduleReplica toReplica(String id, String branchId, String employeeId, LocalDate workDate,
+                                             LocalTime startTime, LocalTime endTime,
+                                             String status, Instant updatedAt, Instant syncedAt) {
+        ScheduleReplica row = new ScheduleReplica();
+        row.setId(id);
+        row.setBranchId(branchId);
+        row.setEmployeeId(employeeId);
+        row.setWorkDate(workDate);
+        row.setStartTime(startTime);
+        row.setEndTime(endTime);
+        row.setStatus(status);
+        row.setUpdatedAt(updatedAt);
+        row.setSyncedAt(syncedAt);
+        return row;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        eventSync.shutdownNow();
+    }
+
+    private record DayKey(String doctorId, LocalDate date) {}
+}
@@ -0,0 +1,22 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Count queries over AppointmentRepository that JPQL cannot express statically.
+ */
+public interface AppointmentCountRepository {
+
+    /**
+     * Count appointments with a status per (doctorId, day) in one query.
+     *
+     * @return (doctorId, LocalDate, Long count) rows; doctor-days without appointments are omitted
+     */
+    List<Object[]> countByDoctorIdsAndDays(
+            Collection<String> doctorIds, Collection<LocalDate> days, ZoneId zoneId, AppointmentStatus status);
+}
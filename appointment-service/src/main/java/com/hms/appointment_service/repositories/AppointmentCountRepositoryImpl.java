@@ -0,0 +1,76 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.entities.Appointment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * GROUP BY doctorId with one conditional COUNT column per requested day:
+ * SELECT doctor_id, SUM(CASE WHEN day 1 THEN 1 ELSE 0 END), ... GROUP BY doctor_id.
+ * Day bounds are computed here in the given zone, so the buckets do not depend on the database time zone,
+ * and grouping stays on a plain column (MySQL ONLY_FULL_GROUP_BY rejects parameterised GROUP BY expressions).
+ */
+public class AppointmentCountRepositoryImpl implements AppointmentCountRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> countByDoctorIdsAndDays(
+            Collection<String> doctorIds, Collection<LocalDate> days, ZoneId zoneId, AppointmentStatus status) {
+        if (doctorIds.isEmpty() || days.isEmpty()) {
+            return List.of();
+        }
+        List<LocalDate> sortedDays = days.stream().distinct().sorted().toList();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Appointment> root = query.from(Appointment.class);
+        Path<String> doctorId = root.get("doctorId");
+        Path<Instant> time = root.get("appointmentTime");
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(doctorId);
+        List<Predicate> inAnyDay = new ArrayList<>();
+        for (LocalDate day : sortedDays) {
+            Predicate inDay = cb.and(
+                    cb.greaterThanOrEqualTo(time, day.atStartOfDay(zoneId).toInstant()),
+                    cb.lessThan(time, day.plusDays(1).atStartOfDay(zoneId).toInstant()));
+            inAnyDay.add(inDay);
+            selections.add(cb.sum(cb.<Long>selectCase().when(inDay, 1L).otherwise(0L)));
+        }
+
+        query.multiselect(selections)
+                .where(
+                        doctorId.in(doctorIds),
+                        cb.equal(root.get("status"), status),
+                        cb.or(inAnyDay.toArray(Predicate[]::new)))
+                .groupBy(doctorId);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            for (int i = 0; i < sortedDays.size(); i++) {
+                Number count = (Number) tuple.get(i + 1);
+                if (count != null && count.longValue() > 0) {
+                    rows.add(new Object[]{tuple.get(0), sortedDays.get(i), count.longValue()});
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -3,15 +3,17 @@ package com.hms.appointment_service.repositories;
 import com.hms.appointment_service.constants.AppointmentStatus;
 import com.hms.appointment_service.entities.Appointment;
 import com.hms.common.repositories.SimpleRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface AppointmentRepository extends SimpleRepository<Appointment, String> {
+public interface AppointmentRepository extends SimpleRepository<Appointment, String>, AppointmentCountRepository {
 
     /**
      * Find appointments by doctor and date range with specific status.
@@ -20,6 +22,109 @@ public interface AppointmentRepository extends SimpleRepository<Appointment, Str
     List<Appointment> findByDoctorIdAndAppointmentTimeBetweenAndStatus(
             String doctorId, Instant startTime, Instant endTime, AppointmentStatus status);
 
+    /**
+     * Count appointments of a doctor with a status in a time range.
+     */
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime AND a.status = :status")
+    long countByDoctorIdInRange(
+            @Param("doctorId") String doctorId,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime,
+            @Param("status") AppointmentStatus status);
+
+    /**
+     * Cancel a doctor's SCHEDULED appointments in a time range in one statement.
+     * cancelledAt doubles as a marker: findDoctorTimesCancelledAt reads back exactly the rows this call changed.
+     * Auditing listeners do not run for bulk updates, so updatedAt/updatedBy are set here.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :cancelled, a.cancelledAt = :cancelledAt, a.cancelReason = :reason, a.updatedAt = :cancelledAt, a.updatedBy = :updatedBy WHERE a.doctorId = :doctorId AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime AND a.status = :scheduled")
+    int cancelScheduledInRange(
+            @Param("doctorId") String doctorId,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime,
+            @Param("reason") String reason,
+            @Param("cancelledAt") Instant cancelledAt,
+            @Param("updatedBy") String updatedBy,
+            @Param("scheduled") AppointmentStatus scheduled,
+            @Param("cancelled") AppointmentStatus cancelled);
+
+    /**
+     * (doctorId, appointmentTime) of the appointments a cancelScheduledInRange call with this cancelledAt changed.
+     */
+    @Query("SELECT a.doctorId, a.appointmentTime FROM Appointment a WHERE a.doctorId IN :doctorIds AND a.status = :cancelled AND a.cancelledAt = :cancelledAt")
+    List<Object[]> findDoctorTimesCancelledAt(
+            @Param("doctorIds") Collection<String> doctorIds,
+            @Param("cancelledAt") Instant cancelledAt,
+            @Param("cancelled") AppointmentStatus cancelled);
+
+    /**
+     * (id, appointmentTime) of a doctor's appointments with a status in a time range.
+     */
+    @Query("SELECT a.id, a.appointmentTime FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime AND a.status = :status")
+    List<Object[]> findIdTimesByDoctorIdInRange(
+            @Param("doctorId") String doctorId,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime,
+            @Param("status") AppointmentStatus status);
+
+    /**
+     * Put CANCELLED appointments back to SCHEDULED in one statement (saga compensation).
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :scheduled, a.cancelledAt = NULL, a.cancelReason = NULL, a.updatedAt = :updatedAt, a.updatedBy = :updatedBy WHERE a.id IN :ids AND a.status = :cancelled")
+    int restoreCancelled(
+            @Param("ids") Collection<String> ids,
+            @Param("updatedAt") Instant updatedAt,
+            @Param("updatedBy") String updatedBy,
+            @Param("scheduled") AppointmentStatus scheduled,
+            @Param("cancelled") AppointmentStatus cancelled);
+
+    /**
+     * (doctorId, appointmentTime) of appointments for several doctors in a time range, except one status.
+     * Used by the range availability search to load every booked slot of the range at once.
+     */
+    @Query("SELECT a.doctorId, a.appointmentTime FROM Appointment a WHERE a.doctorId IN :doctorIds AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime AND a.status <> :excludedStatus")
+    List<Object[]> findDoctorTimesByDoctorIdsInRangeExcluding(
+            @Param("doctorIds") Collection<String> doctorIds,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime,
+            @Param("excludedStatus") AppointmentStatus excludedStatus);
+
+    /**
+     * (doctorId, appointmentTime) of all appointments from a point in time, except one status.
+     * Used to build the slot index at startup.
+     */
+    @Query("SELECT a.doctorId, a.appointmentTime FROM Appointment a WHERE a.appointmentTime >= :startTime AND a.status <> :excludedStatus")
+    List<Object[]> findDoctorTimesFrom(
+            @Param("startTime") Instant startTime,
+            @Param("excludedStatus") AppointmentStatus excludedStatus);
+
+    /**
+     * Active appointments from a point in time that hold no slot reservation yet.
+     * Used to backfill the reservation table for appointments booked before it existed.
+     */
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentTime >= :startTime AND a.status <> :excludedStatus AND NOT EXISTS (SELECT r FROM SlotReservation r WHERE r.appointmentId = a.id)")
+    List<Appointment> findUnreservedFrom(
+            @Param("startTime") Instant startTime,
+            @Param("excludedStatus") AppointmentStatus excludedStatus);
+
+    /**
+     * Whether an appointment exists and is not in the given status.
+     */
+    boolean existsByIdAndStatusNot(String id, AppointmentStatus status);
+
+    /**
+     * Appointment times of one doctor in a time range, except one status.
+     * Used to reload a single doctor-day of the slot index and for slot lookups outside it.
+     */
+    @Query("SELECT a.appointmentTime FROM Appointment a WHERE a.doctorId = :doctorId AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime AND a.status <> :excludedStatus")
+    List<Instant> findTimesByDoctorIdInRange(
+            @Param("doctorId") String doctorId,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime,
+            @Param("excludedStatus") AppointmentStatus excludedStatus);
+
     /**
      * Find appointments by doctor and date range (any status).
      */
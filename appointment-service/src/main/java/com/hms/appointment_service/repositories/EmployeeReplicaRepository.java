@@ -0,0 +1,23 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.entities.EmployeeReplica;
+import com.hms.common.repositories.SimpleRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface EmployeeReplicaRepository extends SimpleRepository<EmployeeReplica, String> {
+
+    /**
+     * Remove employees a full sync did not see (deleted in hr-service).
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmployeeReplica e WHERE e.syncedAt < :syncStart")
+    int deleteNotSyncedSince(@Param("syncStart") Instant syncStart);
+}
@@ -0,0 +1,57 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.entities.ScheduleReplica;
+import com.hms.common.repositories.SimpleRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduleReplicaRepository extends SimpleRepository<ScheduleReplica, String> {
+
+    Optional<ScheduleReplica> findFirstByEmployeeIdAndWorkDate(String employeeId, LocalDate workDate);
+
+    /**
+     * Doctor schedules with a status in a date range, optionally one department, in time order.
+     * Local counterpart of hr-service's /hr/schedules/doctors.
+     */
+    @Query("""
+            SELECT s, e FROM ScheduleReplica s
+            JOIN EmployeeReplica e ON s.employeeId = e.id
+            WHERE e.role = 'DOCTOR'
+            AND s.workDate BETWEEN :startDate AND :endDate
+            AND s.status = :status
+            AND (:departmentId IS NULL OR e.departmentId = :departmentId)
+            ORDER BY s.workDate, s.startTime
+            """)
+    List<Object[]> findDoctorSchedules(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") String status,
+            @Param("departmentId") String departmentId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduleReplica s WHERE s.employeeId = :employeeId AND s.workDate = :workDate")
+    int deleteByEmployeeIdAndWorkDate(@Param("employeeId") String employeeId, @Param("workDate") LocalDate workDate);
+
+    /**
+     * Remove schedules from a date on that a full sync did not see (deleted in hr-service).
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduleReplica s WHERE s.workDate >= :fromDate AND s.syncedAt < :syncStart")
+    int deleteNotSyncedSince(@Param("fromDate") LocalDate fromDate, @Param("syncStart") Instant syncStart);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduleReplica s WHERE s.workDate < :date")
+    int deleteBefore(@Param("date") LocalDate date);
+}
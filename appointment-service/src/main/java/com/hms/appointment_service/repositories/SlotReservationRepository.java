@@ -0,0 +1,40 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.entities.SlotReservation;
+import com.hms.common.repositories.SimpleRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface SlotReservationRepository extends SimpleRepository<SlotReservation, String> {
+
+    Optional<SlotReservation> findByDoctorIdAndSlotStart(String doctorId, Instant slotStart);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotReservation r WHERE r.doctorId = :doctorId AND r.slotStart IN :slotStarts")
+    int deleteByDoctorIdAndSlotStartIn(
+            @Param("doctorId") String doctorId,
+            @Param("slotStarts") Collection<Instant> slotStarts);
+
+    /**
+     * Delete a reservation only if it is still the one that was judged stale, so two takeovers
+     * of the same slot cannot both succeed.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SlotReservation r WHERE r.id = :id AND ((:appointmentId IS NULL AND r.appointmentId IS NULL) OR r.appointmentId = :appointmentId)")
+    int deleteStale(@Param("id") String id, @Param("appointmentId") String appointmentId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SlotReservation r SET r.appointmentId = :appointmentId WHERE r.id = :id")
+    int link(@Param("id") String id, @Param("appointmentId") String appointmentId);
+}
@@ -4,17 +4,24 @@ import com.hms.appointment_service.clients.HrClient;
 import com.hms.appointment_service.constants.AppointmentStatus;
 import com.hms.appointment_service.dtos.appointment.AppointmentStatsResponse;
 import com.hms.appointment_service.dtos.appointment.AppointmentResponse;
+import com.hms.appointment_service.dtos.appointment.AvailableSlotResponse;
+import com.hms.appointment_service.dtos.appointment.DoctorDateCount;
 import com.hms.appointment_service.dtos.appointment.TimeSlotResponse;
 import com.hms.appointment_service.entities.Appointment;
 import com.hms.appointment_service.mappers.AppointmentMapper;
+import com.hms.appointment_service.replica.HrDirectory;
 import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.slots.SlotIndex;
 import com.hms.common.dtos.ApiResponse;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.exceptions.errors.ApiException;
 import com.hms.common.exceptions.errors.ErrorCode;
 import com.hms.common.helpers.FeignHelper;
+import com.hms.common.slots.SlotDeltaPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,9 +31,14 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Service for appointment-specific business logic.
@@ -37,9 +49,16 @@ import java.util.Map;
 @Slf4j
 public class AppointmentService {
 
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int MAX_AVAILABILITY_LIMIT = 100;
+
     private final AppointmentRepository appointmentRepository;
-    private final HrClient hrClient;
+    private final HrDirectory hrDirectory;
     private final AppointmentMapper appointmentMapper;
+    private final ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher;
+    private final SlotIndex slotIndex;
+    private final SlotReservationService slotReservationService;
+    private final AuditorAware<String> auditorAware;
 
     /**
      * Get available time slots for a doctor on a specific date.
@@ -57,7 +76,7 @@ public class AppointmentService {
         try {
             log.info("📞 [getAvailableSlots] Calling HR service for schedule: doctorId={}, date={}", doctorId, date);
             scheduleResponse = FeignHelper.safeCall(() -> 
-                hrClient.getScheduleByDoctorAndDate(doctorId, date));
+                hrDirectory.getScheduleByDoctorAndDate(doctorId, date));
             log.info("✅ [getAvailableSlots] HR service response received: {}", scheduleResponse != null ? "Not null" : "NULL");
             if (scheduleResponse != null) {
                 log.info("📊 [getAvailableSlots] Schedule response data: {}", scheduleResponse.getData());
@@ -76,46 +95,156 @@ public class AppointmentService {
         var schedule = scheduleResponse.getData();
         log.info("✅ [getAvailableSlots] Found schedule: startTime={}, endTime={}", schedule.startTime(), schedule.endTime());
 
-        // 2. Get existing booked appointments
-        ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
+        // 2. Booked slots: memory lookup for indexed dates (today onwards), database for the past
+        //    and for schedules whose slots are off the index's 30-minute grid
+        Predicate<LocalTime> isBooked;
+        OptionalLong indexed = slotIndex.bookedSlots(doctorId, date);
+        if (indexed.isPresent() && schedule.startTime().getMinute() % SlotIndex.SLOT_MINUTES == 0) {
+            long bookedSlots = indexed.getAsLong();
+            isBooked = time -> SlotIndex.isBooked(bookedSlots, time);
+        } else {
+            List<String> bookedTimes = findBookedTimes(doctorId, date);
+            log.info("🚫 [getAvailableSlots] Booked times (excluding cancelled): {}", bookedTimes);
+            isBooked = time -> bookedTimes.contains(slotLabel(time));
+        }
+
+        // 3. Generate Slots
+        List<TimeSlotResponse> slots = buildSlots(schedule.startTime(), schedule.endTime(), isBooked);
+
+        log.info("✅ [getAvailableSlots] Generated {} total slots", slots.size());
+        return slots;
+    }
+
+    /**
+     * Earliest free slots across doctors and dates.
+     * Schedules come from the local HR replica, or from hr-service a page at a time (each row already carries
+     * the doctor's name and department), and the booked slots of every doctor in the range are read with one query, so the
+     * cost does not grow with the number of doctor-days. Slots already in the past are skipped.
+     *
+     * @param departmentId Optional department filter
+     * @param from         First date, inclusive
+     * @param to           Last date, inclusive
+     * @param limit        Maximum number of slots to return
+     * @return Free slots ordered by start time, then doctor name
+     */
+    public List<AvailableSlotResponse> findAvailability(String departmentId, LocalDate from, LocalDate to, int limit) {
+        if (to.isBefore(from)) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR,
+                    "Availability range must not exceed " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        if (limit < 1 || limit > MAX_AVAILABILITY_LIMIT) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR,
+                    "limit must be between 1 and " + MAX_AVAILABILITY_LIMIT);
+        }
+
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now(zoneId);
+        if (to.isBefore(today)) {
+            return List.of();
+        }
+        LocalDate start = from.isBefore(today) ? today : from;
+
+        // 1. Schedules of the range (local HR replica, or hr-service page by page)
+        List<HrClient.DoctorScheduleInfo> schedules = hrDirectory.getDoctorSchedules(start, to, departmentId);
+
+        if (schedules.isEmpty()) {
+            return List.of();
+        }
+
+        // 2. Booked slots of all doctors in the range, one query
+        Set<String> doctorIds = new HashSet<>();
+        for (HrClient.DoctorScheduleInfo schedule : schedules) {
+            doctorIds.add(schedule.employeeId());
+        }
+        Map<String, Set<String>> bookedByDoctorDay = new HashMap<>();
+        for (Object[] row : appointmentRepository.findDoctorTimesByDoctorIdsInRangeExcluding(
+                doctorIds,
+                start.atStartOfDay(zoneId).toInstant(),
+                to.plusDays(1).atStartOfDay(zoneId).toInstant(),
+                AppointmentStatus.CANCELLED)) {
+            var time = ((Instant) row[1]).atZone(zoneId);
+            bookedByDoctorDay
+                    .computeIfAbsent(row[0] + "|" + time.toLocalDate(), k -> new HashSet<>())
+                    .add(slotLabel(time.toLocalTime()));
+        }
+
+        // 3. Free slots of every schedule, earliest first
+        List<AvailableSlotResponse> available = new ArrayList<>();
+        for (HrClient.DoctorScheduleInfo schedule : schedules) {
+            Set<String> booked = bookedByDoctorDay.getOrDefault(
+                    schedule.employeeId() + "|" + schedule.workDate(), Set.of());
+            var employee = schedule.employee();
+            var department = employee != null ? employee.department() : null;
+            for (TimeSlotResponse slot : buildSlots(schedule.startTime(), schedule.endTime(),
+                    time -> booked.contains(slotLabel(time)))) {
+                Instant startsAt = schedule.workDate().atTime(LocalTime.parse(slot.getTime())).atZone(zoneId).toInstant();
+                if (!slot.isAvailable() || !startsAt.isAfter(now)) {
+                    continue;
+                }
+                available.add(AvailableSlotResponse.builder()
+                        .doctorId(schedule.employeeId())
+                        .doctorName(employee != null ? employee.fullName() : null)
+                        .departmentId(department != null ? department.id() : null)
+                        .departmentName(department != null ? department.name() : null)
+                        .date(schedule.workDate())
+                        .time(slot.getTime())
+                        .startsAt(startsAt)
+                        .build());
+            }
+        }
+
+        return available.stream()
+                .sorted(Comparator.comparing(AvailableSlotResponse::getStartsAt)
+                        .thenComparing(AvailableSlotResponse::getDoctorName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Booked (non-cancelled) HH:mm times of a doctor-day, read from the database.
+     * Used for dates the slot index does not cover.
+     */
+    private List<String> findBookedTimes(String doctorId, LocalDate date) {
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
         Instant startOfDay = date.atStartOfDay(zoneId).toInstant();
         Instant endOfDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
 
-        List<Appointment> bookedAppointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay, endOfDay);
-        
-        log.info("📅 [getAvailableSlots] Found {} booked appointments for doctor on {}", bookedAppointments.size(), date);
-        
-        // Filter out CANCELLED
-        List<String> bookedTimes = bookedAppointments.stream()
-                .filter(a -> a.getStatus() != AppointmentStatus.CANCELLED)
-                .map(a -> a.getAppointmentTime().atZone(zoneId).toLocalTime().toString().substring(0, 5)) // HH:mm
+        // Times only, excluding CANCELLED: answered from idx_appointment_doctor_time_status alone
+        return appointmentRepository
+                .findTimesByDoctorIdInRange(doctorId, startOfDay, endOfDay, AppointmentStatus.CANCELLED)
+                .stream()
+                .map(time -> slotLabel(time.atZone(zoneId).toLocalTime()))
                 .toList();
+    }
 
-        log.info("🚫 [getAvailableSlots] Booked times (excluding cancelled): {}", bookedTimes);
-
-        // 3. Generate Slots
+    /**
+     * 30-minute slots from start (inclusive) to end (exclusive), labelled HH:mm.
+     */
+    public static List<TimeSlotResponse> buildSlots(LocalTime start, LocalTime end, Predicate<LocalTime> isBooked) {
         List<TimeSlotResponse> slots = new ArrayList<>();
-        LocalTime start = schedule.startTime();
-        LocalTime end = schedule.endTime();
-
-        while (start.isBefore(end)) {
-            String timeStr = start.toString();
-            if (timeStr.length() == 8) timeStr = timeStr.substring(0, 5); // Ensure HH:mm
-
-            boolean isBooked = bookedTimes.contains(timeStr);
+        LocalTime time = start;
+        while (time.isBefore(end)) {
             slots.add(TimeSlotResponse.builder()
-                    .time(timeStr)
-                    .available(!isBooked)
+                    .time(slotLabel(time))
+                    .available(!isBooked.test(time))
                     .build());
-
-            start = start.plusMinutes(30);
+            LocalTime next = time.plusMinutes(SlotIndex.SLOT_MINUTES);
+            if (next.isBefore(time)) {
+                break; // wrapped past midnight
+            }
+            time = next;
         }
-
-        log.info("✅ [getAvailableSlots] Generated {} total slots", slots.size());
         return slots;
     }
 
+    public static String slotLabel(LocalTime time) {
+        return time.toString().substring(0, 5);
+    }
+
     /**
      * Bulk cancel all SCHEDULED appointments for a doctor on a specific date.
      * Called by hr-service when a schedule is cancelled.
@@ -127,35 +256,65 @@ public class AppointmentService {
      */
     @Transactional
     public int cancelByDoctorAndDate(String doctorId, LocalDate date, String reason) {
-        // Convert LocalDate to Instant range for query
-        ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
-        Instant startOfDay = date.atStartOfDay(zoneId).toInstant();
-        Instant endOfDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
-
-        // Find all SCHEDULED appointments for this doctor on this date
-        List<Appointment> appointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetweenAndStatus(
-                        doctorId, startOfDay, endOfDay, AppointmentStatus.SCHEDULED);
+        return cancelByDoctorAndDates(List.of(new DoctorDateCount(doctorId, date, null)), reason)
+                .getFirst().getCount();
+    }
 
-        if (appointments.isEmpty()) {
-            log.info("No scheduled appointments found for doctor {} on {}", doctorId, date);
-            return 0;
+    /**
+     * Batch variant of cancelByDoctorAndDate for many (doctorId, date) pairs.
+     * Each pair is cancelled with one UPDATE; the cancelled slots are then read back in one query by
+     * their cancelledAt marker (MySQL has no UPDATE ... RETURNING) to free reservations and the slot index.
+     *
+     * @param pairs  (doctorId, date) pairs to cancel
+     * @param reason Cancellation reason
+     * @return The same pairs with the number of cancelled appointments filled in, in request order
+     */
+    @Transactional
+    public List<DoctorDateCount> cancelByDoctorAndDates(List<DoctorDateCount> pairs, String reason) {
+        if (pairs == null || pairs.isEmpty()) {
+            return List.of();
         }
-
-        log.info("Cancelling {} appointments for doctor {} on {}", appointments.size(), doctorId, date);
-
-        // Cancel each appointment
-        Instant now = Instant.now();
-        for (Appointment appointment : appointments) {
-            appointment.setStatus(AppointmentStatus.CANCELLED);
-            appointment.setCancelledAt(now);
-            appointment.setCancelReason(reason);
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
+        // Truncated to the DATETIME(6) precision so the marker compares equal after the round trip
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        String updatedBy = currentAuditor();
+
+        List<DoctorDateCount> result = new ArrayList<>(pairs.size());
+        Set<String> doctorIds = new HashSet<>();
+        int total = 0;
+        for (DoctorDateCount pair : pairs) {
+            int cancelled = appointmentRepository.cancelScheduledInRange(
+                    pair.getDoctorId(),
+                    pair.getDate().atStartOfDay(zoneId).toInstant(),
+                    pair.getDate().plusDays(1).atStartOfDay(zoneId).toInstant(),
+                    reason, now, updatedBy,
+                    AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+            if (cancelled > 0) {
+                doctorIds.add(pair.getDoctorId());
+                total += cancelled;
+            }
+            result.add(new DoctorDateCount(pair.getDoctorId(), pair.getDate(), cancelled));
         }
 
-        appointmentRepository.saveAll(appointments);
-        log.info("Successfully cancelled {} appointments", appointments.size());
-
-        return appointments.size();
+        if (total == 0) {
+            log.info("No scheduled appointments found to cancel for {} doctor-days", pairs.size());
+            return result;
+        }
+        log.info("Cancelled {} appointments across {} doctor-days", total, pairs.size());
+
+        Map<String, Map<LocalDate, List<Instant>>> cancelledSlots = new HashMap<>();
+        for (Object[] row : appointmentRepository.findDoctorTimesCancelledAt(doctorIds, now, AppointmentStatus.CANCELLED)) {
+            Instant time = (Instant) row[1];
+            cancelledSlots.computeIfAbsent((String) row[0], k -> new HashMap<>())
+                    .computeIfAbsent(time.atZone(zoneId).toLocalDate(), k -> new ArrayList<>())
+                    .add(time);
+        }
+        cancelledSlots.forEach((doctorId, byDate) -> byDate.forEach((date, times) -> {
+            slotReservationService.releaseAll(doctorId, times);
+            times.forEach(time -> slotIndex.releaseAfterCommit(doctorId, time));
+            slotDeltaPublisher.ifAvailable(publisher -> publisher.released(doctorId, date, slotLabels(times, zoneId)));
+        }));
+        return result;
     }
 
     /**
@@ -167,15 +326,48 @@ public class AppointmentService {
      * @return Count of active appointments
      */
     public int countByDoctorAndDate(String doctorId, LocalDate date) {
-        ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
         Instant startOfDay = date.atStartOfDay(zoneId).toInstant();
         Instant endOfDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
 
-        List<Appointment> appointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetweenAndStatus(
-                        doctorId, startOfDay, endOfDay, AppointmentStatus.SCHEDULED);
+        return (int) appointmentRepository.countByDoctorIdInRange(
+                doctorId, startOfDay, endOfDay, AppointmentStatus.SCHEDULED);
+    }
 
-        return appointments.size();
+    /**
+     * Batch variant of countByDoctorAndDate for many (doctorId, date) pairs.
+     * Runs one COUNT query grouped by doctor with a column per requested clinic-local date.
+     *
+     * @param pairs (doctorId, date) pairs to count
+     * @return The same pairs with count filled in, in request order
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorDateCount> countByDoctorAndDates(List<DoctorDateCount> pairs) {
+        if (pairs == null || pairs.isEmpty()) {
+            return List.of();
+        }
+        Set<String> doctorIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (DoctorDateCount pair : pairs) {
+            doctorIds.add(pair.getDoctorId());
+            dates.add(pair.getDate());
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : appointmentRepository.countByDoctorIdsAndDays(
+                doctorIds, dates, SlotIndex.CLINIC_ZONE, AppointmentStatus.SCHEDULED)) {
+            counts.put(row[0] + "|" + row[1], ((Long) row[2]).intValue());
+        }
+
+        List<DoctorDateCount> result = new ArrayList<>(pairs.size());
+        for (DoctorDateCount pair : pairs) {
+            result.add(DoctorDateCount.builder()
+                    .doctorId(pair.getDoctorId())
+                    .date(pair.getDate())
+                    .count(counts.getOrDefault(pair.getDoctorId() + "|" + pair.getDate(), 0))
+                    .build());
+        }
+        return result;
     }
 
     /**
@@ -189,34 +381,73 @@ public class AppointmentService {
      */
     @Transactional
     public int restoreByDoctorAndDate(String doctorId, LocalDate date) {
-        ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
-        Instant startOfDay = date.atStartOfDay(zoneId).toInstant();
-        Instant endOfDay = date.plusDays(1).atStartOfDay(zoneId).toInstant();
-
-        // Find all CANCELLED appointments for this doctor on this date
-        List<Appointment> appointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetweenAndStatus(
-                        doctorId, startOfDay, endOfDay, AppointmentStatus.CANCELLED);
+        return restoreByDoctorAndDates(List.of(new DoctorDateCount(doctorId, date, null)))
+                .getFirst().getCount();
+    }
 
-        if (appointments.isEmpty()) {
-            log.info("No cancelled appointments found to restore for doctor {} on {}", doctorId, date);
-            return 0;
+    /**
+     * Batch variant of restoreByDoctorAndDate for many (doctorId, date) pairs.
+     * Only (id, appointmentTime) of the cancelled appointments is read; each slot is claimed again and
+     * the appointments whose slot is still free are flipped back with a single UPDATE.
+     *
+     * @param pairs (doctorId, date) pairs to restore
+     * @return The same pairs with the number of restored appointments filled in, in request order
+     */
+    @Transactional
+    public List<DoctorDateCount> restoreByDoctorAndDates(List<DoctorDateCount> pairs) {
+        if (pairs == null || pairs.isEmpty()) {
+            return List.of();
         }
-
-        log.info("COMPENSATION: Restoring {} cancelled appointments for doctor {} on {}", 
-                appointments.size(), doctorId, date);
-
-        // Restore each appointment back to SCHEDULED
-        for (Appointment appointment : appointments) {
-            appointment.setStatus(AppointmentStatus.SCHEDULED);
-            appointment.setCancelledAt(null);
-            appointment.setCancelReason(null);
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
+
+        List<String> restoredIds = new ArrayList<>();
+        List<List<Instant>> restoredTimes = new ArrayList<>(pairs.size());
+        for (DoctorDateCount pair : pairs) {
+            String doctorId = pair.getDoctorId();
+            List<Instant> times = new ArrayList<>();
+            // Restore each appointment back to SCHEDULED, unless its slot was booked again in the meantime
+            for (Object[] row : appointmentRepository.findIdTimesByDoctorIdInRange(
+                    doctorId,
+                    pair.getDate().atStartOfDay(zoneId).toInstant(),
+                    pair.getDate().plusDays(1).atStartOfDay(zoneId).toInstant(),
+                    AppointmentStatus.CANCELLED)) {
+                String id = (String) row[0];
+                Instant time = (Instant) row[1];
+                try {
+                    slotReservationService.claim(doctorId, time, id);
+                } catch (ApiException e) {
+                    log.warn("COMPENSATION: Slot {} of appointment {} was rebooked, leaving it cancelled", time, id);
+                    continue;
+                }
+                restoredIds.add(id);
+                times.add(time);
+            }
+            restoredTimes.add(times);
         }
 
-        appointmentRepository.saveAll(appointments);
-        log.info("COMPENSATION SUCCESS: Restored {} appointments to SCHEDULED", appointments.size());
+        List<DoctorDateCount> result = new ArrayList<>(pairs.size());
+        if (restoredIds.isEmpty()) {
+            log.info("No cancelled appointments found to restore for {} doctor-days", pairs.size());
+            pairs.forEach(pair -> result.add(new DoctorDateCount(pair.getDoctorId(), pair.getDate(), 0)));
+            return result;
+        }
 
-        return appointments.size();
+        appointmentRepository.restoreCancelled(restoredIds, Instant.now(), currentAuditor(),
+                AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+        log.info("COMPENSATION SUCCESS: Restored {} appointments to SCHEDULED across {} doctor-days",
+                restoredIds.size(), pairs.size());
+
+        for (int i = 0; i < pairs.size(); i++) {
+            String doctorId = pairs.get(i).getDoctorId();
+            LocalDate date = pairs.get(i).getDate();
+            List<Instant> times = restoredTimes.get(i);
+            result.add(new DoctorDateCount(doctorId, date, times.size()));
+            if (!times.isEmpty()) {
+                times.forEach(time -> slotIndex.bookAfterCommit(doctorId, time));
+                slotDeltaPublisher.ifAvailable(publisher -> publisher.booked(doctorId, date, slotLabels(times, zoneId)));
+            }
+        }
+        return result;
     }
 
     /**
@@ -253,7 +484,13 @@ public class AppointmentService {
         appointment.setCancelReason(reason);
 
         appointment = appointmentRepository.save(appointment);
+        slotReservationService.release(appointment.getDoctorId(), appointment.getAppointmentTime());
         log.info("Cancelled appointment {} with reason: {}", id, reason);
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
+        Appointment cancelled = appointment;
+        slotIndex.releaseAfterCommit(cancelled.getDoctorId(), cancelled.getAppointmentTime());
+        slotDeltaPublisher.ifAvailable(publisher -> publisher.released(cancelled.getDoctorId(),
+                cancelled.getAppointmentTime().atZone(zoneId).toLocalDate(), slotTimes(List.of(cancelled), zoneId)));
 
         return appointment;
     }
@@ -301,6 +538,7 @@ public class AppointmentService {
      * @param pageable  Pagination parameters
      * @return PageResponse of appointments for this patient
      */
+    @Transactional(readOnly = true)
     public PageResponse<AppointmentResponse> getByPatientId(
             String patientId, org.springframework.data.domain.Pageable pageable) {
         log.debug("Getting appointments for patient: {}", patientId);
@@ -323,10 +561,11 @@ public class AppointmentService {
      * @param endDate   End date for stats period
      * @return Pre-aggregated appointment statistics
      */
+    @Transactional(readOnly = true)
     public AppointmentStatsResponse getStats(LocalDate startDate, LocalDate endDate) {
         log.info("Generating appointment statistics from {} to {}", startDate, endDate);
         
-        ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
+        ZoneId zoneId = SlotIndex.CLINIC_ZONE;
         Instant startInstant = startDate.atStartOfDay(zoneId).toInstant();
         Instant endInstant = endDate.plusDays(1).atStartOfDay(zoneId).toInstant();
         
@@ -405,6 +644,26 @@ public class AppointmentService {
                 .generatedAt(Instant.now())
                 .build();
     }
-}
 
+    /**
+     * Slot labels (HH:mm) of the given appointments, as returned by getAvailableSlots.
+     */
+    private static List<String> slotLabels(List<Instant> times, ZoneId zoneId) {
+        return times.stream()
+                .map(time -> slotLabel(time.atZone(zoneId).toLocalTime()))
+                .toList();
+    }
 
+    /**
+     * Bulk updates bypass the auditing entity listener, so they set updatedBy themselves.
+     */
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    private static List<String> slotTimes(List<Appointment> appointments, ZoneId zoneId) {
+        return appointments.stream()
+                .map(a -> slotLabel(a.getAppointmentTime().atZone(zoneId).toLocalTime()))
+                .toList();
+    }
+}
@@ -0,0 +1,180 @@
+package com.hms.appointment_service.services;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.entities.SlotReservation;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.repositories.SlotReservationRepository;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Claims and frees doctor slots in the slot_reservation table.
+ * <p>
+ * A claim is a plain insert guarded by the (doctor_id, slot_start) unique key, so two requests racing for
+ * the same slot are serialized by the database on that one key and the loser gets APPOINTMENT_CONFLICT (409);
+ * bookings of other slots never wait on each other. Inserts and takeovers run in their own transaction so a failed
+ * claim does not mark the caller's transaction rollback-only. Because the claim commits before the caller does,
+ * it is deleted again when the caller's transaction rolls back.
+ * <p>
+ * A reservation older than {@link #CLAIM_GRACE} is stale when its appointment never got saved (no appointmentId)
+ * or was cancelled or deleted without the reservation being freed. Stale reservations are taken over by
+ * the next claim instead of blocking the slot forever.
+ */
+@Service
+@Slf4j
+public class SlotReservationService {
+
+    static final Duration CLAIM_GRACE = Duration.ofMinutes(2);
+
+    private final SlotReservationRepository reservationRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate newTransaction;
+
+    public SlotReservationService(
+            SlotReservationRepository reservationRepository,
+            AppointmentRepository appointmentRepository,
+            PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Claim a slot for an appointment that is about to be created; link it with {@link #link} once saved.
+     *
+     * @throws ApiException APPOINTMENT_CONFLICT if the slot is held by an active appointment
+     */
+    public SlotReservation claim(String doctorId, Instant slotStart) {
+        return claim(doctorId, slotStart, null);
+    }
+
+    /**
+     * Claim a slot for an existing appointment (restore, backfill).
+     *
+     * @throws ApiException APPOINTMENT_CONFLICT if the slot is held by another active appointment
+     */
+    public SlotReservation claim(String doctorId, Instant slotStart, String appointmentId) {
+        try {
+            return insert(doctorId, slotStart, appointmentId);
+        } catch (DataIntegrityViolationException e) {
+            SlotReservation holder = reservationRepository.findByDoctorIdAndSlotStart(doctorId, slotStart).orElse(null);
+            if (holder != null && appointmentId != null && appointmentId.equals(holder.getAppointmentId())) {
+                return holder;
+            }
+            if (holder == null || (isStale(holder) && deleteStale(holder))) {
+                try {
+                    return insert(doctorId, slotStart, appointmentId);
+                } catch (DataIntegrityViolationException retry) {
+                    // Lost the takeover to a concurrent booking
+                }
+            }
+            throw new ApiException(ErrorCode.APPOINTMENT_CONFLICT, "This time slot is already booked");
+        }
+    }
+
+    public void link(SlotReservation reservation, String appointmentId) {
+        reservationRepository.link(reservation.getId(), appointmentId);
+    }
+
+    public void release(String doctorId, Instant slotStart) {
+        releaseAll(doctorId, List.of(slotStart));
+    }
+
+    public void releaseAll(String doctorId, Collection<Instant> slotStarts) {
+        if (!slotStarts.isEmpty()) {
+            reservationRepository.deleteByDoctorIdAndSlotStartIn(doctorId, slotStarts);
+        }
+    }
+
+    /**
+     * Reserve the slots of active future appointments booked before the table existed.
+     * Slots already double-booked are logged and left to the first appointment that claimed them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Appointment> unreserved = appointmentRepository.findUnreservedFrom(Instant.now(), AppointmentStatus.CANCELLED);
+        int claimed = 0;
+        for (Appointment appointment : unreserved) {
+            try {
+                claim(appointment.getDoctorId(), appointment.getAppointmentTime(), appointment.getId());
+                claimed++;
+            } catch (ApiException e) {
+                log.warn("Appointment {} shares slot {} of doctor {} with another appointment",
+                        appointment.getId(), appointment.getAppointmentTime(), appointment.getDoctorId());
+            }
+        }
+        if (claimed > 0) {
+            log.info("Backfilled {} slot reservations", claimed);
+        }
+    }
+
+    private SlotReservation insert(String doctorId, Instant slotStart, String appointmentId) {
+        SlotReservation reservation = new SlotReservation();
+        reservation.setDoctorId(doctorId);
+        reservation.setSlotStart(slotStart);
+        reservation.setAppointmentId(appointmentId);
+        reservation.setCreatedAt(Instant.now());
+        SlotReservation saved = newTransaction.execute(status -> reservationRepository.saveAndFlush(reservation));
+        releaseOnRollback(saved);
+        return saved;
+    }
+
+    /**
+     * Free the claim if the booking or reschedule that made it rolls back. A failed delete leaves the
+     * unlinked claim to be taken over once stale.
+     */
+    private void releaseOnRollback(SlotReservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    newTransaction.executeWithoutResult(tx -> reservationRepository.deleteById(reservation.getId()));
+                } catch (Exception e) {
+                    log.warn("Failed to free slot {} of doctor {} after rollback: {}",
+                            reservation.getSlotStart(), reservation.getDoctorId(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    private boolean deleteStale(SlotReservation holder) {
+        Integer deleted = newTransaction.execute(status ->
+                reservationRepository.deleteStale(holder.getId(), holder.getAppointmentId()));
+        return deleted != null && deleted == 1;
+    }
+
+    /**
+     * The grace period also covers linked claims: a restore claims the slot before its own transaction
+     * flips the appointment back from CANCELLED.
+     */
+    private boolean isStale(SlotReservation reservation) {
+        if (!reservation.getCreatedAt().isBefore(Instant.now().minus(CLAIM_GRACE))) {
+            return false;
+        }
+        return reservation.getAppointmentId() == null
+                || !appointmentRepository.existsByIdAndStatusNot(reservation.getAppointmentId(), AppointmentStatus.CANCELLED);
+    }
+}
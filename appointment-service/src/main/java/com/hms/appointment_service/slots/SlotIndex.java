@@ -0,0 +1,182 @@
+package com.hms.appointment_service.slots;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Booked 30-minute slots per doctor-day, so slot queries do not scan the day's appointments.
+ * <p>
+ * A day fits in one {@code long}: bit {@code i} is the slot starting {@code i * 30} minutes after
+ * clinic-local midnight (48 slots). Only appointments starting on a slot boundary are indexed,
+ * the same ones the HH:mm comparison of the original slot query matched. CANCELLED appointments
+ * free their slot; COMPLETED ones keep it.
+ * <p>
+ * Covers today onwards: rebuilt from the database at startup, then maintained by the booking,
+ * cancel and schedule-change paths of this instance and by the slot deltas of other instances
+ * ({@link SlotIndexSync}). Earlier dates are not indexed and callers fall back to the database.
+ * Changes made inside a transaction go through {@link #bookAfterCommit}/{@link #releaseAfterCommit}, so a
+ * rollback never leaves the index out of step with the table.
+ */
+@Component
+@Slf4j
+public class SlotIndex {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final ZoneId CLINIC_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+
+    private final AppointmentRepository appointmentRepository;
+    private final Map<DayKey, Long> days = new ConcurrentHashMap<>();
+
+    /**
+     * First indexed date; null until the startup rebuild finished.
+     */
+    private volatile LocalDate horizon;
+
+    public SlotIndex(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now(CLINIC_ZONE);
+        long started = System.nanoTime();
+        int count = 0;
+        for (Object[] row : appointmentRepository.findDoctorTimesFrom(
+                today.atStartOfDay(CLINIC_ZONE).toInstant(), AppointmentStatus.CANCELLED)) {
+            book((String) row[0], (Instant) row[1]);
+            count++;
+        }
+        horizon = today;
+        log.info("Slot index built from {} appointments ({} doctor-days) in {} ms",
+                count, days.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return booked-slot bits of the doctor-day, or empty if the date is not indexed
+     */
+    public OptionalLong bookedSlots(String doctorId, LocalDate date) {
+        LocalDate first = horizon;
+        if (first == null) {
+            return OptionalLong.empty();
+        }
+        LocalDate today = LocalDate.now(CLINIC_ZONE);
+        if (first.isBefore(today)) {
+            advanceHorizon(today);
+            first = today;
+        }
+        if (date.isBefore(first)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(days.getOrDefault(new DayKey(doctorId, date), 0L));
+    }
+
+    public void book(String doctorId, Instant appointmentTime) {
+        ZonedDateTime local = appointmentTime.atZone(CLINIC_ZONE);
+        book(doctorId, local.toLocalDate(), local.toLocalTime());
+    }
+
+    public void book(String doctorId, LocalDate date, LocalTime time) {
+        long bit = bit(time);
+        if (bit != 0) {
+            days.merge(new DayKey(doctorId, date), bit, (current, added) -> current | added);
+        }
+    }
+
+    /**
+     * Book once the current transaction commits, or right away outside one.
+     */
+    public void bookAfterCommit(String doctorId, Instant appointmentTime) {
+        afterCommit(() -> book(doctorId, appointmentTime));
+    }
+
+    public void release(String doctorId, Instant appointmentTime) {
+        ZonedDateTime local = appointmentTime.atZone(CLINIC_ZONE);
+        release(doctorId, local.toLocalDate(), local.toLocalTime());
+    }
+
+    public void release(String doctorId, LocalDate date, LocalTime time) {
+        long bit = bit(time);
+        if (bit != 0) {
+            // Returning null removes empty days
+            days.computeIfPresent(new DayKey(doctorId, date), (key, current) -> (current & ~bit) == 0 ? null : current & ~bit);
+        }
+    }
+
+    /**
+     * Release once the current transaction commits, or right away outside one.
+     */
+    public void releaseAfterCommit(String doctorId, Instant appointmentTime) {
+        afterCommit(() -> release(doctorId, appointmentTime));
+    }
+
+    /**
+     * Re-reads one doctor-day from the database, for changes the index cannot apply as a delta.
+     */
+    public void reload(String doctorId, LocalDate date) {
+        long mask = 0;
+        for (Instant time : appointmentRepository.findTimesByDoctorIdInRange(doctorId,
+                date.atStartOfDay(CLINIC_ZONE).toInstant(),
+                date.plusDays(1).atStartOfDay(CLINIC_ZONE).toInstant(),
+                AppointmentStatus.CANCELLED)) {
+            mask |= bit(time.atZone(CLINIC_ZONE).toLocalTime());
+        }
+        DayKey key = new DayKey(doctorId, date);
+        if (mask == 0) {
+            days.remove(key);
+        } else {
+            days.put(key, mask);
+        }
+    }
+
+    public static boolean isBooked(long bookedSlots, LocalTime time) {
+        return (bookedSlots & bit(time)) != 0;
+    }
+
+    /**
+     * Single-bit mask of the slot starting at {@code time}; 0 if it is not on a slot boundary.
+     */
+    static long bit(LocalTime time) {
+        if (time.getMinute() % SLOT_MINUTES != 0) {
+            return 0;
+        }
+        return 1L << ((time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void advanceHorizon(LocalDate today) {
+        if (horizon.isBefore(today)) {
+            days.keySet().removeIf(key -> key.date().isBefore(today));
+            horizon = today;
+        }
+    }
+
+    private record DayKey(String doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.hms.appointment_service.slots;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.appointment_service.replica.HrReplicaSync;
+import com.hms.common.slots.SlotDelta;
+import com.hms.common.slots.SlotEventsProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.LocalTime;
+
+/**
+ * Applies the slot deltas of all appointment-service instances (and schedule changes from
+ * hr-service) to this instance's {@link SlotIndex} and HR replica. Deltas of this instance come back too; set
+ * and clear are idempotent and Redis keeps one publisher's order, so that is harmless.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hms.slot-events", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class SlotIndexSync implements MessageListener {
+
+    private final SlotIndex slotIndex;
+    private final HrReplicaSync hrReplicaSync;
+    private final ObjectMapper objectMapper;
+
+    public SlotIndexSync(SlotIndex slotIndex, HrReplicaSync hrReplicaSync, ObjectMapper objectMapper) {
+        this.slotIndex = slotIndex;
+        this.hrReplicaSync = hrReplicaSync;
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer slotDeltaListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    SlotEventsProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new PatternTopic(properties.getChannelPrefix() + "*"));
+        return container;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            SlotDelta delta = objectMapper.readValue(message.getBody(), SlotDelta.class);
+            switch (delta.type()) {
+                case BOOKED -> delta.times().forEach(time ->
+                        slotIndex.book(delta.doctorId(), delta.date(), LocalTime.parse(time)));
+                case RELEASED -> delta.times().forEach(time ->
+                        slotIndex.release(delta.doctorId(), delta.date(), LocalTime.parse(time)));
+                case INVALIDATED -> {
+                    // Schedule changed in hr-service: refresh the local HR replica as well
+                    slotIndex.reload(delta.doctorId(), delta.date());
+                    hrReplicaSync.invalidate(delta.doctorId(), delta.date());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring slot delta: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Schema as Hibernate (ddl-auto: update) created it before migrations were introduced.
+-- Existing databases are baselined at version 1 and skip this script (spring.flyway.baseline-on-migrate);
+-- everything added since then lives in later versions, so it is applied to them as well.
+
+CREATE TABLE IF NOT EXISTS appointment (
+    id                VARCHAR(255) NOT NULL,
+    patient_id        VARCHAR(255),
+    patient_name      VARCHAR(255),
+    doctor_id         VARCHAR(255),
+    doctor_name       VARCHAR(255),
+    doctor_department VARCHAR(255),
+    appointment_time  DATETIME(6),
+    status            TINYINT CHECK (status BETWEEN 0 AND 3),
+    type              ENUM ('CONSULTATION', 'EMERGENCY', 'FOLLOW_UP'),
+    reason            VARCHAR(255),
+    notes             VARCHAR(255),
+    cancelled_at      DATETIME(6),
+    cancel_reason     VARCHAR(255),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    created_by        VARCHAR(255),
+    updated_by        VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,11 @@
+-- Branch partition key (Appointment.branchId, Hibernate @TenantId).
+-- Databases that ran with ddl-auto: update after branches were introduced already have it, hence the guard.
+SET @add_branch = (
+    SELECT IF(COUNT(*) = 0, 'ALTER TABLE appointment ADD COLUMN branch_id VARCHAR(36) AFTER id', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name = 'appointment'
+      AND column_name = 'branch_id');
+PREPARE add_branch FROM @add_branch;
+EXECUTE add_branch;
+DEALLOCATE PREPARE add_branch;
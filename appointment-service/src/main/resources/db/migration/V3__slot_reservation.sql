@@ -0,0 +1,11 @@
+-- Slot claims (SlotReservation): the unique key serializes concurrent bookings of one doctor slot.
+CREATE TABLE IF NOT EXISTS slot_reservation (
+    id             VARCHAR(255) NOT NULL,
+    doctor_id      VARCHAR(255) NOT NULL,
+    slot_start     DATETIME(6)  NOT NULL,
+    appointment_id VARCHAR(255),
+    created_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_slot_reservation_doctor_slot UNIQUE (doctor_id, slot_start),
+    INDEX idx_slot_reservation_appointment (appointment_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,41 @@
+-- Local read model of hr-service employees and schedules (HrReplicaSync).
+
+CREATE TABLE IF NOT EXISTS hr_employee_replica (
+    id              VARCHAR(255) NOT NULL,
+    full_name       VARCHAR(255),
+    role            VARCHAR(255),
+    department_id   VARCHAR(255),
+    department_name VARCHAR(255),
+    synced_at       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS hr_schedule_replica (
+    id          VARCHAR(255) NOT NULL,
+    branch_id   VARCHAR(36),
+    employee_id VARCHAR(255),
+    work_date   DATE,
+    start_time  TIME(6),
+    end_time    TIME(6),
+    status      VARCHAR(255),
+    updated_at  DATETIME(6),
+    synced_at   DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_schedule_replica_employee_date (employee_id, work_date),
+    INDEX idx_schedule_replica_date (work_date)
+) ENGINE = InnoDB;
+
+-- Tables created by ddl-auto: update predate the branch column
+SET @add_branch = (
+    SELECT IF(COUNT(*) = 0, 'ALTER TABLE hr_schedule_replica ADD COLUMN branch_id VARCHAR(36) AFTER id', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name = 'hr_schedule_replica'
+      AND column_name = 'branch_id');
+PREPARE add_branch FROM @add_branch;
+EXECUTE add_branch;
+DEALLOCATE PREPARE add_branch;
+
+-- The replica is a cache: drop rows copied without a branch, the next full snapshot reloads them.
+-- branch_id is not updatable, so the sync would never fill it in on existing rows.
+DELETE FROM hr_schedule_replica WHERE branch_id IS NULL;
@@ -0,0 +1,26 @@
+-- Covering indexes for the hot appointment queries. branch_id is the last column so both branch
+-- sessions (Hibernate adds branch_id = ?) and root sessions (no branch predicate) stay index-only.
+
+-- Doctor-day lookups: slot index reload, booked times, overlap check, batch counts, range availability
+CREATE INDEX idx_appointment_doctor_time_status
+    ON appointment (doctor_id, appointment_time, status, branch_id);
+
+-- Patient history page (ordered by appointment time) and its count
+CREATE INDEX idx_appointment_patient_time
+    ON appointment (patient_id, appointment_time, branch_id);
+
+-- Report aggregates over a date range: counts by status, type, department and day
+CREATE INDEX idx_appointment_time_stats
+    ON appointment (appointment_time, status, type, doctor_department, branch_id);
+
+-- Superseded by idx_appointment_doctor_time_status, which also serves root sessions and covers status.
+-- Databases that predate it never had it, hence the guard.
+SET @drop_superseded = (
+    SELECT IF(COUNT(*) > 0, 'DROP INDEX idx_appointment_branch_doctor_time ON appointment', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'appointment'
+      AND index_name = 'idx_appointment_branch_doctor_time');
+PREPARE drop_superseded FROM @drop_superseded;
+EXECUTE drop_superseded;
+DEALLOCATE PREPARE drop_superseded;
@@ -15,6 +15,8 @@ import org.springframework.test.context.ActiveProfiles;
         "spring.datasource.username=sa",
         "spring.datasource.password=",
         "spring.jpa.hibernate.ddl-auto=create-drop",
+        // Migrations are MySQL-specific; H2 schema comes from Hibernate
+        "spring.flyway.enabled=false",
         "spring.jpa.show-sql=true",
         "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
 })
@@ -0,0 +1,85 @@
+package com.hms.appointment_service.hooks;
+
+import com.hms.appointment_service.clients.HrClient;
+import com.hms.appointment_service.clients.PatientClient;
+import com.hms.appointment_service.dtos.appointment.AppointmentRequest;
+import com.hms.appointment_service.replica.HrDirectory;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.services.SlotReservationService;
+import com.hms.appointment_service.slots.SlotIndex;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentHookTest {
+
+    private final PatientClient patientClient = mock(PatientClient.class);
+    private final HrDirectory hrDirectory = mock(HrDirectory.class);
+    private AppointmentHook hook;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        hook = new AppointmentHook(mock(HrClient.class), patientClient, mock(AppointmentRepository.class),
+                mock(ObjectProvider.class), mock(SlotIndex.class), mock(SlotReservationService.class), hrDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hook.shutdownLookups();
+    }
+
+    @Test
+    @DisplayName("Validate Create: the first failing check should decide the error, even if a later lookup failed first")
+    void firstFailingCheckDecidesTheError() throws Exception {
+        CountDownLatch scheduleInterrupted = new CountDownLatch(1);
+        when(patientClient.getPatientById("patient-1")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ApiResponse.ok(null);
+        });
+        when(hrDirectory.getEmployeeById("doctor-1")).thenThrow(new IllegalStateException("hr-service unavailable"));
+        when(hrDirectory.getScheduleByDoctorAndDate(eq("doctor-1"), any())).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                scheduleInterrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+
+        ApiException e = assertThrows(ApiException.class, () -> hook.validateCreate(request(), new HashMap<>()));
+
+        assertEquals(ErrorCode.RESOURCE_NOT_FOUND, e.getErrorCode());
+        assertEquals("Patient not found", e.getMessage());
+        // The lookup still running is interrupted, not left to finish in the background
+        assertTrue(scheduleInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static AppointmentRequest request() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientId("patient-1");
+        request.setDoctorId("doctor-1");
+        request.setAppointmentTime(Instant.now().plus(1, ChronoUnit.DAYS).toString());
+        return request;
+    }
+}
@@ -0,0 +1,272 @@
+package com.hms.appointment_service.repositories;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.slots.SlotIndex;
+import com.hms.common.configs.BranchConfig;
+import com.hms.common.configs.DataSourceProxyConfig;
+import com.hms.common.securities.UserContext;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the Flyway schema serves the hot appointment queries from indexes.
+ * Calls the AppointmentRepository methods behind getStats, getAvailableSlots and getByPatientId in a
+ * branch session and a root session, and runs EXPLAIN on the SQL Hibernate sent, with the same parameters.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = AppointmentQueryPlanTest.Config.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class AppointmentQueryPlanTest {
+
+    private static final int DOCTORS = 40;
+    private static final int PATIENTS = 400;
+    private static final int APPOINTMENTS = 8000;
+    private static final Instant BASE = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.4");
+
+    private static boolean seeded;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCapture capture;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            rows.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    i % 3 == 0 ? "north" : "main",
+                    "patient-" + (i % PATIENTS),
+                    "doctor-" + (i % DOCTORS),
+                    "dept-" + (i % 5),
+                    Timestamp.from(BASE.plus(i * 30L, ChronoUnit.MINUTES)),
+                    i % 4,
+                    i % 2 == 0 ? "CONSULTATION" : "FOLLOW_UP"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO appointment (id, branch_id, patient_id, doctor_id, doctor_department, appointment_time, status, type) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE appointment");
+        seeded = true;
+    }
+
+    @AfterEach
+    void clearUser() {
+        UserContext.clear();
+    }
+
+    @Test
+    void statsAggregatesAreIndexOnly() {
+        Instant start = Instant.parse("2030-01-10T00:00:00Z");
+        Instant end = Instant.parse("2030-01-17T00:00:00Z");
+        List<Plan> plans = plansInBranchAndRootSessions(() -> {
+            appointmentRepository.countInDateRange(start, end);
+            appointmentRepository.countByStatusInDateRange(start, end);
+            appointmentRepository.countByTypeInDateRange(start, end);
+            appointmentRepository.countByDepartmentInDateRange(start, end);
+            appointmentRepository.countByDateInDateRange(start, end);
+        });
+
+        assertEquals(10, plans.size());
+        for (Plan plan : plans) {
+            assertEquals("idx_appointment_time_stats", plan.key(), plan.sql());
+            assertTrue(plan.indexOnly(), plan.sql() + " -> " + plan.extra());
+        }
+    }
+
+    @Test
+    void bookedSlotLookupsAreIndexOnly() {
+        Instant day = Instant.parse("2030-01-20T00:00:00Z");
+        List<String> doctorIds = List.of("doctor-1", "doctor-2", "doctor-3");
+        List<Plan> plans = plansInBranchAndRootSessions(() -> {
+            appointmentRepository.findTimesByDoctorIdInRange(
+                    "doctor-7", day, day.plus(1, ChronoUnit.DAYS), AppointmentStatus.CANCELLED);
+            appointmentRepository.findDoctorTimesByDoctorIdsInRangeExcluding(
+                    doctorIds, day, day.plus(31, ChronoUnit.DAYS), AppointmentStatus.CANCELLED);
+            appointmentRepository.countByDoctorIdInRange(
+                    "doctor-7", day, day.plus(1, ChronoUnit.DAYS), AppointmentStatus.SCHEDULED);
+            appointmentRepository.countByDoctorIdsAndDays(
+                    doctorIds, List.of(LocalDate.of(2030, 1, 20), LocalDate.of(2030, 1, 21)),
+                    SlotIndex.CLINIC_ZONE, AppointmentStatus.SCHEDULED);
+        });
+
+        assertEquals(8, plans.size());
+        for (Plan plan : plans) {
+            assertEquals("idx_appointment_doctor_time_status", plan.key(), plan.sql());
+            assertTrue(plan.indexOnly(), plan.sql() + " -> " + plan.extra());
+        }
+    }
+
+    @Test
+    void patientHistoryUsesThePatientIndexWithoutSorting() {
+        // Page smaller than the patient's history, so Spring Data also runs the count query
+        PageRequest page = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "appointmentTime"));
+        List<Plan> plans = plansInBranchAndRootSessions(
+                () -> appointmentRepository.findByPatientId("patient-12", page));
+
+        assertEquals(4, plans.size());
+        for (Plan plan : plans) {
+            assertEquals("idx_appointment_patient_time", plan.key(), plan.sql());
+            assertFalse(plan.extra().contains("Using filesort"), plan.sql() + " -> " + plan.extra());
+            if (plan.sql().startsWith("select count")) {
+                assertTrue(plan.indexOnly(), plan.sql() + " -> " + plan.extra());
+            }
+        }
+    }
+
+    /**
+     * Runs the calls as a user of branch "main", then as root (no branch), and explains every statement they sent.
+     */
+    private List<Plan> plansInBranchAndRootSessions(Runnable calls) {
+        List<Plan> plans = new ArrayList<>();
+        for (String branch : Arrays.asList("main", null)) {
+            UserContext.User user = new UserContext.User();
+            user.setId("query-plan-test");
+            user.setBranchId(branch);
+            UserContext.setUser(user);
+
+            capture.clear();
+            calls.run();
+            for (Captured statement : capture.statements()) {
+                // Branch sessions filter on branch_id, root sessions do not
+                assertEquals(branch != null, statement.sql().contains("branch_id=?"), statement.sql());
+                plans.add(explain(statement));
+            }
+        }
+        return plans;
+    }
+
+    private Plan explain(Captured statement) {
+        List<Plan> plans = jdbcTemplate.query("EXPLAIN " + statement.sql(),
+                ps -> {
+                    for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                        ps.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                },
+                (rows, rowNum) -> {
+                    String extra = rows.getString("Extra");
+                    return new Plan(statement.sql(), rows.getString("key"), extra == null ? "" : extra);
+                });
+        assertEquals(1, plans.size(), statement.sql());
+        return plans.getFirst();
+    }
+
+    private record Plan(String sql, String key, String extra) {
+        boolean indexOnly() {
+            return extra.contains("Using index") && !extra.contains("Using index condition");
+        }
+    }
+
+    private record Captured(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Records the SQL and bound parameters of every statement sent through the proxied dataSource.
+     */
+    static class StatementCapture implements QueryExecutionListener {
+
+        private final List<Captured> statements = new CopyOnWriteArrayList<>();
+
+        List<Captured> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                Map<Integer, Object> parameters = new TreeMap<>();
+                for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                    for (ParameterSetOperation operation : operations) {
+                        Object[] args = operation.getArgs();
+                        parameters.put((Integer) args[0], args[1]);
+                    }
+                }
+                statements.add(new Captured(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = Appointment.class)
+    @EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+    @Import({BranchConfig.class, DataSourceProxyConfig.class})
+    static class Config {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+}
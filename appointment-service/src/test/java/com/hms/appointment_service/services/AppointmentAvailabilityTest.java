@@ -0,0 +1,102 @@
+package com.hms.appointment_service.services;
+
+import com.hms.appointment_service.clients.HrClient;
+import com.hms.appointment_service.dtos.appointment.AvailableSlotResponse;
+import com.hms.appointment_service.replica.HrDirectory;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.slots.SlotIndex;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentAvailabilityTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now(SlotIndex.CLINIC_ZONE).plusDays(1);
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final HrDirectory hrDirectory = mock(HrDirectory.class);
+    private AppointmentService appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentService = new AppointmentService(appointmentRepository, hrDirectory, null, null,
+                mock(SlotIndex.class), mock(SlotReservationService.class), null);
+    }
+
+    @Test
+    @DisplayName("Availability: free slots of every doctor-day should be merged by start time, then doctor name")
+    void mergesFreeSlotsAcrossDoctorsAndDays() {
+        when(hrDirectory.getDoctorSchedules(TOMORROW, TOMORROW.plusDays(1), "dept-1")).thenReturn(List.of(
+                schedule("bob", "Bob", TOMORROW, LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                schedule("bob", "Bob", TOMORROW.plusDays(1), LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                schedule("alice", "Alice", TOMORROW, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        when(appointmentRepository.findDoctorTimesByDoctorIdsInRangeExcluding(anyCollection(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"bob", instant(TOMORROW, LocalTime.of(9, 30))}));
+
+        List<AvailableSlotResponse> slots = appointmentService.findAvailability("dept-1", TOMORROW, TOMORROW.plusDays(1), 100);
+
+        assertEquals(List.of(
+                        "Alice " + TOMORROW + " 09:00",
+                        "Bob " + TOMORROW + " 09:00",
+                        "Alice " + TOMORROW + " 09:30",
+                        "Bob " + TOMORROW + " 10:00",
+                        "Bob " + TOMORROW.plusDays(1) + " 08:00",
+                        "Bob " + TOMORROW.plusDays(1) + " 08:30"),
+                slots.stream().map(slot -> slot.getDoctorName() + " " + slot.getDate() + " " + slot.getTime()).toList());
+        assertEquals(instant(TOMORROW, LocalTime.of(9, 0)), slots.getFirst().getStartsAt());
+        assertEquals("Cardiology", slots.getFirst().getDepartmentName());
+        // Booked slots of all doctors in the range come from one query
+        verify(appointmentRepository, times(1))
+                .findDoctorTimesByDoctorIdsInRangeExcluding(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Availability: the earliest slots should be kept when the limit cuts the result")
+    void limitKeepsTheEarliestSlots() {
+        when(hrDirectory.getDoctorSchedules(TOMORROW, TOMORROW, null)).thenReturn(List.of(
+                schedule("bob", "Bob", TOMORROW, LocalTime.of(14, 0), LocalTime.of(16, 0)),
+                schedule("alice", "Alice", TOMORROW, LocalTime.of(8, 0), LocalTime.of(9, 0))));
+        when(appointmentRepository.findDoctorTimesByDoctorIdsInRangeExcluding(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        List<AvailableSlotResponse> slots = appointmentService.findAvailability(null, TOMORROW, TOMORROW, 3);
+
+        assertEquals(List.of("08:00", "08:30", "14:00"), slots.stream().map(AvailableSlotResponse::getTime).toList());
+    }
+
+    @Test
+    @DisplayName("Availability: ranges longer than 31 days should be rejected before calling hr-service")
+    void rejectsTooLongRanges() {
+        ApiException e = assertThrows(ApiException.class,
+                () -> appointmentService.findAvailability(null, TOMORROW, TOMORROW.plusDays(31), 10));
+
+        assertEquals(ErrorCode.VALIDATION_ERROR, e.getErrorCode());
+        verify(hrDirectory, times(0)).getDoctorSchedules(any(), any(), any());
+    }
+
+    private static HrClient.DoctorScheduleInfo schedule(String doctorId, String name, LocalDate date,
+                                                       LocalTime start, LocalTime end) {
+        return new HrClient.DoctorScheduleInfo(doctorId + "-" + date, doctorId, date, start, end, "AVAILABLE",
+                new HrClient.ScheduleEmployee(doctorId, name, new HrClient.ScheduleDepartment("dept-1", "Cardiology")));
+    }
+
+    private static Instant instant(LocalDate date, LocalTime time) {
+        return date.atTime(time).atZone(SlotIndex.CLINIC_ZONE).toInstant();
+    }
+}
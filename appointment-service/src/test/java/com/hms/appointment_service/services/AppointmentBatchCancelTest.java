@@ -0,0 +1,138 @@
+package com.hms.appointment_service.services;
+
+import com.hms.appointment_service.constants.AppointmentStatus;
+import com.hms.appointment_service.dtos.appointment.DoctorDateCount;
+import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.entities.SlotReservation;
+import com.hms.appointment_service.replica.HrDirectory;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.appointment_service.repositories.SlotReservationRepository;
+import com.hms.appointment_service.slots.SlotIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Batch cancel used by hr-service's multi-schedule cancel: counts per (doctorId, date) pair, and only the
+ * slots of the appointments it cancelled are freed.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment_services_db;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = ServiceTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentBatchCancelTest {
+
+    private static final LocalDate DAY = LocalDate.now(SlotIndex.CLINIC_ZONE).plusDays(7);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private SlotReservationRepository reservationRepository;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SlotIndex slotIndex;
+    private AppointmentService appointmentService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reservationRepository.deleteAll();
+        appointmentRepository.deleteAll();
+
+        book("d1", DAY, LocalTime.of(9, 0), AppointmentStatus.SCHEDULED);
+        book("d1", DAY, LocalTime.of(9, 30), AppointmentStatus.SCHEDULED);
+        book("d1", DAY, LocalTime.of(10, 0), AppointmentStatus.COMPLETED);
+        book("d1", DAY.plusDays(1), LocalTime.of(9, 0), AppointmentStatus.SCHEDULED);
+        book("d2", DAY, LocalTime.of(11, 0), AppointmentStatus.SCHEDULED);
+
+        slotIndex = new SlotIndex(appointmentRepository);
+        slotIndex.rebuild();
+        appointmentService = new AppointmentService(appointmentRepository, mock(HrDirectory.class), null,
+                mock(ObjectProvider.class), slotIndex, slotReservationService, () -> Optional.of("hr-service"));
+    }
+
+    @Test
+    @DisplayName("Batch Cancel: counts should come back per pair, in request order")
+    void countsPerPair() {
+        List<DoctorDateCount> result = cancel(List.of(
+                new DoctorDateCount("d1", DAY, null),
+                new DoctorDateCount("d3", DAY, null),
+                new DoctorDateCount("d2", DAY, null)));
+
+        assertEquals(List.of("d1 2", "d3 0", "d2 1"),
+                result.stream().map(pair -> pair.getDoctorId() + " " + pair.getCount()).toList());
+        assertEquals(3, appointmentRepository.findAll().stream()
+                .filter(appointment -> appointment.getStatus() == AppointmentStatus.CANCELLED)
+                .count());
+    }
+
+    @Test
+    @DisplayName("Batch Cancel: only the cancelled appointments' slots should be freed, in the table and the index")
+    void freesExactlyTheCancelledSlots() {
+        cancel(List.of(new DoctorDateCount("d1", DAY, null), new DoctorDateCount("d2", DAY, null)));
+
+        assertEquals(List.of("d1 " + DAY + " 10:00", "d1 " + DAY.plusDays(1) + " 09:00"),
+                reservationRepository.findAll().stream()
+                        .map(reservation -> reservation.getDoctorId() + " " + label(reservation))
+                        .sorted()
+                        .toList());
+
+        long d1 = slotIndex.bookedSlots("d1", DAY).orElseThrow();
+        assertFalse(SlotIndex.isBooked(d1, LocalTime.of(9, 0)));
+        assertFalse(SlotIndex.isBooked(d1, LocalTime.of(9, 30)));
+        // COMPLETED appointments keep their slot
+        assertTrue(SlotIndex.isBooked(d1, LocalTime.of(10, 0)));
+        assertTrue(SlotIndex.isBooked(slotIndex.bookedSlots("d1", DAY.plusDays(1)).orElseThrow(), LocalTime.of(9, 0)));
+        assertEquals(0L, slotIndex.bookedSlots("d2", DAY).orElseThrow());
+    }
+
+    private List<DoctorDateCount> cancel(List<DoctorDateCount> pairs) {
+        // cancelByDoctorAndDates is @Transactional; the service is not a proxy here
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> appointmentService.cancelByDoctorAndDates(pairs, "Doctor on leave"));
+    }
+
+    private void book(String doctorId, LocalDate date, LocalTime time, AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.setPatientId("patient-1");
+        appointment.setDoctorId(doctorId);
+        appointment.setAppointmentTime(date.atTime(time).atZone(SlotIndex.CLINIC_ZONE).toInstant());
+        appointment.setStatus(status);
+        appointment = appointmentRepository.saveAndFlush(appointment);
+        slotReservationService.claim(doctorId, appointment.getAppointmentTime(), appointment.getId());
+    }
+
+    private static String label(SlotReservation reservation) {
+        var local = reservation.getSlotStart().atZone(SlotIndex.CLINIC_ZONE);
+        return local.toLocalDate() + " " + AppointmentService.slotLabel(local.toLocalTime());
+    }
+}
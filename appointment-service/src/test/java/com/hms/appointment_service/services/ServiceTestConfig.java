@@ -0,0 +1,19 @@
+package com.hms.appointment_service.services;
+
+import com.hms.appointment_service.entities.Appointment;
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import com.hms.common.configs.BranchConfig;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA slice for the service tests: appointment entities and repositories, with the branch tenant resolver.
+ */
+@Configuration
+@EntityScan(basePackageClasses = Appointment.class)
+@EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+@Import({BranchConfig.class, SlotReservationService.class})
+class ServiceTestConfig {
+}
@@ -0,0 +1,166 @@
+package com.hms.appointment_service.services;
+
+import com.hms.appointment_service.entities.SlotReservation;
+import com.hms.appointment_service.repositories.SlotReservationRepository;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Slot claims against the (doctor_id, slot_start) unique key. Claims commit in their own transaction,
+ * so the tests run without a test-managed transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment_services_db;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = ServiceTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotReservationServiceTest {
+
+    private static final String DOCTOR = "doctor-1";
+    private static final Instant SLOT = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private SlotReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Two bookings of the same slot at once: exactly one should win, the other gets APPOINTMENT_CONFLICT")
+    void concurrentClaimsOfOneSlot() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<SlotReservation> booking = () -> {
+            start.await();
+            return slotReservationService.claim(DOCTOR, SLOT);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<SlotReservation>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(booking));
+            results.add(executor.submit(booking));
+            start.countDown();
+
+            int booked = 0;
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<SlotReservation> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    booked++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+
+            assertEquals(1, booked);
+            assertEquals(1, failures.size());
+            ApiException conflict = assertInstanceOf(ApiException.class, failures.getFirst());
+            assertEquals(ErrorCode.APPOINTMENT_CONFLICT, conflict.getErrorCode());
+            assertEquals(HttpStatus.CONFLICT, conflict.getErrorCode().getHttpCode());
+            assertEquals(1, reservationRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A booking that rolls back should free the slot it claimed")
+    void rollbackFreesTheClaim() {
+        TransactionTemplate booking = new TransactionTemplate(transactionManager);
+
+        booking.executeWithoutResult(status -> {
+            slotReservationService.claim(DOCTOR, SLOT);
+            status.setRollbackOnly();
+        });
+        assertTrue(reservationRepository.findByDoctorIdAndSlotStart(DOCTOR, SLOT).isEmpty());
+
+        booking.executeWithoutResult(status -> {
+            SlotReservation reservation = slotReservationService.claim(DOCTOR, SLOT);
+            slotReservationService.link(reservation, "appointment-1");
+        });
+        assertEquals("appointment-1",
+                reservationRepository.findByDoctorIdAndSlotStart(DOCTOR, SLOT).orElseThrow().getAppointmentId());
+    }
+
+    @Test
+    @DisplayName("A claim older than the grace period whose appointment never got saved should be taken over")
+    void staleUnlinkedClaimIsTakenOver() {
+        SlotReservation stale = reserve(null, Instant.now().minus(SlotReservationService.CLAIM_GRACE).minusSeconds(60));
+
+        SlotReservation claimed = slotReservationService.claim(DOCTOR, SLOT);
+
+        assertNotEquals(stale.getId(), claimed.getId());
+        assertEquals(1, reservationRepository.count());
+    }
+
+    @Test
+    @DisplayName("A claim whose appointment was deleted should be taken over once stale")
+    void staleClaimOfDeletedAppointmentIsTakenOver() {
+        reserve("deleted-appointment", Instant.now().minus(SlotReservationService.CLAIM_GRACE).minusSeconds(60));
+
+        SlotReservation claimed = slotReservationService.claim(DOCTOR, SLOT, "appointment-2");
+
+        assertEquals("appointment-2", claimed.getAppointmentId());
+        assertEquals(1, reservationRepository.count());
+    }
+
+    @Test
+    @DisplayName("An unlinked claim within the grace period should still hold the slot")
+    void recentClaimIsNotTakenOver() {
+        reserve(null, Instant.now().minus(SlotReservationService.CLAIM_GRACE).plus(Duration.ofSeconds(30)));
+
+        ApiException e = assertThrows(ApiException.class, () -> slotReservationService.claim(DOCTOR, SLOT));
+
+        assertEquals(ErrorCode.APPOINTMENT_CONFLICT, e.getErrorCode());
+    }
+
+    private SlotReservation reserve(String appointmentId, Instant createdAt) {
+        SlotReservation reservation = new SlotReservation();
+        reservation.setDoctorId(DOCTOR);
+        reservation.setSlotStart(SLOT);
+        reservation.setAppointmentId(appointmentId);
+        reservation.setCreatedAt(createdAt);
+        return reservationRepository.saveAndFlush(reservation);
+    }
+}
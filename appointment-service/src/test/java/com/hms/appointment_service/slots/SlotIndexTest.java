@@ -0,0 +1,86 @@
+package com.hms.appointment_service.slots;
+
+import com.hms.appointment_service.repositories.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotIndexTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now(SlotIndex.CLINIC_ZONE).plusDays(1);
+
+    @Test
+    void bookAndReleaseToggleTheSlotBit() {
+        SlotIndex index = builtIndex(List.<Object[]>of(new Object[]{"d1", TOMORROW.atTime(9, 0).atZone(SlotIndex.CLINIC_ZONE).toInstant()}));
+
+        long booked = index.bookedSlots("d1", TOMORROW).orElseThrow();
+        assertTrue(SlotIndex.isBooked(booked, LocalTime.of(9, 0)));
+        assertFalse(SlotIndex.isBooked(booked, LocalTime.of(9, 30)));
+
+        index.book("d1", TOMORROW, LocalTime.of(23, 30));
+        index.release("d1", TOMORROW, LocalTime.of(9, 0));
+        booked = index.bookedSlots("d1", TOMORROW).orElseThrow();
+        assertFalse(SlotIndex.isBooked(booked, LocalTime.of(9, 0)));
+        assertTrue(SlotIndex.isBooked(booked, LocalTime.of(23, 30)));
+    }
+
+    @Test
+    void offGridTimesAreNotIndexed() {
+        SlotIndex index = builtIndex(List.of());
+
+        index.book("d1", TOMORROW, LocalTime.of(9, 15));
+
+        assertEquals(0L, index.bookedSlots("d1", TOMORROW).orElseThrow());
+    }
+
+    @Test
+    void pastDatesAndUnbuiltIndexFallBack() {
+        SlotIndex unbuilt = new SlotIndex(repository(List.of()));
+        assertTrue(unbuilt.bookedSlots("d1", TOMORROW).isEmpty());
+
+        SlotIndex index = builtIndex(List.of());
+        assertTrue(index.bookedSlots("d1", TOMORROW.minusDays(2)).isEmpty());
+    }
+
+    @Test
+    void changesInsideATransactionWaitForTheCommit() {
+        SlotIndex index = builtIndex(List.<Object[]>of(new Object[]{"d1", TOMORROW.atTime(9, 0).atZone(SlotIndex.CLINIC_ZONE).toInstant()}));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.bookAfterCommit("d1", TOMORROW.atTime(10, 0).atZone(SlotIndex.CLINIC_ZONE).toInstant());
+            index.releaseAfterCommit("d1", TOMORROW.atTime(9, 0).atZone(SlotIndex.CLINIC_ZONE).toInstant());
+            long booked = index.bookedSlots("d1", TOMORROW).orElseThrow();
+            assertTrue(SlotIndex.isBooked(booked, LocalTime.of(9, 0)));
+            assertFalse(SlotIndex.isBooked(booked, LocalTime.of(10, 0)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            booked = index.bookedSlots("d1", TOMORROW).orElseThrow();
+            assertFalse(SlotIndex.isBooked(booked, LocalTime.of(9, 0)));
+            assertTrue(SlotIndex.isBooked(booked, LocalTime.of(10, 0)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static SlotIndex builtIndex(List<Object[]> rows) {
+        SlotIndex index = new SlotIndex(repository(rows));
+        index.rebuild();
+        return index;
+    }
+
+    private static AppointmentRepository repository(List<Object[]> startupRows) {
+        return (AppointmentRepository) Proxy.newProxyInstance(
+                AppointmentRepository.class.getClassLoader(),
+                new Class<?>[]{AppointmentRepository.class},
+                (proxy, method, args) -> "findDoctorTimesFrom".equals(method.getName()) ? startupRows : null);
+    }
+}
@@ -31,4 +31,7 @@ public class Account {
     private Instant refreshTokenExpiresAt;
 
     private boolean emailVerified = false;
+
+    // Home hospital branch (JWT "branch" claim). Null = access to all branches.
+    private String branchId;
 }
@@ -32,6 +32,12 @@ public class TokenProvider {
                         .subject(account.getId())
                         .claim("role", account.getRole().name())
                         .claim("email", account.getEmail())
+                        .claims(claims -> {
+                            // Home branch; accounts without one get cross-branch access
+                            if (account.getBranchId() != null) {
+                                claims.put("branch", account.getBranchId());
+                            }
+                        })
                         .build();
         JwsHeader jwsHeader = JwsHeader.with(JwtConfig.JWT_ALGORITHM).build();
         return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
@@ -31,11 +31,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/invoices")
 public class InvoiceController extends GenericController<Invoice, String, InvoiceRequest, InvoiceResponse> {
 
+    private static final Set<String> AGGREGATABLE_FIELDS = Set.of(
+            "status", "patientId", "subtotal", "discount", "tax", "totalAmount", "paidAmount");
+
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
     private final InvoiceHook invoiceHook;
@@ -54,6 +58,11 @@ public class InvoiceController extends GenericController<Invoice, String, Invoic
         this.invoiceHook = invoiceHook;
     }
 
+    @Override
+    protected Set<String> aggregatableFields() {
+        return AGGREGATABLE_FIELDS;
+    }
+
     /**
      * Safely convert JPQL aggregate result to BigDecimal.
      * JPQL may return Long, Double, or BigDecimal depending on database and query.
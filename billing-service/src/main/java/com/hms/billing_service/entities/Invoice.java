@@ -1,7 +1,10 @@
 package com.hms.billing_service.entities;
 
+import com.hms.common.branches.BranchEntityListener;
+import com.hms.common.branches.BranchScoped;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -14,19 +17,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices",
+        indexes = @Index(name = "idx_invoices_branch_status", columnList = "branch_id, status"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@EntityListeners(AuditingEntityListener.class)
-public class Invoice {
+@EntityListeners({AuditingEntityListener.class, BranchEntityListener.class})
+public class Invoice implements BranchScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
+    // Branch partition key: set by BranchEntityListener, filtered by Hibernate on every query
+    @TenantId
+    @Column(name = "branch_id", updatable = false, length = 36)
+    private String branchId;
+
     @Column(nullable = false, unique = true)
     private String invoiceNumber;
 
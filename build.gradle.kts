@@ -1,7 +1,49 @@
+import java.util.concurrent.TimeUnit
+
 plugins {
     java
     id("org.springframework.boot") version "3.5.8" apply false
     id("io.spring.dependency-management") version "1.1.7" apply false
+    id("me.champeau.jmh") version "0.7.3" apply false
+}
+
+// Library modules: no boot jar, no service-only starters, no startup measurement
+val libraryModules = setOf("common", "loadbalancer")
+
+// Fast-startup profile: ./gradlew bootJar startupReport -PfastStartup
+// Runs Spring AOT processing and trains an AppCDS archive per service (see infrastructure/pro/FAST-BUILD.md)
+val fastStartup = providers.gradleProperty("fastStartup").isPresent
+// Standalone start: no config-server, no Eureka, embedded H2 datasource.
+// Flyway is off because the migrations are MySQL-only (appointment-service)
+val standaloneArgs = listOf(
+    "-Dspring.cloud.config.enabled=false",
+    "-Deureka.client.enabled=false",
+    "-Dspring.flyway.enabled=false"
+) + providers.gradleProperty("cdsTrainingArgs").getOrElse("").split(" ").filter { it.isNotBlank() }
+// Training exits right after the context refresh; measured runs start fully
+val cdsTrainingArgs = listOf("-Dspring.context.exit=onRefresh") + standaloneArgs
+val measureArgs = listOf("-Dserver.port=0") + standaloneArgs
+
+/**
+ * Starts the application, waits for Spring's "Started ... (process running for N)" line and stops it again.
+ * Returns N, or null if the application exited without starting.
+ */
+fun measureStartup(java: String, workingDir: File, args: List<String>): Double? {
+    val process = ProcessBuilder(listOf(java) + args)
+        .directory(workingDir)
+        .redirectErrorStream(true)
+        .start()
+    val started = Regex("Started .* \\(process running for ([0-9.]+)\\)")
+    try {
+        process.inputStream.bufferedReader().useLines { lines ->
+            return lines.firstNotNullOfOrNull { started.find(it) }?.groupValues?.get(1)?.toDouble()
+        }
+    } finally {
+        process.destroy()
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor()
+        }
+    }
 }
 
 allprojects {
@@ -28,15 +70,103 @@ subprojects {
 
     dependencies {
         implementation(platform("org.springframework.cloud:spring-cloud-dependencies:$springCloudVersion"))
-        implementation("org.springframework.boot:spring-boot-starter-actuator")
         compileOnly("org.projectlombok:lombok")
         annotationProcessor("org.projectlombok:lombok")
         testImplementation("org.springframework.boot:spring-boot-starter-test")
-        implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.3.0")
+    }
 
+    // Libraries declare what they need themselves (loadbalancer must stay free of any web stack)
+    if (name !in libraryModules) {
+        dependencies {
+            implementation("org.springframework.boot:spring-boot-starter-actuator")
+            implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.3.0")
+        }
     }
 
     tasks.withType<Test> {
         useJUnitPlatform()
     }
+
+    if (fastStartup && name !in libraryModules) {
+        apply(plugin = "org.springframework.boot.aot")
+
+        val bootJar = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+        val cdsDir = layout.buildDirectory.dir("cds")
+        val javaLauncher = extensions.getByType<JavaToolchainService>()
+            .launcherFor(extensions.getByType<JavaPluginExtension>().toolchain)
+
+        // Unpack the boot jar into the layout CDS needs (plain classpath, no nested jars)
+        val extractBootJar by tasks.registering(Exec::class) {
+            dependsOn(bootJar)
+            inputs.file(bootJar.flatMap { it.archiveFile })
+            outputs.dir(cdsDir)
+            doFirst {
+                executable = javaLauncher.get().executablePath.asFile.absolutePath
+                args("-Djarmode=tools", "-jar", bootJar.get().archiveFile.get().asFile.absolutePath,
+                    "extract", "--destination", cdsDir.get().asFile.absolutePath, "--force")
+            }
+        }
+
+        // Training run: start with AOT enabled, exit after refresh and dump the loaded classes
+        val cdsTrainingRun by tasks.registering(Exec::class) {
+            dependsOn(extractBootJar)
+            workingDir(cdsDir)
+            outputs.file(cdsDir.map { it.file("application.jsa") })
+            doFirst {
+                executable = javaLauncher.get().executablePath.asFile.absolutePath
+                args(listOf("-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.aot.enabled=true") +
+                        cdsTrainingArgs + listOf("-jar", bootJar.get().archiveFileName.get()))
+            }
+        }
+
+        tasks.register("measureStartup") {
+            dependsOn(cdsTrainingRun)
+            val report = layout.buildDirectory.file("reports/startup/startup.properties")
+            outputs.file(report)
+            doLast {
+                val java = javaLauncher.get().executablePath.asFile.absolutePath
+                val jarName = bootJar.get().archiveFileName.get()
+                // Both runs use the extracted layout, so the ratio only reflects AOT + CDS
+                val baseline = measureStartup(java, cdsDir.get().asFile,
+                    measureArgs + listOf("-jar", jarName))
+                val fast = measureStartup(java, cdsDir.get().asFile,
+                    listOf("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true") +
+                            measureArgs + listOf("-jar", jarName))
+                report.get().asFile.apply {
+                    parentFile.mkdirs()
+                    writeText("baseline=${baseline ?: ""}\nfast=${fast ?: ""}\n")
+                }
+            }
+        }
+    }
+}
+
+if (fastStartup) {
+    // Aggregates each service's measureStartup result into build/reports/startup-report.md
+    tasks.register("startupReport") {
+        val services = subprojects.filter { it.name !in libraryModules }
+        dependsOn(services.map { "${it.path}:measureStartup" })
+        val report = layout.buildDirectory.file("reports/startup-report.md")
+        outputs.file(report)
+        doLast {
+            val lines = mutableListOf(
+                "| Service | Baseline (s) | AOT + CDS (s) | Ratio |",
+                "|---------|--------------|---------------|-------|"
+            )
+            services.forEach { service ->
+                val props = java.util.Properties()
+                service.layout.buildDirectory.file("reports/startup/startup.properties").get().asFile
+                    .reader().use { props.load(it) }
+                val baseline = props.getProperty("baseline").toDoubleOrNull()
+                val fast = props.getProperty("fast").toDoubleOrNull()
+                val ratio = if (baseline != null && fast != null) "%.2f".format(fast / baseline) else "n/a"
+                lines += "| ${service.name} | ${baseline ?: "failed"} | ${fast ?: "failed"} | $ratio |"
+            }
+            report.get().asFile.apply {
+                parentFile.mkdirs()
+                writeText(lines.joinToString("\n", postfix = "\n"))
+            }
+            logger.lifecycle(lines.joinToString("\n"))
+        }
+    }
 }
@@ -1,16 +1,25 @@
 plugins {
     id("org.springframework.boot") version "3.5.8" apply false
     id("java-library")
+    id("java-test-fixtures")
 }
 
 dependencies {
+    api(project(":loadbalancer"))
     api("org.springframework.boot:spring-boot-starter-data-jpa")
     api("org.springframework.boot:spring-boot-starter-web")
     api("org.springframework.boot:spring-boot-starter-validation")
     api("io.github.perplexhub:rsql-jpa-spring-boot-starter:6.0.32")
     api("org.mapstruct:mapstruct:1.6.3")
     api("com.h2database:h2")
+    api("net.ttddyy:datasource-proxy:1.10.1")
+    api("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.cloud:spring-cloud-starter-openfeign:4.3.0")
+    // Slot deltas are published only by services that add Redis themselves (SlotEventsConfig)
+    compileOnly("org.springframework.boot:spring-boot-starter-data-redis")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
+    testFixturesApi("org.junit.jupiter:junit-jupiter-api")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.hms.common.branches;
+
+import com.hms.common.securities.UserContext;
+
+/**
+ * Current branch of the request, taken from UserContext (X-Branch-ID header set by the gateway
+ * from the JWT "branch" claim).
+ *
+ * No branch means cross-branch access: admins without a home branch and internal jobs see every
+ * branch, and rows they create go to the default branch unless one is set explicitly.
+ */
+public final class BranchContext {
+
+    public static final String HEADER = "X-Branch-ID";
+
+    /**
+     * Tenant identifier used by Hibernate for cross-branch (root) sessions.
+     */
+    public static final String ALL_BRANCHES = "*";
+
+    private static volatile String defaultBranch = "main";
+
+    private BranchContext() {
+    }
+
+    /**
+     * Branch of the current user, or null for cross-branch access.
+     */
+    public static String currentBranch() {
+        UserContext.User user = UserContext.getUser();
+        return user != null ? user.getBranchId() : null;
+    }
+
+    public static String currentBranchOrDefault() {
+        String branch = currentBranch();
+        return branch != null ? branch : defaultBranch;
+    }
+
+    public static String getDefaultBranch() {
+        return defaultBranch;
+    }
+
+    public static void setDefaultBranch(String branch) {
+        defaultBranch = branch;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hms.common.branches;
+
+import jakarta.persistence.PrePersist;
+
+/**
+ * Assigns the branch of new rows. Branch users always write to their own branch (Hibernate
+ * rejects a different value); cross-branch users keep an explicitly set branch or get the default.
+ */
+public class BranchEntityListener {
+
+    @PrePersist
+    public void assignBranch(Object entity) {
+        if (entity instanceof BranchScoped scoped && scoped.getBranchId() == null) {
+            scoped.setBranchId(BranchContext.currentBranchOrDefault());
+        }
+    }
+}
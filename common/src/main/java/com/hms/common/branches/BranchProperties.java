@@ -0,0 +1,19 @@
+package com.hms.common.branches;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Multi-branch deployment settings.
+ */
+@ConfigurationProperties(prefix = "hms.branch")
+@Getter
+@Setter
+public class BranchProperties {
+
+    /**
+     * Branch assigned to rows created without a branch (cross-branch users, jobs, existing data).
+     */
+    private String defaultBranch = "main";
+}
@@ -0,0 +1,15 @@
+package com.hms.common.branches;
+
+/**
+ * Entity partitioned by hospital branch.
+ *
+ * Implementations map branchId as a Hibernate {@code @TenantId} column (branch_id) and register
+ * {@link BranchEntityListener}; Hibernate then adds branch_id = :currentBranch to every query
+ * issued through repositories, Specifications and JPQL.
+ */
+public interface BranchScoped {
+
+    String getBranchId();
+
+    void setBranchId(String branchId);
+}
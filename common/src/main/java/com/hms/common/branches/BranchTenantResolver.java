@@ -0,0 +1,27 @@
+package com.hms.common.branches;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Hibernate tenant = current branch. Sessions without a branch are root sessions that see all
+ * branches (Hibernate skips the branch_id predicate for root tenants).
+ */
+public class BranchTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String branch = BranchContext.currentBranch();
+        return branch != null ? branch : BranchContext.ALL_BRANCHES;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        // Sessions are per request/transaction; the branch cannot change inside one
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return BranchContext.ALL_BRANCHES.equals(tenantId);
+    }
+}
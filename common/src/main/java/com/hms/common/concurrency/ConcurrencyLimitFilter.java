@@ -0,0 +1,77 @@
+package com.hms.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.exceptions.errors.ErrorCode;
+import com.hms.loadbalancer.concurrency.AdaptiveLimiter;
+import com.hms.loadbalancer.concurrency.PriorityClassifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Adaptive concurrency limit for the whole service instance, the servlet counterpart of the
+ * gateway's per-route filter. Sheds with 503 before the request takes a Tomcat worker's time or a
+ * pool connection, so a slow database turns into fast rejections of reports instead of a backlog
+ * that also stalls clinical writes.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveLimiter limiter;
+    private final PriorityClassifier classifier;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveLimiter limiter, PriorityClassifier classifier, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.classifier = classifier;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire(classifier.classify(request.getMethod(), request.getRequestURI()));
+        if (permit == null) {
+            shed(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.onDropped();
+            throw e;
+        }
+        if (response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks must keep answering while the service sheds load
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        ErrorCode errorCode = ErrorCode.SERVICE_OVERLOADED;
+        ApiResponse<Void> body = new ApiResponse<>();
+        body.setCode(errorCode.getCode());
+        body.setMessage(errorCode.getMessage());
+
+        response.setStatus(errorCode.getHttpCode().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
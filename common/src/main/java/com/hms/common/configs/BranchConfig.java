@@ -0,0 +1,26 @@
+package com.hms.common.configs;
+
+import com.hms.common.branches.BranchContext;
+import com.hms.common.branches.BranchProperties;
+import com.hms.common.branches.BranchTenantResolver;
+import org.hibernate.cfg.MultiTenancySettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Branch partitioning: registers the Hibernate tenant resolver used by @TenantId branch columns.
+ * Entities without a branch column are not affected.
+ */
+@Configuration
+@EnableConfigurationProperties(BranchProperties.class)
+public class BranchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer branchTenantResolverCustomizer(BranchProperties properties) {
+        BranchContext.setDefaultBranch(properties.getDefaultBranch());
+        return hibernateProperties -> hibernateProperties.put(
+                MultiTenancySettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new BranchTenantResolver());
+    }
+}
@@ -0,0 +1,51 @@
+package com.hms.common.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.concurrency.ConcurrencyLimitFilter;
+import com.hms.loadbalancer.concurrency.AdaptiveLimiter;
+import com.hms.loadbalancer.concurrency.ConcurrencyLimitProperties;
+import com.hms.loadbalancer.concurrency.PriorityClassifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Adaptive concurrency limit per service instance (hms.concurrency-limit.*).
+ *
+ * - One limiter for the instance; the gateway keeps its own per route.
+ * - Priorities: writes CRITICAL, reads NORMAL, configured report paths LOW.
+ * - Metrics: hms.concurrency.limit / hms.concurrency.inflight gauges.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "hms.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveLimiter serviceConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties.newLimit());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("hms.concurrency.limit", limiter, AdaptiveLimiter::getLimit).register(registry);
+            Gauge.builder("hms.concurrency.inflight", limiter, AdaptiveLimiter::getInFlight).register(registry);
+        });
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveLimiter serviceConcurrencyLimiter,
+                                                                                 ConcurrencyLimitProperties properties,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(serviceConcurrencyLimiter, new PriorityClassifier(properties.getPriorities()), objectMapper));
+        // Before UserContextFilter and security, so shed requests cost as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hms.common.configs;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the dataSource bean with datasource-proxy when at least one QueryExecutionListener bean
+ * exists (SqlCountConfig, OrmObservabilityConfig).
+ *
+ * Only the bean named dataSource is wrapped, so with replica routing both pools are seen once.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor queryListenerDataSourcePostProcessor(
+            ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                List<QueryExecutionListener> active = listeners.orderedStream().toList();
+                if (active.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                active.forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+}
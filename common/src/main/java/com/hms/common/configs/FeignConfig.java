@@ -1,5 +1,6 @@
 package com.hms.common.configs;
 
+import com.hms.common.branches.BranchContext;
 import com.hms.common.exceptions.FeignCustomErrorDecoder;
 import com.hms.common.securities.UserContext;
 import feign.Request;
@@ -21,7 +22,7 @@ public class FeignConfig {
 
     /**
      * Request interceptor to forward user context headers to downstream services.
-     * This ensures that when service A calls service B, the user identity is preserved.
+     * This ensures that when service A calls service B, the user identity (and branch) is preserved.
      */
     @Bean
     public RequestInterceptor userContextRequestInterceptor() {
@@ -37,6 +38,9 @@ public class FeignConfig {
                 if (user.getEmail() != null) {
                     requestTemplate.header("X-User-Email", user.getEmail());
                 }
+                if (user.getBranchId() != null) {
+                    requestTemplate.header(BranchContext.HEADER, user.getBranchId());
+                }
             }
         };
     }
@@ -0,0 +1,57 @@
+package com.hms.common.configs;
+
+import com.hms.common.datasources.OrmObservabilityProperties;
+import com.hms.common.datasources.QueryPhaseInterceptor;
+import com.hms.common.datasources.QueryShapeRegistry;
+import com.hms.common.datasources.SlowQueryEndpoint;
+import com.hms.common.datasources.SlowQueryListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ORM observability shared by all JPA services.
+ *
+ * - hms.orm.statistics: Hibernate statistics, bound to Micrometer by Boot (hibernate-micrometer):
+ *   hibernate.query.executions, hibernate.entities.loads, hibernate.flushes,
+ *   hibernate.second.level.cache.requests{result=hit|miss}, ...
+ * - hms.orm.slow-query.*: per-shape timings, slow query log with the controller/hook phase,
+ *   and /actuator/slowqueries.
+ */
+@Configuration
+@EnableConfigurationProperties(OrmObservabilityProperties.class)
+public class OrmObservabilityConfig implements WebMvcConfigurer {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer(OrmObservabilityProperties properties) {
+        return hibernateProperties -> hibernateProperties.putIfAbsent(
+                "hibernate.generate_statistics", String.valueOf(properties.isStatistics()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryPhaseInterceptor());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.orm.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public QueryShapeRegistry queryShapeRegistry(OrmObservabilityProperties properties) {
+        return new QueryShapeRegistry(properties.getSlowQuery().getMaxShapes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.orm.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryListener slowQueryListener(QueryShapeRegistry registry, OrmObservabilityProperties properties) {
+        return new SlowQueryListener(registry, properties.getSlowQuery().getThreshold());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.orm.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryEndpoint slowQueryEndpoint(QueryShapeRegistry registry) {
+        return new SlowQueryEndpoint(registry);
+    }
+}
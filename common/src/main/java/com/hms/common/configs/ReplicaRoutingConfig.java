@@ -0,0 +1,102 @@
+package com.hms.common.configs;
+
+import com.hms.common.datasources.ReadYourWritesTracker;
+import com.hms.common.datasources.ReplicaLagMonitor;
+import com.hms.common.datasources.ReplicaProperties;
+import com.hms.common.datasources.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica routing for services that enable hms.datasource.replica.enabled.
+ *
+ * - Primary pool: spring.datasource.* and spring.datasource.hikari.*
+ * - Replica pool: hms.datasource.replica.*; pool settings from spring.datasource.hikari.*,
+ *   overridden by hms.datasource.replica.hikari.*
+ * - @Transactional(readOnly = true) and GenericService find operations read from the replica,
+ *   everything else (and a user's reads right after their own write) uses the primary.
+ *
+ * Metrics: hms.datasource.routing (decisions per pool), hms.datasource.replica.lag,
+ * hikaricp.connections.* tagged pool=primary|replica (bound by Boot for every Hikari bean).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "hms.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    /**
+     * Bound to spring.datasource.hikari.* after creation, like Boot's own Hikari pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Takes the shared spring.datasource.hikari.* settings, then hms.datasource.replica.hikari.* on top.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties dataSourceProperties, ReplicaProperties properties, Environment environment) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(StringUtils.hasText(properties.getUsername())
+                        ? properties.getUsername() : dataSourceProperties.determineUsername())
+                .password(StringUtils.hasText(properties.getPassword())
+                        ? properties.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind("hms.datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.datasource.replica", name = "lag-query")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, properties, meterRegistry);
+    }
+}
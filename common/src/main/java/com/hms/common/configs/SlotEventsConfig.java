@@ -0,0 +1,30 @@
+package com.hms.common.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.slots.SlotDeltaPublisher;
+import com.hms.common.slots.SlotEventsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Slot availability deltas for the gateway's SSE stream (hms.slot-events.*).
+ * Only active in services that put Redis on the classpath (appointment-service, hr-service);
+ * callers inject the publisher through ObjectProvider.
+ */
+@Configuration
+@ConditionalOnClass(StringRedisTemplate.class)
+@ConditionalOnProperty(prefix = "hms.slot-events", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SlotEventsProperties.class)
+public class SlotEventsConfig {
+
+    @Bean
+    public SlotDeltaPublisher slotDeltaPublisher(StringRedisTemplate stringRedisTemplate,
+                                                 ObjectMapper objectMapper,
+                                                 SlotEventsProperties properties) {
+        return new SlotDeltaPublisher(stringRedisTemplate, objectMapper, properties);
+    }
+}
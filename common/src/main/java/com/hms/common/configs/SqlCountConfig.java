@@ -0,0 +1,33 @@
+package com.hms.common.configs;
+
+import com.hms.common.datasources.SqlCountFilter;
+import com.hms.common.datasources.SqlCountProperties;
+import com.hms.common.datasources.SqlStatementCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counts SQL statements per thread when hms.sql.count.enabled=true (dev profiles and tests).
+ *
+ * - The counter is a datasource-proxy listener, applied by DataSourceProxyConfig.
+ * - hms.sql.count.header=true adds X-SQL-Count to every response (SqlCountHeaderAdvice).
+ * - Tests use @SqlBudget (common test fixtures) to fail on query-count regressions.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlCountProperties.class)
+@ConditionalOnProperty(prefix = "hms.sql.count", name = "enabled", havingValue = "true")
+public class SqlCountConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.sql.count", name = "header", havingValue = "true")
+    public SqlCountFilter sqlCountFilter() {
+        return new SqlCountFilter();
+    }
+}
@@ -1,6 +1,7 @@
 package com.hms.common.controllers;
 
 import com.hms.common.dtos.Action;
+import com.hms.common.dtos.AggregateResponse;
 import com.hms.common.dtos.ApiResponse;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.services.CrudService;
@@ -15,22 +16,49 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public abstract class GenericController<E, ID, I, O> {
 
     protected final CrudService<E, ID, I, O> service;
 
+    /**
+     * @param fields optional sparse fieldset (e.g. fields=id,status,patientName). Limits the JSON
+     *               output (SparseFieldsAdvice) and, when all fields are plain columns, the SELECT list.
+     */
     @GetMapping("/all")
     public ResponseEntity<ApiResponse<PageResponse<O>>> findAll(
             Pageable pageable,
             @RequestParam(value = "filter", required = false) @Nullable String filter,
-            @RequestParam(value = "all", defaultValue = "false") boolean all) {
+            @RequestParam(value = "all", defaultValue = "false") boolean all,
+            @RequestParam(value = "fields", required = false) @Nullable Set<String> fields) {
         Specification<E> specification = RSQLJPASupport.toSpecification(filter);
         if (all) {
             pageable = Pageable.unpaged(pageable.getSort());
         }
-        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification)));
+        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification, fields)));
+    }
+
+    /**
+     * e.g. /aggregate?groupBy=status,doctorDepartment&metrics=count,sum(totalAmount)&filter=...
+     * Runs as a single GROUP BY query; fields must be whitelisted by {@link #aggregatableFields()}.
+     */
+    @GetMapping("/aggregate")
+    public ResponseEntity<ApiResponse<AggregateResponse>> aggregate(
+            @RequestParam(value = "groupBy", required = false) @Nullable List<String> groupBy,
+            @RequestParam(value = "metrics", required = false) @Nullable List<String> metrics,
+            @RequestParam(value = "filter", required = false) @Nullable String filter) {
+        Specification<E> specification = RSQLJPASupport.toSpecification(filter);
+        return ResponseEntity.ok(ApiResponse.ok(
+                service.aggregate(specification, groupBy, metrics, aggregatableFields())));
+    }
+
+    /**
+     * Fields that may be used in groupBy and metrics of /aggregate. Empty disables the endpoint.
+     */
+    protected Set<String> aggregatableFields() {
+        return Set.of();
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,70 @@
+package com.hms.common.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hms.common.serializers.SparseFieldsFilter;
+import com.hms.common.serializers.SparseFieldsMixin;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies ?fields= to JSON responses (list and detail endpoints alike).
+ * The SELECT list is narrowed separately by GenericController.findAll when possible.
+ *
+ * The filter lives on a private copy of the shared ObjectMapper, used only for requests with ?fields=;
+ * the body is replaced by the filtered JSON tree. Feign, Redis and every other user of the shared
+ * mapper are not affected.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private final ObjectMapper sparseMapper;
+
+    public SparseFieldsAdvice(ObjectMapper objectMapper) {
+        // Exact decimals so amounts survive the round trip through the JSON tree unchanged
+        this.sparseMapper = objectMapper.copy()
+                .addMixIn(Object.class, SparseFieldsMixin.class)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<String> fields = SparseFieldsFilter.parse(servletRequest.getServletRequest().getParameter(SparseFieldsFilter.PARAM));
+        if (fields.isEmpty()) {
+            return;
+        }
+        ObjectWriter writer = sparseMapper.writer(new SimpleFilterProvider()
+                .addFilter(SparseFieldsFilter.FILTER_ID, new SparseFieldsFilter(fields))
+                .setFailOnUnknownId(false));
+        if (bodyContainer.getSerializationView() != null) {
+            writer = writer.withView(bodyContainer.getSerializationView());
+        }
+        try {
+            bodyContainer.setValue(sparseMapper.readTree(writer.writeValueAsBytes(bodyContainer.getValue())));
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not apply ?" + SparseFieldsFilter.PARAM + "=", e);
+        }
+    }
+}
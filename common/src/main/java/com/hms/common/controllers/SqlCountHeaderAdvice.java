@@ -0,0 +1,52 @@
+package com.hms.common.controllers;
+
+import com.hms.common.datasources.SqlCountFilter;
+import com.hms.common.datasources.SqlCountProperties;
+import com.hms.common.datasources.SqlStatementCounter;
+import com.hms.common.datasources.SqlStatementCounts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev-mode header with the statements executed by the request, e.g.
+ * X-SQL-Count: select=3;insert=0;update=0;delete=0;other=0;total=3
+ *
+ * Written just before the body, after controller, service and hooks have run.
+ * Active when hms.sql.count.enabled=true and hms.sql.count.header=true.
+ */
+@ControllerAdvice
+@ConditionalOnExpression("${hms.sql.count.enabled:false} and ${hms.sql.count.header:false}")
+@RequiredArgsConstructor
+public class SqlCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlCountProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlCountFilter.SNAPSHOT_ATTRIBUTE)
+                instanceof SqlStatementCounts snapshot) {
+            response.getHeaders().set(properties.getHeaderName(), SqlStatementCounter.current().since(snapshot).toString());
+        }
+        return body;
+    }
+}
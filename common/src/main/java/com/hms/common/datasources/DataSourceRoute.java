@@ -0,0 +1,11 @@
+package com.hms.common.datasources;
+
+/**
+ * Target pool selected by {@link ReplicaRoutingDataSource}.
+ * - PRIMARY: read-write MySQL instance, used for writes and read-your-writes windows
+ * - REPLICA: read-only replica, used for read-only transactions
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
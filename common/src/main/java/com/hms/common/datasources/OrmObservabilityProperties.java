@@ -0,0 +1,43 @@
+package com.hms.common.datasources;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hibernate statistics and slow-query reporting.
+ */
+@ConfigurationProperties(prefix = "hms.orm")
+@Getter
+@Setter
+public class OrmObservabilityProperties {
+
+    /**
+     * Enable Hibernate statistics (published as hibernate.* meters).
+     */
+    private boolean statistics = true;
+
+    private SlowQuery slowQuery = new SlowQuery();
+
+    @Getter
+    @Setter
+    public static class SlowQuery {
+
+        /**
+         * Time statements per shape and log slow ones (wraps the dataSource with datasource-proxy).
+         */
+        private boolean enabled = true;
+
+        /**
+         * Statements taking at least this long are logged with their phase.
+         */
+        private Duration threshold = Duration.ofMillis(500);
+
+        /**
+         * Maximum number of distinct query shapes kept for /actuator/slowqueries.
+         */
+        private int maxShapes = 500;
+    }
+}
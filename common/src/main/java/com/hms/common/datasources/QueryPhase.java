@@ -0,0 +1,41 @@
+package com.hms.common.datasources;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Where the current thread is in the request: handler method, then hook phase.
+ * e.g. "MedicalExamController#findAll > MedicalExamHook.enrichFindAll"
+ *
+ * Used to attribute slow queries. Same ThreadLocal model as UserContext.
+ */
+public final class QueryPhase {
+
+    private static final ThreadLocal<Deque<String>> PHASES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryPhase() {
+    }
+
+    public static void run(String phase, Runnable action) {
+        Deque<String> phases = PHASES.get();
+        phases.addLast(phase);
+        try {
+            action.run();
+        } finally {
+            phases.pollLast();
+        }
+    }
+
+    public static void enter(String phase) {
+        PHASES.get().addLast(phase);
+    }
+
+    public static String current() {
+        Deque<String> phases = PHASES.get();
+        return phases.isEmpty() ? "-" : String.join(" > ", phases);
+    }
+
+    public static void clear() {
+        PHASES.remove();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hms.common.datasources;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Execution times per query shape (SQL with literals and IN lists collapsed).
+ * Bounded: once maxShapes distinct shapes are tracked, new shapes are ignored.
+ */
+public class QueryShapeRegistry {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Stats> shapes = new ConcurrentHashMap<>();
+    private final int maxShapes;
+
+    public QueryShapeRegistry(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public void record(String sql, long elapsedMillis, String phase) {
+        String shape = shapeOf(sql);
+        Stats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new Stats());
+        }
+        stats.record(elapsedMillis, phase);
+    }
+
+    /**
+     * Slowest shapes first (by max execution time).
+     */
+    public List<QueryShapeSummary> top(int limit) {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingLong(QueryShapeSummary::maxMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void clear() {
+        shapes.clear();
+    }
+
+    public record QueryShapeSummary(
+            String sql, long count, long totalMillis, double avgMillis, long maxMillis, String slowestPhase) {
+    }
+
+    private static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong(-1);
+        private volatile String slowestPhase;
+
+        void record(long elapsedMillis, String phase) {
+            count.increment();
+            totalMillis.add(elapsedMillis);
+            long previous = maxMillis.getAndAccumulate(elapsedMillis, Math::max);
+            if (elapsedMillis > previous) {
+                slowestPhase = phase;
+            }
+        }
+
+        QueryShapeSummary summary(String sql) {
+            long executions = count.sum();
+            long total = totalMillis.sum();
+            return new QueryShapeSummary(sql, executions, total,
+                    executions == 0 ? 0 : (double) total / executions, maxMillis.get(), slowestPhase);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hms.common.datasources;
+
+import com.hms.common.securities.UserContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users recently committed a write so their next reads stay on the primary
+ * until the replica has caught up.
+ * Keyed by the X-User-ID propagated through {@link UserContext}; calls without a user
+ * (inter-service calls) are never pinned.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Duration window;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Pin the current user to the primary for the configured window.
+     */
+    public void markWrite() {
+        String userId = currentUserId();
+        if (userId == null || window.isZero() || window.isNegative()) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(userId, now + window.toNanos());
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+
+    /**
+     * @return true if the current user committed a write within the window
+     */
+    public boolean isPinnedToPrimary() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long deadline = pinnedUntil.get(userId);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() < 0) {
+            pinnedUntil.remove(userId, deadline);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentUserId() {
+        UserContext.User user = UserContext.getUser();
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hms.common.datasources;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically probes the replica with the configured lag query and publishes
+ * hms.datasource.replica.lag (seconds, -1 when the probe fails).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private final JdbcTemplate replicaJdbc;
+    private final String lagQuery;
+    private final AtomicLong lagSeconds = new AtomicLong(-1);
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.lagQuery = properties.getLagQuery();
+        Gauge.builder("hms.datasource.replica.lag", lagSeconds, AtomicLong::get)
+                .description("Replication lag of the read replica in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getLagProbeInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::probe, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void probe() {
+        try {
+            Number lag = replicaJdbc.queryForObject(lagQuery, Number.class);
+            lagSeconds.set(lag != null ? lag.longValue() : -1);
+        } catch (Exception e) {
+            log.warn("Replica lag probe failed: {}", e.getMessage());
+            lagSeconds.set(-1);
+        }
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,58 @@
+package com.hms.common.datasources;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read-replica configuration.
+ * The primary pool keeps using the standard spring.datasource.* properties.
+ * Replica pool settings (hms.datasource.replica.hikari.*) are bound onto the pool directly,
+ * on top of spring.datasource.hikari.*.
+ */
+@ConfigurationProperties(prefix = "hms.datasource.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+
+    /**
+     * Enable routing of read-only transactions to the replica pool.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica.
+     */
+    private String url;
+
+    /**
+     * Replica username. Defaults to spring.datasource.username when blank.
+     */
+    private String username;
+
+    /**
+     * Replica password. Defaults to spring.datasource.password when blank.
+     */
+    private String password;
+
+    /**
+     * How long reads of a user stay on the primary after that user committed a write.
+     * Should be above the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replica lag in seconds (first column of the first row).
+     * MySQL 8: SHOW REPLICA STATUS is not a plain SELECT, so use a heartbeat table query such as
+     * SELECT TIMESTAMPDIFF(SECOND, MAX(ts), NOW(6)) FROM heartbeat.
+     * Lag is not reported when blank.
+     */
+    private String lagQuery;
+
+    /**
+     * Interval between two lag probes.
+     */
+    private Duration lagProbeInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,90 @@
+package com.hms.common.datasources;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes connections between the primary and the replica pool.
+ *
+ * Rules:
+ * 1. Read-only transaction (@Transactional(readOnly = true)) → REPLICA
+ * 2. Read-only transaction of a user inside its read-your-writes window → PRIMARY
+ * 3. Everything else (writes, no transaction) → PRIMARY
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager binds the
+ * read-only flag after it asks for a connection, so the physical connection has to be
+ * fetched lazily at the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<DataSourceRoute, Map<String, Counter>> decisions = new EnumMap<>(DataSourceRoute.class);
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            Map<String, Counter> byReason = new HashMap<>();
+            for (String reason : new String[]{"read-only", "read-your-writes", "write", "no-transaction"}) {
+                byReason.put(reason, Counter.builder("hms.datasource.routing")
+                        .description("Connections routed per pool")
+                        .tag("pool", route.name().toLowerCase())
+                        .tag("reason", reason)
+                        .register(meterRegistry));
+            }
+            decisions.put(route, byReason);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return record(DataSourceRoute.PRIMARY, "no-transaction");
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWritesTracker.isPinnedToPrimary()) {
+                return record(DataSourceRoute.PRIMARY, "read-your-writes");
+            }
+            return record(DataSourceRoute.REPLICA, "read-only");
+        }
+        registerWriteCommitCallback();
+        return record(DataSourceRoute.PRIMARY, "write");
+    }
+
+    private DataSourceRoute record(DataSourceRoute route, String reason) {
+        decisions.get(route).get(reason).increment();
+        log.trace("Routing connection to {} ({})", route, reason);
+        return route;
+    }
+
+    /**
+     * Open the read-your-writes window only once the write is durable on the primary.
+     */
+    private void registerWriteCommitCallback() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWritesTracker.markWrite();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.markWrite();
+            }
+        });
+    }
+}
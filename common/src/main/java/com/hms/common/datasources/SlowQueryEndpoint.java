@@ -0,0 +1,32 @@
+package com.hms.common.datasources;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * GET /actuator/slowqueries?limit=10 - slowest query shapes with count, avg/max time and phase.
+ * DELETE /actuator/slowqueries - reset the statistics.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final QueryShapeRegistry registry;
+
+    @ReadOperation
+    public List<QueryShapeRegistry.QueryShapeSummary> slowest(@Nullable Integer limit) {
+        return registry.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.clear();
+    }
+}
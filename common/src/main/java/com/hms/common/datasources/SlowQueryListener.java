@@ -0,0 +1,39 @@
+package com.hms.common.datasources;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Records every statement's execution time per query shape and logs those above the threshold
+ * together with the phase (controller method / hook) that issued them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final QueryShapeRegistry registry;
+    private final Duration threshold;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        String phase = QueryPhase.current();
+        for (QueryInfo queryInfo : queryInfoList) {
+            registry.record(queryInfo.getQuery(), elapsed, phase);
+        }
+        if (elapsed >= threshold.toMillis() && !queryInfoList.isEmpty()) {
+            log.warn("Slow query ({} ms, threshold {} ms) in [{}]: {}",
+                    elapsed, threshold.toMillis(), phase, queryInfoList.get(0).getQuery());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hms.common.datasources;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Snapshots the thread's statement counts at the start of a request so SqlCountHeaderAdvice can
+ * report only the statements of this request. Counts are not reset, so a test wrapping several
+ * requests still sees the total.
+ */
+public class SqlCountFilter extends OncePerRequestFilter {
+
+    public static final String SNAPSHOT_ATTRIBUTE = SqlCountFilter.class.getName() + ".snapshot";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(SNAPSHOT_ATTRIBUTE, SqlStatementCounter.current().copy());
+        filterChain.doFilter(request, response);
+    }
+}
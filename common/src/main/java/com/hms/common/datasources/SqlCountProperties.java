@@ -0,0 +1,29 @@
+package com.hms.common.datasources;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL statement counting (datasource-proxy). Meant for dev and tests, not production.
+ */
+@ConfigurationProperties(prefix = "hms.sql.count")
+@Getter
+@Setter
+public class SqlCountProperties {
+
+    /**
+     * Wrap the dataSource bean and count statements per thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Add the per-request counts as a response header (requires enabled).
+     */
+    private boolean header = false;
+
+    /**
+     * Name of the response header.
+     */
+    private String headerName = "X-SQL-Count";
+}
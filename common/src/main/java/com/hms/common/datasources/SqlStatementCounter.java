@@ -0,0 +1,39 @@
+package com.hms.common.datasources;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener counting executed statements per thread.
+ *
+ * Same ThreadLocal model as UserContext: a request (or a test method) runs on one thread, so the
+ * counts read on that thread are the statements it caused. Work handed to other threads is not
+ * included.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<SqlStatementCounts> COUNTS = ThreadLocal.withInitial(SqlStatementCounts::new);
+
+    public static SqlStatementCounts current() {
+        return COUNTS.get();
+    }
+
+    public static void reset() {
+        COUNTS.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementCounts counts = COUNTS.get();
+        for (QueryInfo queryInfo : queryInfoList) {
+            counts.record(queryInfo.getQuery());
+        }
+    }
+}
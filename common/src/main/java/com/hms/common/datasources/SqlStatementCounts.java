@@ -0,0 +1,89 @@
+package com.hms.common.datasources;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements executed on one thread, by type and by SQL text.
+ * SQL texts are capped at {@link #MAX_DISTINCT_STATEMENTS}; counts by type are always exact.
+ */
+@Getter
+public class SqlStatementCounts {
+
+    public static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private int select;
+    private int insert;
+    private int update;
+    private int delete;
+    private int other;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    void record(String sql) {
+        QueryType type = QueryUtils.getQueryType(sql);
+        switch (type) {
+            case SELECT -> select++;
+            case INSERT -> insert++;
+            case UPDATE -> update++;
+            case DELETE -> delete++;
+            default -> other++;
+        }
+        if (statements.containsKey(sql) || statements.size() < MAX_DISTINCT_STATEMENTS) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getTotal() {
+        return select + insert + update + delete + other;
+    }
+
+    /**
+     * Identical statements executed at least minTimes - the usual N+1 signature.
+     */
+    public Map<String, Integer> repeated(int minTimes) {
+        return statements.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minTimes)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    public SqlStatementCounts copy() {
+        SqlStatementCounts copy = new SqlStatementCounts();
+        copy.select = select;
+        copy.insert = insert;
+        copy.update = update;
+        copy.delete = delete;
+        copy.other = other;
+        copy.statements.putAll(statements);
+        return copy;
+    }
+
+    /**
+     * Counts executed since the given snapshot (taken earlier on the same thread).
+     */
+    public SqlStatementCounts since(SqlStatementCounts snapshot) {
+        SqlStatementCounts delta = new SqlStatementCounts();
+        delta.select = select - snapshot.select;
+        delta.insert = insert - snapshot.insert;
+        delta.update = update - snapshot.update;
+        delta.delete = delete - snapshot.delete;
+        delta.other = other - snapshot.other;
+        statements.forEach((sql, count) -> {
+            int diff = count - snapshot.statements.getOrDefault(sql, 0);
+            if (diff > 0) {
+                delta.statements.put(sql, diff);
+            }
+        });
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        return "select=" + select + ";insert=" + insert + ";update=" + update
+                + ";delete=" + delete + ";other=" + other + ";total=" + getTotal();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hms.common.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a GROUP BY aggregation. Each row holds the groupBy values and the metrics keyed by
+ * their request name, e.g. {"status": "COMPLETED", "count": 12, "sum(totalAmount)": 1500000}.
+ */
+@Getter
+@Setter
+public class AggregateResponse {
+    private List<String> groupBy;
+    private List<String> metrics;
+    private List<Map<String, Object>> rows;
+}
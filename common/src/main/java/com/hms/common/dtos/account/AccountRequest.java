@@ -22,4 +22,6 @@ public class AccountRequest {
     private String password;
 
     private RoleEnum role;
+
+    private String branchId;
 }
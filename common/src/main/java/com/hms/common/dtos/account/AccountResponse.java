@@ -11,4 +11,5 @@ public class AccountResponse {
     private RoleEnum role;
     private boolean emailVerified;
     private String id;
+    private String branchId;
 }
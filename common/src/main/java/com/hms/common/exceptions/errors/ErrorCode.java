@@ -19,6 +19,8 @@ public enum ErrorCode {
     UPLOAD_FAILED(2010, HttpStatus.BAD_REQUEST, "Upload Failed"),
     SIGNATURE_INVALID(2011, HttpStatus.BAD_REQUEST, "Signature Invalid"),
     OAUTH2_ERROR(2012, HttpStatus.UNAUTHORIZED, "OAuth2 Error"),
+    TOO_MANY_REQUESTS(2013, HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests"),
+    SERVICE_OVERLOADED(2014, HttpStatus.SERVICE_UNAVAILABLE, "Service Overloaded"),
     INTERNAL_SERVER_ERROR(2099, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error"),
 
     // === OTP Errors (2100-2199) ===
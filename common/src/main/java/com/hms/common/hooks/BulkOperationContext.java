@@ -0,0 +1,46 @@
+package com.hms.common.hooks;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared state for a bulk operation (e.g. bulk delete).
+ *
+ * Entities are loaded lazily with a single findAllById query the first time a hook asks for them,
+ * so hooks can validate the whole batch without one repository call per id. Missing ids are simply
+ * absent from {@link #getEntities()}.
+ *
+ * @param <E>  Entity type
+ * @param <ID> Identifier type
+ */
+public class BulkOperationContext<E, ID> {
+
+    @Getter
+    private final List<ID> ids;
+
+    @Getter
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private final Function<List<ID>, List<E>> loader;
+
+    private List<E> entities;
+
+    public BulkOperationContext(Iterable<ID> ids, Function<List<ID>, List<E>> loader) {
+        List<ID> list = new ArrayList<>();
+        ids.forEach(list::add);
+        this.ids = List.copyOf(list);
+        this.loader = loader;
+    }
+
+    public List<E> getEntities() {
+        if (entities == null) {
+            entities = ids.isEmpty() ? List.of() : loader.apply(ids);
+        }
+        return entities;
+    }
+}
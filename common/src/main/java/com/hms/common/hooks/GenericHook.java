@@ -44,4 +44,16 @@ public interface GenericHook<E, ID, I, O> {
     default void validateBulkDelete(Iterable<ID> ids) {}
 
     default void afterBulkDelete(Iterable<ID> ids) {}
+
+    /**
+     * Batch-aware variant: the context preloads all targeted entities in one query.
+     * Defaults to the id-based hook so existing implementations keep working.
+     */
+    default void validateBulkDelete(BulkOperationContext<E, ID> context) {
+        validateBulkDelete(context.getIds());
+    }
+
+    default void afterBulkDelete(BulkOperationContext<E, ID> context) {
+        afterBulkDelete(context.getIds());
+    }
 }
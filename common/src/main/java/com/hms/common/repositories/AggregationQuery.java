@@ -0,0 +1,182 @@
+package com.hms.common.repositories;
+
+import com.hms.common.dtos.AggregateResponse;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles groupBy fields and metrics (count, count(field), sum/avg/min/max(field)) into a single
+ * Criteria GROUP BY query over the RSQL-filtered entity.
+ *
+ * Only basic attributes listed in the caller's whitelist may be grouped on or aggregated, so the
+ * endpoint never exposes columns the owning controller did not opt in. Requests yielding more than
+ * {@link #MAX_GROUPS} groups are rejected rather than truncated.
+ */
+public final class AggregationQuery {
+
+    public static final int MAX_GROUPS = 1000;
+
+    private static final Pattern METRIC = Pattern.compile("^(count|sum|avg|min|max)(?:\\((\\w+)\\))?$");
+
+    private AggregationQuery() {
+    }
+
+    public static <E> AggregateResponse execute(
+            EntityManager entityManager,
+            SimpleRepository<E, ?> repository,
+            @Nullable Specification<E> specification,
+            List<String> groupBy,
+            List<String> metrics,
+            Set<String> allowedFields) {
+        if (allowedFields == null || allowedFields.isEmpty()) {
+            throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, "Aggregation is not enabled for this resource");
+        }
+        Class<E> type = RepositoryEntityTypes.resolve(repository);
+        if (type == null) {
+            throw new ApiException(ErrorCode.INTERNAL_SERVER_ERROR, "Cannot resolve entity type for aggregation");
+        }
+        EntityType<E> metamodel = entityManager.getMetamodel().entity(type);
+
+        List<String> groups = groupBy == null ? List.of() : groupBy;
+        List<String> metricNames = metrics == null || metrics.isEmpty() ? List.of("count") : metrics;
+
+        for (String field : groups) {
+            requireField(metamodel, allowedFields, field);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groupExpressions = new ArrayList<>();
+        for (String field : groups) {
+            Path<Object> path = root.get(field);
+            selections.add(path);
+            groupExpressions.add(path);
+        }
+        for (String metric : metricNames) {
+            selections.add(metricExpression(metric, metamodel, allowedFields, root, cb));
+        }
+
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (!groupExpressions.isEmpty()) {
+            query.groupBy(groupExpressions);
+            query.orderBy(groupExpressions.stream().map(cb::asc).toList());
+        }
+
+        // One row past the cap tells a full result from a cut one; a partial aggregate is never returned
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(MAX_GROUPS + 1)
+                .getResultList();
+        if (tuples.size() > MAX_GROUPS) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR,
+                    "Aggregation yields more than " + MAX_GROUPS + " groups; narrow the filter or groupBy");
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            int index = 0;
+            for (String field : groups) {
+                row.put(field, tuple.get(index++));
+            }
+            for (String metric : metricNames) {
+                row.put(metric, tuple.get(index++));
+            }
+            rows.add(row);
+        }
+
+        AggregateResponse response = new AggregateResponse();
+        response.setGroupBy(groups);
+        response.setMetrics(metricNames);
+        response.setRows(rows);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Expression<?> metricExpression(
+            String metric, EntityType<E> metamodel, Set<String> allowedFields, Root<E> root, CriteriaBuilder cb) {
+        Matcher matcher = METRIC.matcher(metric);
+        if (!matcher.matches()) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unsupported metric: " + metric);
+        }
+        String function = matcher.group(1);
+        String field = matcher.group(2);
+        if (field == null) {
+            if (!"count".equals(function)) {
+                throw new ApiException(ErrorCode.VALIDATION_ERROR, "Metric " + function + " requires a field");
+            }
+            return cb.count(root);
+        }
+
+        Attribute<? super E, ?> attribute = requireField(metamodel, allowedFields, field);
+        Path<?> path = root.get(field);
+        Class<?> javaType = attribute.getJavaType();
+        boolean numeric = Number.class.isAssignableFrom(javaType)
+                || (javaType.isPrimitive() && javaType != boolean.class && javaType != char.class);
+
+        return switch (function) {
+            case "count" -> cb.count(path);
+            case "sum", "avg" -> {
+                if (!numeric) {
+                    throw new ApiException(ErrorCode.VALIDATION_ERROR, "Metric " + metric + " requires a numeric field");
+                }
+                Expression<Number> number = (Expression<Number>) path;
+                yield "sum".equals(function) ? cb.sum(number) : cb.avg(number);
+            }
+            case "min", "max" -> {
+                if (!Comparable.class.isAssignableFrom(javaType) && !numeric) {
+                    throw new ApiException(ErrorCode.VALIDATION_ERROR, "Metric " + metric + " requires a comparable field");
+                }
+                Expression<Comparable<Object>> comparable = (Expression<Comparable<Object>>) path;
+                yield "min".equals(function) ? cb.least(comparable) : cb.greatest(comparable);
+            }
+            default -> throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unsupported metric: " + metric);
+        };
+    }
+
+    private static <E> Attribute<? super E, ?> requireField(
+            EntityType<E> metamodel, Set<String> allowedFields, String field) {
+        if (!allowedFields.contains(field)) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Field is not allowed for aggregation: " + field);
+        }
+        Attribute<? super E, ?> attribute;
+        try {
+            attribute = metamodel.getAttribute(field);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Unknown field: " + field);
+        }
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "Field is not allowed for aggregation: " + field);
+        }
+        return attribute;
+    }
+}
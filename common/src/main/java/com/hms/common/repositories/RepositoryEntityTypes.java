@@ -0,0 +1,27 @@
+package com.hms.common.repositories;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the entity class managed by a SimpleRepository proxy (cached per repository class).
+ */
+public final class RepositoryEntityTypes {
+
+    private static final Map<Class<?>, Optional<Class<?>>> ENTITY_TYPES = new ConcurrentHashMap<>();
+
+    private RepositoryEntityTypes() {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <E> Class<E> resolve(SimpleRepository<E, ?> repository) {
+        return (Class<E>) ENTITY_TYPES.computeIfAbsent(repository.getClass(), repositoryClass ->
+                Optional.ofNullable(ResolvableType.forClass(repositoryClass).as(SimpleRepository.class).resolveGeneric(0)))
+                .orElse(null);
+    }
+}
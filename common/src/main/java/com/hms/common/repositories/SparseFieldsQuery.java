@@ -0,0 +1,149 @@
+package com.hms.common.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads only the requested columns of an entity for sparse fieldset requests.
+ *
+ * Works when every requested field is a basic attribute of the entity (DTO field name == entity
+ * attribute name). The id is always selected so hooks can still enrich rows. Returns null when
+ * the projection is not possible (derived DTO fields, associations, nested paths) and the caller
+ * falls back to loading full entities.
+ *
+ * Returned entities are detached, partially populated instances - only use them for mapping.
+ */
+public final class SparseFieldsQuery {
+
+    private SparseFieldsQuery() {
+    }
+
+    @Nullable
+    public static <E> Page<E> findAll(
+            EntityManager entityManager,
+            SimpleRepository<E, ?> repository,
+            @Nullable Specification<E> specification,
+            Pageable pageable,
+            Set<String> fields) {
+        if (entityManager == null || fields == null || fields.isEmpty()) {
+            return null;
+        }
+        Class<E> type = RepositoryEntityTypes.resolve(repository);
+        if (type == null) {
+            return null;
+        }
+        EntityType<E> metamodel;
+        try {
+            metamodel = entityManager.getMetamodel().entity(type);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Set<String> attributes = selectableAttributes(metamodel, fields);
+        if (attributes == null) {
+            return null;
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        applySpecification(specification, root, query, cb);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<E> content = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            E entity = BeanUtils.instantiateClass(type);
+            PropertyAccessor accessor = PropertyAccessorFactory.forDirectFieldAccess(entity);
+            for (String attribute : attributes) {
+                accessor.setPropertyValue(attribute, tuple.get(attribute));
+            }
+            content.add(entity);
+        }
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityManager, type, specification));
+    }
+
+    /**
+     * Id + requested fields, or null if one of the fields is not a basic attribute.
+     */
+    @Nullable
+    private static <E> Set<String> selectableAttributes(EntityType<E> metamodel, Set<String> fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        metamodel.getSingularAttributes().stream()
+                .filter(SingularAttribute::isId)
+                .map(Attribute::getName)
+                .forEach(attributes::add);
+        if (attributes.isEmpty()) {
+            return null;
+        }
+        for (String field : fields) {
+            Attribute<? super E, ?> attribute;
+            try {
+                attribute = metamodel.getAttribute(field);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                return null;
+            }
+            attributes.add(field);
+        }
+        return attributes;
+    }
+
+    private static <E> long count(EntityManager entityManager, Class<E> type, @Nullable Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(type);
+        applySpecification(specification, root, query, cb);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <E> void applySpecification(
+            @Nullable Specification<E> specification, Root<E> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
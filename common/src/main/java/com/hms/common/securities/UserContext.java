@@ -24,5 +24,6 @@ public class UserContext {
         private String id;
         private String role;
         private String email;
+        private String branchId;
     }
 }
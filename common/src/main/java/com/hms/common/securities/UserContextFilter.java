@@ -1,5 +1,6 @@
 package com.hms.common.securities;
 
+import com.hms.common.branches.BranchContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,11 +22,13 @@ public class UserContextFilter extends OncePerRequestFilter {
         String userId = request.getHeader("X-User-ID");
         String userRole = request.getHeader("X-User-Role");
         String userEmail = request.getHeader("X-User-Email");
+        String branchId = request.getHeader(BranchContext.HEADER);
         if (userId != null) {
             UserContext.User user = new UserContext.User();
             user.setId(userId);
             user.setRole(userRole);
             user.setEmail(userEmail);
+            user.setBranchId(branchId);
             UserContext.setUser(user);
         }
 
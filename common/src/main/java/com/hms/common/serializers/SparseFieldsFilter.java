@@ -0,0 +1,102 @@
+package com.hms.common.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.dtos.PageResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson filter implementing sparse fieldsets (?fields=id,status,patient.fullName).
+ *
+ * Paths are relative to the payload: ApiResponse.data, PageResponse.content or Page.content.
+ * Envelope properties (code, message, page, totalElements, errors...) are always written.
+ * Selecting a parent ("patient") keeps its whole subtree; selecting a child ("patient.fullName")
+ * keeps the parent object with that child only.
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    public static final String FILTER_ID = "sparseFields";
+    public static final String PARAM = "fields";
+
+    private final Set<String> fields;
+
+    public SparseFieldsFilter(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parse the raw ?fields= value. Returns an empty set when nothing is selected.
+     */
+    public static Set<String> parse(String raw) {
+        if (!StringUtils.hasText(raw)) {
+            return Set.of();
+        }
+        return Arrays.stream(raw.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        if (include(gen, writer.getName())) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    private boolean include(JsonGenerator gen, String name) {
+        JsonStreamContext context = gen.getOutputContext();
+        if (isEnvelope(context.getCurrentValue())) {
+            return true;
+        }
+
+        Deque<String> path = new ArrayDeque<>();
+        path.push(name);
+        JsonStreamContext parent = context.getParent();
+        while (parent != null && !parent.inRoot()) {
+            if (parent.inObject()) {
+                Object owner = parent.getCurrentValue();
+                if (isEnvelope(owner)) {
+                    if (!payloadField(owner).equals(parent.getCurrentName())) {
+                        return true;
+                    }
+                    break;
+                }
+                path.push(parent.getCurrentName());
+            }
+            parent = parent.getParent();
+        }
+        return matches(String.join(".", path));
+    }
+
+    private boolean matches(String path) {
+        for (String field : fields) {
+            if (field.equals(path) || path.startsWith(field + ".") || field.startsWith(path + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEnvelope(Object value) {
+        return value instanceof ApiResponse || value instanceof PageResponse || value instanceof Page;
+    }
+
+    private static String payloadField(Object envelope) {
+        return envelope instanceof ApiResponse ? "data" : "content";
+    }
+}
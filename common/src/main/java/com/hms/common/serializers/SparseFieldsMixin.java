@@ -0,0 +1,11 @@
+package com.hms.common.serializers;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * Mixed into Object on the ObjectMapper copy of SparseFieldsAdvice, so every bean of a ?fields= response
+ * goes through {@link SparseFieldsFilter#FILTER_ID}. The shared ObjectMapper never sees it.
+ */
+@JsonFilter(SparseFieldsFilter.FILTER_ID)
+public abstract class SparseFieldsMixin {
+}
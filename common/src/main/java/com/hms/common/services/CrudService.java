@@ -1,21 +1,47 @@
 package com.hms.common.services;
 
+import com.hms.common.datasources.QueryPhase;
+import com.hms.common.dtos.AggregateResponse;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.exceptions.errors.ApiException;
 import com.hms.common.exceptions.errors.ErrorCode;
+import com.hms.common.hooks.BulkOperationContext;
 import com.hms.common.hooks.GenericHook;
 import com.hms.common.mappers.GenericMapper;
+import com.hms.common.repositories.AggregationQuery;
 import com.hms.common.repositories.SimpleRepository;
+import com.hms.common.repositories.SparseFieldsQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface CrudService<E, ID, I, O> {
 
     PageResponse<O> findAll(Pageable pageable, Specification<E> specification);
 
+    /**
+     * Sparse fieldset variant of findAll. Implementations may load only the requested columns;
+     * the default ignores the field list.
+     */
+    default PageResponse<O> findAll(Pageable pageable, Specification<E> specification, Set<String> fields) {
+        return findAll(pageable, specification);
+    }
+
+    /**
+     * GROUP BY aggregation over the filtered entities. Only fields in allowedFields may be used.
+     */
+    default AggregateResponse aggregate(
+            Specification<E> specification, List<String> groupBy, List<String> metrics, Set<String> allowedFields) {
+        throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, "Aggregation is not supported by this service");
+    }
+
     O findById(ID id);
 
     O create(I input);
@@ -35,10 +61,37 @@ public interface CrudService<E, ID, I, O> {
         PageResponse<O> response =
                 PageResponse.fromPage(
                         repository.findAll(specification, pageable).map(mapper::entityToResponse));
-        hook.enrichFindAll(response);
+        QueryPhase.run(phase(hook, "enrichFindAll"), () -> hook.enrichFindAll(response));
         return response;
     }
 
+    default PageResponse<O> defaultFindAll(
+            Pageable pageable,
+            Specification<E> specification,
+            Set<String> fields,
+            EntityManager entityManager,
+            GenericMapper<E, I, O> mapper,
+            SimpleRepository<E, ID> repository,
+            GenericHook<E, ID, I, O> hook) {
+        Page<E> page = SparseFieldsQuery.findAll(entityManager, repository, specification, pageable, fields);
+        if (page == null) {
+            return defaultFindAll(pageable, specification, mapper, repository, hook);
+        }
+        PageResponse<O> response = PageResponse.fromPage(page.map(mapper::entityToResponse));
+        QueryPhase.run(phase(hook, "enrichFindAll"), () -> hook.enrichFindAll(response));
+        return response;
+    }
+
+    default AggregateResponse defaultAggregate(
+            Specification<E> specification,
+            List<String> groupBy,
+            List<String> metrics,
+            Set<String> allowedFields,
+            EntityManager entityManager,
+            SimpleRepository<E, ID> repository) {
+        return AggregationQuery.execute(entityManager, repository, specification, groupBy, metrics, allowedFields);
+    }
+
     default O defaultFindById(
             ID id,
             GenericMapper<E, I, O> mapper,
@@ -47,7 +100,7 @@ public interface CrudService<E, ID, I, O> {
         E entity =
                 repository.findById(id).orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND));
         O response = mapper.entityToResponse(entity);
-        hook.enrichFindById(response);
+        QueryPhase.run(phase(hook, "enrichFindById"), () -> hook.enrichFindById(response));
         return response;
     }
 
@@ -57,12 +110,12 @@ public interface CrudService<E, ID, I, O> {
             SimpleRepository<E, ID> repository,
             GenericHook<E, ID, I, O> hook) {
         Map<String, Object> context = new HashMap<>();
-        hook.validateCreate(input, context);
+        QueryPhase.run(phase(hook, "validateCreate"), () -> hook.validateCreate(input, context));
         E entity = mapper.requestToEntity(input);
-        hook.enrichCreate(input, entity, context);
+        QueryPhase.run(phase(hook, "enrichCreate"), () -> hook.enrichCreate(input, entity, context));
         E savedEntity = repository.save(entity);
         O response = mapper.entityToResponse(savedEntity);
-        hook.afterCreate(entity, response, context);
+        QueryPhase.run(phase(hook, "afterCreate"), () -> hook.afterCreate(entity, response, context));
         return response;
     }
 
@@ -83,12 +136,12 @@ public interface CrudService<E, ID, I, O> {
         E entity =
                 repository.findById(id).orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND));
         Map<String, Object> context = new HashMap<>();
-        hook.validateUpdate(id, input, entity, context);
+        QueryPhase.run(phase(hook, "validateUpdate"), () -> hook.validateUpdate(id, input, entity, context));
         mapper.partialUpdate(input, entity);
-        hook.enrichUpdate(input, entity, context);
-        entity = repository.save(entity);
-        O response = mapper.entityToResponse(entity);
-        hook.afterUpdate(entity, response, context);
+        QueryPhase.run(phase(hook, "enrichUpdate"), () -> hook.enrichUpdate(input, entity, context));
+        E savedEntity = repository.save(entity);
+        O response = mapper.entityToResponse(savedEntity);
+        QueryPhase.run(phase(hook, "afterUpdate"), () -> hook.afterUpdate(savedEntity, response, context));
         return response;
     }
 
@@ -104,9 +157,9 @@ public interface CrudService<E, ID, I, O> {
 
     default void defaultDelete(
             ID id, SimpleRepository<E, ID> repository, GenericHook<E, ID, I, O> hook) {
-        hook.validateDelete(id);
+        QueryPhase.run(phase(hook, "validateDelete"), () -> hook.validateDelete(id));
         repository.deleteById(id);
-        hook.afterDelete(id);
+        QueryPhase.run(phase(hook, "afterDelete"), () -> hook.afterDelete(id));
     }
 
     default void defaultDelete(ID id, SimpleRepository<E, ID> repository) {
@@ -115,12 +168,20 @@ public interface CrudService<E, ID, I, O> {
 
     default void defaultDeleteAll(
             Iterable<ID> ids, SimpleRepository<E, ID> repository, GenericHook<E, ID, I, O> policy) {
-        policy.validateBulkDelete(ids);
-        repository.deleteAllByIdInBatch(ids);
-        policy.afterBulkDelete(ids);
+        BulkOperationContext<E, ID> context = new BulkOperationContext<>(ids, repository::findAllById);
+        QueryPhase.run(phase(policy, "validateBulkDelete"), () -> policy.validateBulkDelete(context));
+        repository.deleteAllByIdInBatch(context.getIds());
+        QueryPhase.run(phase(policy, "afterBulkDelete"), () -> policy.afterBulkDelete(context));
     }
 
     default void defaultDeleteAll(Iterable<ID> ids, SimpleRepository<E, ID> repository) {
         repository.deleteAllByIdInBatch(ids);
     }
-}
\ No newline at end of file
+
+    /**
+     * Phase label for slow-query attribution, e.g. "ScheduleHook.validateBulkDelete".
+     */
+    private static String phase(Object hook, String step) {
+        return ClassUtils.getUserClass(hook).getSimpleName() + "." + step;
+    }
+}
@@ -1,13 +1,20 @@
 package com.hms.common.services;
 
+import com.hms.common.dtos.AggregateResponse;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.hooks.GenericHook;
 import com.hms.common.mappers.GenericMapper;
 import com.hms.common.repositories.SimpleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Scope;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
 
 /**
  * @param <E> entity type
@@ -23,12 +30,34 @@ public class GenericService<E, ID, I, O> implements CrudService<E, ID, I, O> {
     private final GenericMapper<E, I, O> mapper;
     private final GenericHook<E, ID, I, O> hook;
 
+    // Injected after construction (beans are created with new in each service's ServiceRegistration)
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read-only transaction: routed to the read replica when one is configured.
+     */
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<O> findAll(Pageable pageable, Specification<E> specification) {
         return defaultFindAll(pageable, specification, mapper, repository, hook);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<O> findAll(Pageable pageable, Specification<E> specification, Set<String> fields) {
+        return defaultFindAll(pageable, specification, fields, entityManager, mapper, repository, hook);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AggregateResponse aggregate(
+            Specification<E> specification, List<String> groupBy, List<String> metrics, Set<String> allowedFields) {
+        return defaultAggregate(specification, groupBy, metrics, allowedFields, entityManager, repository);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public O findById(ID id) {
         return defaultFindById(id, mapper, repository, hook);
     }
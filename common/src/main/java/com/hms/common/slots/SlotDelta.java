@@ -0,0 +1,22 @@
+package com.hms.common.slots;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Change to a doctor's bookable slots on one clinic-local date, pushed to subscribed booking UIs.
+ *
+ * @param times slot start times (HH:mm); empty for {@link Type#INVALIDATED}
+ */
+public record SlotDelta(String doctorId, LocalDate date, Type type, List<String> times, Instant at) {
+
+    public enum Type {
+        BOOKED,
+        RELEASED,
+        /**
+         * Schedule hours or an appointment time changed - clients reload the day's slots.
+         */
+        INVALIDATED
+    }
+}
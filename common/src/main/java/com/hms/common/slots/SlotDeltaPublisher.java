@@ -0,0 +1,64 @@
+package com.hms.common.slots;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Publishes {@link SlotDelta}s on Redis pub/sub. Inside a transaction the delta is sent after
+ * commit, so subscribers never see a booking that was rolled back. Publishing is best effort: a
+ * missed delta only delays the UI until its next reload.
+ */
+@Slf4j
+public class SlotDeltaPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SlotEventsProperties properties;
+
+    public SlotDeltaPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, SlotEventsProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public void booked(String doctorId, LocalDate date, List<String> times) {
+        publish(new SlotDelta(doctorId, date, SlotDelta.Type.BOOKED, times, Instant.now()));
+    }
+
+    public void released(String doctorId, LocalDate date, List<String> times) {
+        publish(new SlotDelta(doctorId, date, SlotDelta.Type.RELEASED, times, Instant.now()));
+    }
+
+    public void invalidated(String doctorId, LocalDate date) {
+        publish(new SlotDelta(doctorId, date, SlotDelta.Type.INVALIDATED, List.of(), Instant.now()));
+    }
+
+    public void publish(SlotDelta delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(delta);
+                }
+            });
+        } else {
+            send(delta);
+        }
+    }
+
+    private void send(SlotDelta delta) {
+        try {
+            redisTemplate.convertAndSend(properties.getChannelPrefix() + delta.doctorId() + ":" + delta.date(),
+                    objectMapper.writeValueAsString(delta));
+        } catch (Exception e) {
+            log.warn("Failed to publish slot delta for doctor {} on {}: {}", delta.doctorId(), delta.date(), e.getMessage());
+        }
+    }
+}
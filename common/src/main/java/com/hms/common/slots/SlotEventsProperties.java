@@ -0,0 +1,18 @@
+package com.hms.common.slots;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "hms.slot-events")
+@Getter
+@Setter
+public class SlotEventsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Deltas go to &lt;prefix&gt;&lt;doctorId&gt;:&lt;date&gt;; the gateway pattern-subscribes to &lt;prefix&gt;*.
+     */
+    private String channelPrefix = "hms:slots:";
+}
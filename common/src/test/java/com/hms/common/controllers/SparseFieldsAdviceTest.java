@@ -0,0 +1,69 @@
+package com.hms.common.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.common.dtos.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseFieldsAdviceTest {
+
+    record Invoice(String id, String status, BigDecimal total) {
+    }
+
+    private final ObjectMapper sharedMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SparseFieldsAdvice advice = new SparseFieldsAdvice(sharedMapper);
+
+    @Test
+    @DisplayName("?fields= should replace the body with the filtered tree, keeping exact decimals")
+    void filtersBody() throws Exception {
+        MappingJacksonValue body = apply(ApiResponse.ok(new Invoice("i1", "PAID", new BigDecimal("1250000.50"))), "id,total");
+
+        JsonNode data = ((JsonNode) body.getValue()).get("data");
+        assertEquals("i1", data.get("id").asText());
+        assertFalse(data.has("status"));
+        assertEquals("1250000.50", sharedMapper.writeValueAsString(data.get("total")));
+    }
+
+    @Test
+    @DisplayName("Without ?fields= the body should be left untouched")
+    void noFields() {
+        ApiResponse<Invoice> response = ApiResponse.ok(new Invoice("i1", "PAID", BigDecimal.TEN));
+        assertSame(response, apply(response, null).getValue());
+    }
+
+    @Test
+    @DisplayName("The shared ObjectMapper should not pick up the sparse fields filter")
+    void sharedMapperUnaffected() throws Exception {
+        apply(ApiResponse.ok(new Invoice("i1", "PAID", BigDecimal.TEN)), "id");
+
+        JsonNode json = sharedMapper.readTree(sharedMapper.writeValueAsString(new Invoice("i2", "DRAFT", BigDecimal.ONE)));
+        assertTrue(json.has("status"));
+        assertTrue(json.has("total"));
+    }
+
+    private MappingJacksonValue apply(Object value, String fields) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/invoices/i1");
+        if (fields != null) {
+            request.setParameter("fields", fields);
+        }
+        MappingJacksonValue body = new MappingJacksonValue(value);
+        advice.beforeBodyWriteInternal(body, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+        return body;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hms.common.datasources;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryShapeRegistryTest {
+
+    @Test
+    @DisplayName("Literals and IN lists should collapse into one shape")
+    void shapeOfCollapsesLiterals() {
+        assertEquals("select * from appointment where doctor_id = ? and status in (?)",
+                QueryShapeRegistry.shapeOf("select * from appointment  where doctor_id = 'd1' and status in (?, ?, ?)"));
+        assertEquals("select * from invoice where total > ?",
+                QueryShapeRegistry.shapeOf("select * from invoice where total > 150.5"));
+    }
+
+    @Test
+    @DisplayName("Shapes should be ranked by max time and keep the slowest phase")
+    void topRanksByMaxTime() {
+        QueryShapeRegistry registry = new QueryShapeRegistry(10);
+        registry.record("select a from t where id = 1", 5, "A#fast");
+        registry.record("select a from t where id = 2", 40, "A#slow");
+        registry.record("select b from u", 20, "B#find");
+
+        List<QueryShapeRegistry.QueryShapeSummary> top = registry.top(2);
+        assertEquals(2, top.size());
+        assertEquals("select a from t where id = ?", top.get(0).sql());
+        assertEquals(2, top.get(0).count());
+        assertEquals(40, top.get(0).maxMillis());
+        assertEquals("A#slow", top.get(0).slowestPhase());
+        assertEquals("select b from u", top.get(1).sql());
+    }
+
+    @Test
+    @DisplayName("New shapes should be ignored once the registry is full")
+    void boundedShapes() {
+        QueryShapeRegistry registry = new QueryShapeRegistry(1);
+        registry.record("select a from t", 1, "-");
+        registry.record("select b from u", 1, "-");
+        assertEquals(1, registry.top(10).size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.hms.common.datasources;
+
+import com.hms.common.securities.UserContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing checks against two local H2 instances standing in for the primary and the replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary_db", "primary");
+        DataSource replica = h2("replica_db", "replica");
+        meterRegistry = new SimpleMeterRegistry();
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replica, new ReadYourWritesTracker(Duration.ofSeconds(30)), meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transaction should read from the replica")
+    void readOnlyGoesToReplica() {
+        assertEquals("replica", readOnlyTx.execute(status -> whoAmI()));
+        assertEquals(1.0, decisions("replica", "read-only"));
+    }
+
+    @Test
+    @DisplayName("Write transaction and non-transactional access should use the primary")
+    void writesGoToPrimary() {
+        assertEquals("primary", writeTx.execute(status -> whoAmI()));
+        assertEquals("primary", whoAmI());
+        assertEquals(1.0, decisions("primary", "write"));
+        assertTrue(decisions("primary", "no-transaction") >= 1.0);
+    }
+
+    @Test
+    @DisplayName("Reads right after a user's own write should stay on the primary")
+    void readYourWritesWindow() {
+        UserContext.User user = new UserContext.User();
+        user.setId("user-1");
+        UserContext.setUser(user);
+
+        writeTx.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = name"));
+
+        assertEquals("primary", readOnlyTx.execute(status -> whoAmI()));
+        assertEquals(1.0, decisions("primary", "read-your-writes"));
+
+        UserContext.User other = new UserContext.User();
+        other.setId("user-2");
+        UserContext.setUser(other);
+        assertEquals("replica", readOnlyTx.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private double decisions(String pool, String reason) {
+        return meterRegistry.get("hms.datasource.routing").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+
+    private static DataSource h2(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate init = new JdbcTemplate(dataSource);
+        init.execute("DROP TABLE IF EXISTS marker");
+        init.execute("CREATE TABLE marker (name VARCHAR(20))");
+        init.update("INSERT INTO marker VALUES (?)", marker);
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.hms.common.datasources;
+
+import com.hms.common.testing.SqlBudget;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement counting through a datasource-proxy wrapped H2 instance.
+ */
+class SqlStatementCounterTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql_count_db;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SqlStatementCounter())
+                .build();
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY, name VARCHAR(20))");
+        jdbc.update("DELETE FROM item");
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Statements should be counted by type on the current thread")
+    @SqlBudget(select = 2, insert = 2, delete = 0)
+    void countsByType() {
+        jdbc.update("INSERT INTO item VALUES (1, 'a')");
+        jdbc.update("INSERT INTO item VALUES (2, 'b')");
+        jdbc.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+        jdbc.queryForObject("SELECT name FROM item WHERE id = 1", String.class);
+
+        SqlStatementCounts counts = SqlStatementCounter.current();
+        assertEquals(2, counts.getInsert());
+        assertEquals(2, counts.getSelect());
+        assertEquals(4, counts.getTotal());
+    }
+
+    @Test
+    @DisplayName("Repeated identical statements should be reported as N+1 candidates")
+    void detectsRepeatedStatements() {
+        jdbc.update("INSERT INTO item VALUES (1, 'a')");
+        for (int i = 0; i < 3; i++) {
+            jdbc.queryForObject("SELECT name FROM item WHERE id = ?", String.class, 1);
+        }
+
+        var repeated = SqlStatementCounter.current().repeated(2);
+        assertEquals(1, repeated.size());
+        assertEquals(3, repeated.get("SELECT name FROM item WHERE id = ?"));
+    }
+
+    @Test
+    @DisplayName("since() should only report statements after the snapshot")
+    void deltaSinceSnapshot() {
+        jdbc.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+        SqlStatementCounts snapshot = SqlStatementCounter.current().copy();
+        jdbc.update("INSERT INTO item VALUES (3, 'c')");
+
+        SqlStatementCounts delta = SqlStatementCounter.current().since(snapshot);
+        assertEquals(0, delta.getSelect());
+        assertEquals(1, delta.getInsert());
+        assertTrue(delta.getStatements().containsKey("INSERT INTO item VALUES (3, 'c')"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.hms.common.repositories;
+
+import com.hms.common.dtos.AggregateResponse;
+import com.hms.common.exceptions.errors.ApiException;
+import com.hms.common.exceptions.errors.ErrorCode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Metric parsing, field whitelist and group cap of /aggregate against the embedded H2 database.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = RepositoryTestConfig.class)
+class AggregationQueryTest {
+
+    @Entity(name = "AggItem")
+    public static class AggItem {
+        @Id
+        private Long id;
+        private String status;
+        private String code;
+        private BigDecimal amount;
+        private int quantity;
+        @ManyToOne
+        private AggItem parent;
+
+        public AggItem() {
+        }
+
+        AggItem(Long id, String status, String code, BigDecimal amount, int quantity) {
+            this.id = id;
+            this.status = status;
+            this.code = code;
+            this.amount = amount;
+            this.quantity = quantity;
+        }
+    }
+
+    public interface AggItemRepository extends SimpleRepository<AggItem, Long> {
+    }
+
+    private static final Set<String> ALLOWED = Set.of("status", "code", "amount", "quantity", "parent");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AggItemRepository repository;
+
+    @BeforeEach
+    void seed() {
+        entityManager.persist(new AggItem(1L, "PAID", "A", new BigDecimal("100.00"), 1));
+        entityManager.persist(new AggItem(2L, "PAID", "A", new BigDecimal("250.00"), 3));
+        entityManager.persist(new AggItem(3L, "DRAFT", "B", new BigDecimal("40.00"), 2));
+        // One distinct code per row past the group cap
+        for (long id = 4; id <= AggregationQuery.MAX_GROUPS + 4; id++) {
+            entityManager.persist(new AggItem(id, "VOID", "C" + id, BigDecimal.ONE, 0));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Groups should be ordered and carry every metric under its request name")
+    void groupsWithMetrics() {
+        Specification<AggItem> notVoid = (root, query, cb) -> cb.notEqual(root.get("status"), "VOID");
+
+        AggregateResponse response = aggregate(notVoid, List.of("status"),
+                List.of("count", "sum(amount)", "avg(quantity)", "max(amount)", "count(code)"));
+
+        List<Map<String, Object>> rows = response.getRows();
+        assertEquals(2, rows.size());
+        assertEquals("DRAFT", rows.get(0).get("status"));
+        assertEquals("PAID", rows.get(1).get("status"));
+        assertEquals(2L, rows.get(1).get("count"));
+        assertEquals(0, new BigDecimal("350.00").compareTo((BigDecimal) rows.get(1).get("sum(amount)")));
+        assertEquals(2.0, ((Number) rows.get(1).get("avg(quantity)")).doubleValue());
+        assertEquals(0, new BigDecimal("250.00").compareTo((BigDecimal) rows.get(1).get("max(amount)")));
+        assertEquals(2L, rows.get(1).get("count(code)"));
+    }
+
+    @Test
+    @DisplayName("Without metrics a plain count should be returned")
+    void defaultsToCount() {
+        AggregateResponse response = aggregate(null, null, null);
+
+        assertEquals(List.of("count"), response.getMetrics());
+        assertEquals(1, response.getRows().size());
+        assertEquals((long) AggregationQuery.MAX_GROUPS + 4, response.getRows().getFirst().get("count"));
+    }
+
+    @Test
+    @DisplayName("Malformed metrics and non-numeric sums should be rejected")
+    void rejectsBadMetrics() {
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("median(amount)")));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("sum")));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("sum(amount) ")));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("sum(status)")));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("avg(code)")));
+    }
+
+    @Test
+    @DisplayName("Fields outside the whitelist, unknown fields and associations should be rejected")
+    void enforcesWhitelist() {
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, List.of("id"), null));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, null, List.of("max(id)")));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, List.of("parent"), null));
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, List.of("missing"), null, Set.of("missing")));
+        assertError(ErrorCode.OPERATION_NOT_ALLOWED, () -> aggregate(null, List.of("status"), null, Set.of()));
+    }
+
+    @Test
+    @DisplayName("More groups than the cap should be rejected instead of truncated")
+    void rejectsTooManyGroups() {
+        assertError(ErrorCode.VALIDATION_ERROR, () -> aggregate(null, List.of("code"), null));
+    }
+
+    private AggregateResponse aggregate(Specification<AggItem> specification, List<String> groupBy, List<String> metrics) {
+        return aggregate(specification, groupBy, metrics, ALLOWED);
+    }
+
+    private AggregateResponse aggregate(
+            Specification<AggItem> specification, List<String> groupBy, List<String> metrics, Set<String> allowed) {
+        return AggregationQuery.execute(entityManager, repository, specification, groupBy, metrics, allowed);
+    }
+
+    private static void assertError(ErrorCode expected, Runnable call) {
+        ApiException e = assertThrows(ApiException.class, call::run);
+        assertEquals(expected, e.getErrorCode());
+    }
+}
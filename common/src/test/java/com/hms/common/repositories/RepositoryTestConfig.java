@@ -0,0 +1,15 @@
+package com.hms.common.repositories;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * @DataJpaTest context for the query helper tests: the entities and repositories nested in the test classes
+ * of this package, on the embedded H2 database.
+ */
+@Configuration
+@EntityScan(basePackageClasses = RepositoryTestConfig.class)
+@EnableJpaRepositories(basePackageClasses = RepositoryTestConfig.class, considerNestedRepositories = true)
+class RepositoryTestConfig {
+}
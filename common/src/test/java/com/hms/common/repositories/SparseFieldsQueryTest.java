@@ -0,0 +1,98 @@
+package com.hms.common.repositories;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Column projection for ?fields= against the embedded H2 database.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = RepositoryTestConfig.class)
+class SparseFieldsQueryTest {
+
+    @Entity(name = "SparseItem")
+    public static class SparseItem {
+        @Id
+        private Long id;
+        private String name;
+        private String status;
+        @ManyToOne
+        private SparseItem parent;
+
+        public SparseItem() {
+        }
+
+        SparseItem(Long id, String name, String status) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+        }
+    }
+
+    public interface SparseItemRepository extends SimpleRepository<SparseItem, Long> {
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SparseItemRepository repository;
+
+    @BeforeEach
+    void seed() {
+        entityManager.persist(new SparseItem(1L, "alpha", "ACTIVE"));
+        entityManager.persist(new SparseItem(2L, "bravo", "ACTIVE"));
+        entityManager.persist(new SparseItem(3L, "charlie", "ACTIVE"));
+        entityManager.persist(new SparseItem(4L, "delta", "INACTIVE"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Only the id and the requested columns should be loaded, with paging, sorting and the specification applied")
+    void projectsRequestedColumns() {
+        Specification<SparseItem> active = (root, query, cb) -> cb.equal(root.get("status"), "ACTIVE");
+
+        Page<SparseItem> page = find(active, PageRequest.of(0, 2, Sort.by("name").descending()), Set.of("name"));
+
+        assertNotNull(page);
+        assertEquals(3, page.getTotalElements());
+        List<SparseItem> content = page.getContent();
+        assertEquals(List.of(3L, 2L), content.stream().map(item -> item.id).toList());
+        assertEquals("charlie", content.getFirst().name);
+        assertNull(content.getFirst().status);
+    }
+
+    @Test
+    @DisplayName("Associations, unknown fields and nested paths should fall back to full entities")
+    void fallsBackWhenNotProjectable() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        assertNull(find(null, pageable, Set.of("name", "parent")));
+        assertNull(find(null, pageable, Set.of("unknown")));
+        assertNull(find(null, pageable, Set.of("parent.name")));
+        assertNull(find(null, pageable, Set.of()));
+    }
+
+    private Page<SparseItem> find(Specification<SparseItem> specification, PageRequest pageable, Set<String> fields) {
+        return SparseFieldsQuery.findAll(entityManager, repository, specification, pageable, fields);
+    }
+}
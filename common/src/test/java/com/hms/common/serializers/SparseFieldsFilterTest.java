@@ -0,0 +1,87 @@
+package com.hms.common.serializers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.dtos.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseFieldsFilterTest {
+
+    record Patient(String id, String fullName, String phone) {
+    }
+
+    record Visit(String id, String status, Patient patient) {
+    }
+
+    private static final Visit VISIT = new Visit("v1", "SCHEDULED", new Patient("p1", "An Nguyen", "0901"));
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(Object.class, SparseFieldsMixin.class)
+            .build();
+
+    @Test
+    @DisplayName("?fields= should be split on commas, trimmed and stripped of blanks")
+    void parse() {
+        assertEquals(Set.of("id", "patient.fullName"), SparseFieldsFilter.parse(" id, ,patient.fullName ,"));
+        assertTrue(SparseFieldsFilter.parse(null).isEmpty());
+        assertTrue(SparseFieldsFilter.parse(" , ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A nested path should keep the parent object with that child only")
+    void nestedPath() throws Exception {
+        JsonNode data = write(ApiResponse.ok(VISIT), "id,patient.fullName").get("data");
+
+        assertEquals("v1", data.get("id").asText());
+        assertFalse(data.has("status"));
+        assertEquals("An Nguyen", data.get("patient").get("fullName").asText());
+        assertFalse(data.get("patient").has("phone"));
+        assertFalse(data.get("patient").has("id"));
+    }
+
+    @Test
+    @DisplayName("Selecting a parent should keep its whole subtree")
+    void parentKeepsSubtree() throws Exception {
+        JsonNode data = write(ApiResponse.ok(VISIT), "patient").get("data");
+
+        assertFalse(data.has("id"));
+        assertEquals("0901", data.get("patient").get("phone").asText());
+        assertEquals("p1", data.get("patient").get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Envelope properties should always be written and paths start at the page content")
+    void envelopeAlwaysWritten() throws Exception {
+        var page = PageResponse.fromPage(new PageImpl<>(List.of(VISIT), PageRequest.of(0, 10), 1));
+        JsonNode body = write(ApiResponse.ok(page), "status");
+
+        assertEquals(1000, body.get("code").asInt());
+        assertTrue(body.has("timestamp"));
+        assertEquals(1, body.get("data").get("totalElements").asLong());
+        JsonNode item = body.get("data").get("content").get(0);
+        assertEquals("SCHEDULED", item.get("status").asText());
+        assertFalse(item.has("id"));
+        assertFalse(item.has("patient"));
+    }
+
+    private JsonNode write(Object value, String fields) throws Exception {
+        String json = mapper.writer(new SimpleFilterProvider()
+                        .addFilter(SparseFieldsFilter.FILTER_ID, new SparseFieldsFilter(SparseFieldsFilter.parse(fields)))
+                        .setFailOnUnknownId(false))
+                .writeValueAsString(value);
+        return mapper.readTree(json);
+    }
+}
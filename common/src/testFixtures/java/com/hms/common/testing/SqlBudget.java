@@ -0,0 +1,44 @@
+package com.hms.common.testing;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when it executes more SQL statements than allowed.
+ *
+ * Counts statements run on the test thread during the test method (MockMvc requests included;
+ * @BeforeEach setup is not counted). Requires hms.sql.count.enabled=true in the test context.
+ * Negative values mean "no limit".
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;SqlBudget(select = 3, maxRepeats = 1)
+ * void findAllDoesNotLoadPerRow() throws Exception { mockMvc.perform(get("/exams/all")); }
+ * </pre>
+ *
+ * Add testImplementation(testFixtures(project(":common"))) to the service's build.gradle.kts.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    int select() default -1;
+
+    int insert() default -1;
+
+    int update() default -1;
+
+    int delete() default -1;
+
+    int total() default -1;
+
+    /**
+     * Maximum executions of one identical statement. 1 flags any N+1 loop.
+     */
+    int maxRepeats() default -1;
+}
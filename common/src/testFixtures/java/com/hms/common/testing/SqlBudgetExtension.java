@@ -0,0 +1,65 @@
+package com.hms.common.testing;
+
+import com.hms.common.datasources.SqlStatementCounter;
+import com.hms.common.datasources.SqlStatementCounts;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces {@link SqlBudget}: resets the thread's statement counts right before the test method
+ * and compares them with the budget right after it.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlBudget.class))
+                .orElse(null);
+        SqlStatementCounts counts = SqlStatementCounter.current();
+        SqlStatementCounter.reset();
+        if (budget == null) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        check(violations, "select", counts.getSelect(), budget.select());
+        check(violations, "insert", counts.getInsert(), budget.insert());
+        check(violations, "update", counts.getUpdate(), budget.update());
+        check(violations, "delete", counts.getDelete(), budget.delete());
+        check(violations, "total", counts.getTotal(), budget.total());
+
+        Map<String, Integer> repeated = budget.maxRepeats() >= 0
+                ? counts.repeated(budget.maxRepeats() + 1)
+                : Map.of();
+        if (!repeated.isEmpty()) {
+            violations.add("statements repeated more than " + budget.maxRepeats() + " time(s) (N+1?)");
+        }
+
+        if (!violations.isEmpty()) {
+            StringBuilder message = new StringBuilder("SQL budget exceeded: ")
+                    .append(String.join(", ", violations))
+                    .append(" [").append(counts).append("]");
+            Map<String, Integer> shown = repeated.isEmpty() ? counts.getStatements() : repeated;
+            shown.forEach((sql, times) -> message.append("\n  ").append(times).append("x ").append(sql));
+            throw new AssertionError(message.toString());
+        }
+    }
+
+    private static void check(List<String> violations, String type, int actual, int limit) {
+        if (limit >= 0 && actual > limit) {
+            violations.add(type + " " + actual + " > " + limit);
+        }
+    }
+}
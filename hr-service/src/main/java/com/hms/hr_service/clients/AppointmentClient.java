@@ -2,18 +2,21 @@ package com.hms.hr_service.clients;
 
 import com.hms.common.configs.FeignConfig;
 import com.hms.common.dtos.ApiResponse;
+import com.hms.hr_service.dtos.schedule.DoctorDateCount;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Feign client for appointment-service.
  * Used for:
- * - Cascade cancel when schedule is cancelled
- * - Checking appointment count before schedule delete
+ * - Cascade cancel (and compensating restore) when schedules are cancelled (single and batch)
+ * - Checking appointment count before schedule delete (single and batch)
  * 
  * Note: Using direct URL to bypass Eureka service discovery issues.
  */
@@ -40,6 +43,20 @@ public interface AppointmentClient {
             @RequestParam("reason") String reason
     );
 
+    /**
+     * Batch variant of cancelByDoctorAndDate.
+     * Cancels the appointments of many schedules in a single call.
+     *
+     * @param pairs  (doctorId, date) pairs to cancel
+     * @param reason Cancellation reason
+     * @return The same pairs with count of cancelled appointments filled in
+     */
+    @PostMapping("/appointments/bulk-cancel/batch")
+    ApiResponse<List<DoctorDateCount>> cancelByDoctorAndDates(
+            @RequestBody List<DoctorDateCount> pairs,
+            @RequestParam("reason") String reason
+    );
+
     /**
      * Count active (SCHEDULED) appointments for a doctor on a specific date.
      * Used to validate if schedule can be deleted.
@@ -54,6 +71,16 @@ public interface AppointmentClient {
             @RequestParam("date") LocalDate date
     );
 
+    /**
+     * Batch variant of countByDoctorAndDate.
+     * Used to validate bulk schedule deletes in a single call.
+     *
+     * @param pairs (doctorId, date) pairs to check
+     * @return The same pairs with count of active appointments filled in
+     */
+    @PostMapping("/appointments/count/batch")
+    ApiResponse<List<DoctorDateCount>> countByDoctorAndDates(@RequestBody List<DoctorDateCount> pairs);
+
     /**
      * COMPENSATION: Restore cancelled appointments back to SCHEDULED.
      * Called when saga rollback is needed after appointments were cancelled
@@ -68,4 +95,13 @@ public interface AppointmentClient {
             @RequestParam("doctorId") String doctorId,
             @RequestParam("date") LocalDate date
     );
+
+    /**
+     * COMPENSATION: Batch variant of restoreByDoctorAndDate.
+     *
+     * @param pairs (doctorId, date) pairs to restore
+     * @return The same pairs with count of restored appointments filled in
+     */
+    @PostMapping("/appointments/bulk-restore/batch")
+    ApiResponse<List<DoctorDateCount>> restoreByDoctorAndDates(@RequestBody List<DoctorDateCount> pairs);
 }
@@ -12,9 +12,11 @@ import com.hms.hr_service.entities.EmployeeSchedule;
 import com.hms.hr_service.enums.ScheduleStatus;
 import com.hms.hr_service.services.ScheduleService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -65,6 +67,19 @@ public class ScheduleController extends GenericController<EmployeeSchedule, Stri
         return ResponseEntity.ok(ApiResponse.ok(schedules));
     }
 
+    /**
+     * Schedules from a date on, changed since a point in time (all when omitted), oldest change first.
+     * Used by appointment-service to keep its local schedule replica in sync.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<PageResponse<ScheduleResponse>>> getScheduleFeed(
+            @RequestParam("fromDate") LocalDate fromDate,
+            @RequestParam(value = "updatedSince", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "200") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(scheduleService.getScheduleFeed(fromDate, updatedSince, page, size)));
+    }
+
     /**
      * Get schedule by doctor ID and date.
      * Used by appointment-service to validate and get schedule info.
@@ -104,6 +119,18 @@ public class ScheduleController extends GenericController<EmployeeSchedule, Stri
         CancelScheduleResponse response = scheduleService.cancelSchedule(id, request.getReason());
         return ResponseEntity.ok(ApiResponse.ok("Schedule cancelled successfully", response));
     }
+
+    /**
+     * Cancel several schedules in one saga, e.g. a doctor's leave.
+     * Appointments of all schedules are cancelled with a single appointment-service call.
+     */
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<ApiResponse<List<CancelScheduleResponse>>> cancelSchedules(
+            @RequestParam("ids") List<String> ids,
+            @Valid @RequestBody CancelScheduleRequest request) {
+        List<CancelScheduleResponse> response = scheduleService.cancelSchedules(ids, request.getReason());
+        return ResponseEntity.ok(ApiResponse.ok("Schedules cancelled successfully", response));
+    }
 }
 
 
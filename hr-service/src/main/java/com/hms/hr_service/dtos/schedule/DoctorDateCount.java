@@ -0,0 +1,24 @@
+package com.hms.hr_service.dtos.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * A (doctorId, date) pair used by batch appointment endpoints.
+ * count is filled in by appointment-service in responses and ignored in requests.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDateCount {
+    private String doctorId;
+    private LocalDate date;
+    private Integer count;
+}
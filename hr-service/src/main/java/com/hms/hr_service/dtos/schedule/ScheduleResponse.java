@@ -16,6 +16,7 @@ import java.time.LocalTime;
 @Setter
 public class ScheduleResponse {
     private String id;
+    private String branchId;
     private String employeeId;
     private ScheduleEmployeeInfo employee;
     private LocalDate workDate;
@@ -1,11 +1,14 @@
 package com.hms.hr_service.entities;
 
+import com.hms.common.branches.BranchEntityListener;
+import com.hms.common.branches.BranchScoped;
 import com.hms.hr_service.enums.ScheduleStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -28,14 +31,20 @@ import java.time.LocalTime;
         uniqueConstraints = @UniqueConstraint(
                 name = "uk_schedules_employee_date",
                 columnNames = {"employee_id", "work_date"}
-        ))
-@EntityListeners(AuditingEntityListener.class)
-public class EmployeeSchedule {
+        ),
+        indexes = @Index(name = "idx_schedules_branch_date", columnList = "branch_id, work_date"))
+@EntityListeners({AuditingEntityListener.class, BranchEntityListener.class})
+public class EmployeeSchedule implements BranchScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
+    // Branch partition key: set by BranchEntityListener, filtered by Hibernate on every query
+    @TenantId
+    @Column(name = "branch_id", updatable = false, length = 36)
+    private String branchId;
+
     @Column(name = "employee_id", nullable = false)
     @NotBlank(message = "Employee ID is required")
     private String employeeId;
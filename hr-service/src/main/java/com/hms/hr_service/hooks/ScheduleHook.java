@@ -3,6 +3,7 @@ package com.hms.hr_service.hooks;
 import com.hms.common.dtos.PageResponse;
 import com.hms.common.exceptions.errors.ApiException;
 import com.hms.common.exceptions.errors.ErrorCode;
+import com.hms.common.hooks.BulkOperationContext;
 import com.hms.common.hooks.GenericHook;
 import com.hms.hr_service.clients.AppointmentClient;
 import com.hms.hr_service.dtos.schedule.*;
@@ -13,7 +14,9 @@ import com.hms.hr_service.enums.ScheduleStatus;
 import com.hms.hr_service.repositories.DepartmentRepository;
 import com.hms.hr_service.repositories.EmployeeRepository;
 import com.hms.hr_service.repositories.ScheduleRepository;
+import com.hms.common.slots.SlotDeltaPublisher;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import com.hms.common.helpers.FeignHelper;
@@ -21,8 +24,10 @@ import com.hms.common.helpers.FeignHelper;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Hook for EmployeeSchedule business logic.
@@ -36,22 +41,28 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final AppointmentClient appointmentClient;
+    private final ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher;
+    private final Map<String, EmployeeSchedule> pendingDeletes = new ConcurrentHashMap<>();
 
     // Manual constructor to apply @Lazy
     public ScheduleHook(
             ScheduleRepository scheduleRepository,
             EmployeeRepository employeeRepository,
             DepartmentRepository departmentRepository,
-            @Lazy AppointmentClient appointmentClient) {
+            @Lazy AppointmentClient appointmentClient,
+            ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher) {
         this.scheduleRepository = scheduleRepository;
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.appointmentClient = appointmentClient;
+        this.slotDeltaPublisher = slotDeltaPublisher;
     }
 
     // Context keys
     private static final String EMPLOYEE_KEY = "employee";
     private static final String OLD_STATUS_KEY = "oldStatus";
+    private static final String OLD_EMPLOYEE_ID_KEY = "oldEmployeeId";
+    private static final String OLD_WORK_DATE_KEY = "oldWorkDate";
     private static final String CANCEL_REASON_KEY = "cancelReason";
     private static final String DEFAULT_CANCEL_REASON = "Doctor schedule cancelled";
 
@@ -111,6 +122,7 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
     @Override
     public void afterCreate(EmployeeSchedule entity, ScheduleResponse response, Map<String, Object> context) {
         enrichEmployeeInfo(response);
+        publishSlotsChanged(entity.getEmployeeId(), entity.getWorkDate());
     }
 
     @Override
@@ -119,6 +131,9 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
 
         // Store old status for cascade check
         context.put(OLD_STATUS_KEY, existing.getStatus());
+        // Store old doctor/date - if either changes, both days' slots change
+        context.put(OLD_EMPLOYEE_ID_KEY, existing.getEmployeeId());
+        context.put(OLD_WORK_DATE_KEY, existing.getWorkDate());
 
         // Validate employee if changed
         if (input.getEmployeeId() != null && !input.getEmployeeId().equals(existing.getEmployeeId())) {
@@ -178,6 +193,12 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
     public void afterUpdate(EmployeeSchedule entity, ScheduleResponse response, Map<String, Object> context) {
         enrichEmployeeInfo(response);
         // Saga logic moved to ScheduleService.cancelSchedule() - dedicated cancel endpoint
+        publishSlotsChanged(entity.getEmployeeId(), entity.getWorkDate());
+        String oldEmployeeId = (String) context.get(OLD_EMPLOYEE_ID_KEY);
+        LocalDate oldWorkDate = (LocalDate) context.get(OLD_WORK_DATE_KEY);
+        if (!entity.getEmployeeId().equals(oldEmployeeId) || !entity.getWorkDate().equals(oldWorkDate)) {
+            publishSlotsChanged(oldEmployeeId, oldWorkDate);
+        }
     }
 
     @Override
@@ -211,45 +232,51 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
             throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, 
                     "Unable to verify if schedule has appointments. Please try again or use cancel operation.");
         }
+        // afterDelete only receives the id
+        pendingDeletes.put(id, schedule);
     }
 
     @Override
     public void afterDelete(String id) {
-        // No cleanup needed
+        EmployeeSchedule deleted = pendingDeletes.remove(id);
+        if (deleted != null) {
+            publishSlotsChanged(deleted.getEmployeeId(), deleted.getWorkDate());
+        }
     }
 
     @Override
-    public void validateBulkDelete(Iterable<String> ids) {
-        // Validate each schedule - collect all that have appointments
-        Map<String, Integer> schedulesWithAppointments = new HashMap<>();
-        
-        for (String id : ids) {
-            Optional<EmployeeSchedule> scheduleOpt = scheduleRepository.findById(id);
-            if (scheduleOpt.isEmpty()) {
-                continue;
-            }
-            
-            EmployeeSchedule schedule = scheduleOpt.get();
-            
-            try {
-                var response = FeignHelper.safeCall(() -> 
-                    appointmentClient.countByDoctorAndDate(
-                        schedule.getEmployeeId(), schedule.getWorkDate()));
-                int count = response.getData() != null ? response.getData() : 0;
-                
-                if (count > 0) {
-                    schedulesWithAppointments.put(id, count);
-                }
-            } catch (Exception e) {
-                log.error("Failed to verify appointments for schedule {}: {}", id, e.getMessage());
-                // Fail safe - treat as having appointments
-                schedulesWithAppointments.put(id, -1); // -1 means unknown but blocked
-            }
+    public void validateBulkDelete(BulkOperationContext<EmployeeSchedule, String> context) {
+        // Schedules are preloaded in one query; appointments are counted in one batch call
+        List<EmployeeSchedule> schedules = context.getEntities();
+        if (schedules.isEmpty()) {
+            return;
         }
-        
-        if (!schedulesWithAppointments.isEmpty()) {
+
+        List<DoctorDateCount> pairs = schedules.stream()
+                .map(schedule -> DoctorDateCount.builder()
+                        .doctorId(schedule.getEmployeeId())
+                        .date(schedule.getWorkDate())
+                        .build())
+                .toList();
+
+        List<DoctorDateCount> counts;
+        try {
+            var response = FeignHelper.safeCall(() -> appointmentClient.countByDoctorAndDates(pairs));
+            counts = response.getData() != null ? response.getData() : List.of();
+        } catch (Exception e) {
+            log.error("Failed to verify appointments for {} schedule(s): {}", schedules.size(), e.getMessage());
+            // Fail safe - block the whole batch
+            throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED,
+                    "Unable to verify if schedules have appointments. Please try again or use cancel operation.");
+        }
+
+        long blocked = counts.stream()
+                .filter(count -> count.getCount() != null && count.getCount() > 0)
+                .count();
+
+        if (blocked > 0) {
             throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, 
-                    "Cannot delete " + schedulesWithAppointments.size() + " schedule(s) that have active appointments. " +
+                    "Cannot delete " + blocked + " schedule(s) that have active appointments. " +
                     "Cancel appointments first or use status CANCELLED to trigger cascade cancel.");
         }
     }
@@ -261,6 +288,13 @@ public class ScheduleHook implements GenericHook<EmployeeSchedule, String, Sched
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Tell booking UIs subscribed to this doctor/day to reload its slots (sent after commit).
+     */
+    private void publishSlotsChanged(String employeeId, LocalDate workDate) {
+        slotDeltaPublisher.ifAvailable(publisher -> publisher.invalidated(employeeId, workDate));
+    }
+
     /**
      * Enrich response with employee and department info.
      */
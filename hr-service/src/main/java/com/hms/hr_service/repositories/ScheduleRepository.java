@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +39,21 @@ public interface ScheduleRepository extends SimpleRepository<EmployeeSchedule, S
     List<EmployeeSchedule> findByEmployeeIdAndWorkDateBetweenAndStatus(
             String employeeId, LocalDate startDate, LocalDate endDate, ScheduleStatus status);
 
+    /**
+     * Schedules from a date on, changed since a point in time (all of them when null), oldest change first.
+     * Feeds the schedule replica of appointment-service.
+     */
+    @Query("""
+            SELECT s FROM EmployeeSchedule s
+            WHERE s.workDate >= :fromDate
+            AND (:updatedSince IS NULL OR s.updatedAt >= :updatedSince)
+            ORDER BY s.updatedAt, s.id
+            """)
+    Page<EmployeeSchedule> findFeed(
+            @Param("fromDate") LocalDate fromDate,
+            @Param("updatedSince") Instant updatedSince,
+            Pageable pageable);
+
     /**
      * Find doctor schedules for appointment booking.
      * Filters only employees with DOCTOR role.
@@ -51,7 +67,7 @@ public interface ScheduleRepository extends SimpleRepository<EmployeeSchedule, S
             AND (:status IS NULL OR s.status = :status)
             AND (:doctorId IS NULL OR s.employeeId = :doctorId)
             AND (:departmentId IS NULL OR e.departmentId = :departmentId)
-            ORDER BY s.workDate, s.startTime
+            ORDER BY s.workDate, s.startTime, s.id
             """)
     Page<EmployeeSchedule> findDoctorSchedules(
             @Param("startDate") LocalDate startDate,
@@ -6,16 +6,21 @@ import com.hms.common.exceptions.errors.ErrorCode;
 import com.hms.common.securities.UserContext;
 import com.hms.hr_service.clients.AppointmentClient;
 import com.hms.hr_service.dtos.schedule.CancelScheduleResponse;
+import com.hms.hr_service.dtos.schedule.DoctorDateCount;
 import com.hms.hr_service.dtos.schedule.ScheduleDepartmentInfo;
 import com.hms.hr_service.dtos.schedule.ScheduleEmployeeInfo;
 import com.hms.hr_service.dtos.schedule.ScheduleResponse;
+import com.hms.hr_service.entities.Department;
+import com.hms.hr_service.entities.Employee;
 import com.hms.hr_service.entities.EmployeeSchedule;
 import com.hms.hr_service.enums.ScheduleStatus;
 import com.hms.hr_service.mappers.ScheduleMapper;
 import com.hms.hr_service.repositories.DepartmentRepository;
 import com.hms.hr_service.repositories.EmployeeRepository;
 import com.hms.hr_service.repositories.ScheduleRepository;
+import com.hms.common.slots.SlotDeltaPublisher;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,7 +30,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +52,7 @@ public class ScheduleService {
     private final DepartmentRepository departmentRepository;
     private final ScheduleMapper scheduleMapper;
     private final AppointmentClient appointmentClient;
+    private final ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher;
 
     // Manual constructor to apply @Lazy
     public ScheduleService(
@@ -48,12 +60,14 @@ public class ScheduleService {
             EmployeeRepository employeeRepository,
             DepartmentRepository departmentRepository,
             ScheduleMapper scheduleMapper,
-            @Lazy AppointmentClient appointmentClient) {
+            @Lazy AppointmentClient appointmentClient,
+            ObjectProvider<SlotDeltaPublisher> slotDeltaPublisher) {
         this.scheduleRepository = scheduleRepository;
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.scheduleMapper = scheduleMapper;
         this.appointmentClient = appointmentClient;
+        this.slotDeltaPublisher = slotDeltaPublisher;
     }
 
     /**
@@ -93,7 +107,9 @@ public class ScheduleService {
         Page<EmployeeSchedule> schedulePage = scheduleRepository.findDoctorSchedules(
                 startDate, endDate, queryStatus, doctorId, departmentId, pageable);
 
-        Page<ScheduleResponse> responsePage = schedulePage.map(this::toEnrichedResponse);
+        // Employees and departments of the page are loaded in two queries, not two per schedule
+        Page<ScheduleResponse> responsePage = schedulePage.map(scheduleMapper::entityToResponse);
+        enrichEmployeeInfo(responsePage.getContent());
         return PageResponse.fromPage(responsePage);
     }
 
@@ -132,6 +148,49 @@ public class ScheduleService {
         });
     }
 
+    /**
+     * Batch variant of enrichEmployeeInfo for a page of schedules.
+     */
+    private void enrichEmployeeInfo(List<ScheduleResponse> responses) {
+        Set<String> employeeIds = responses.stream()
+                .map(ScheduleResponse::getEmployeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        Map<String, Employee> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Set<String> departmentIds = employees.values().stream()
+                .map(Employee::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Department> departments = departmentRepository.findAllById(departmentIds).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+
+        for (ScheduleResponse response : responses) {
+            Employee employee = employees.get(response.getEmployeeId());
+            if (employee == null) {
+                continue;
+            }
+            ScheduleEmployeeInfo info = new ScheduleEmployeeInfo();
+            info.setId(employee.getId());
+            info.setFullName(employee.getFullName());
+            info.setRole(employee.getRole().name());
+            info.setSpecialization(employee.getSpecialization());
+
+            Department dept = employee.getDepartmentId() != null ? departments.get(employee.getDepartmentId()) : null;
+            if (dept != null) {
+                ScheduleDepartmentInfo deptInfo = new ScheduleDepartmentInfo();
+                deptInfo.setId(dept.getId());
+                deptInfo.setName(dept.getName());
+                info.setDepartment(deptInfo);
+            }
+
+            response.setEmployee(info);
+        }
+    }
+
     /**
      * Get current user's employee ID from security context.
      */
@@ -151,6 +210,16 @@ public class ScheduleService {
                 .orElse(accountId); // Fallback to accountId if no employee found
     }
 
+    /**
+     * Schedules from a date on, changed since a point in time, for replication into appointment-service.
+     * Rows are not enriched with employee info; the replica keeps employees separately.
+     */
+    public PageResponse<ScheduleResponse> getScheduleFeed(LocalDate fromDate, Instant updatedSince, int page, int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, 500));
+        return PageResponse.fromPage(scheduleRepository.findFeed(fromDate, updatedSince, pageable)
+                .map(scheduleMapper::entityToResponse));
+    }
+
     /**
      * Get schedule by doctor ID and date.
      * Used by appointment-service for validation.
@@ -189,106 +258,141 @@ public class ScheduleService {
      */
     @Transactional
     public CancelScheduleResponse cancelSchedule(String id, String reason) {
-        log.info("Cancel saga START: Schedule {} with reason: {}", id, reason);
-        
-        // Step 1: Find and validate schedule
-        EmployeeSchedule schedule = scheduleRepository.findById(id)
-                .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "Schedule not found"));
-        
-        ScheduleStatus originalStatus = schedule.getStatus();
-        
-        // Validate - cannot cancel already cancelled schedule
-        if (originalStatus == ScheduleStatus.CANCELLED) {
-            throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, "Schedule is already cancelled");
+        return cancelSchedules(List.of(id), reason).getFirst();
+    }
+
+    /**
+     * Cancel several schedules in one saga (same steps as {@link #cancelSchedule}).
+     * The appointments of all schedules are cancelled, and restored on failure, with one
+     * appointment-service call each instead of one per schedule. All or nothing: a schedule
+     * that cannot be cancelled rejects the whole batch.
+     */
+    @Transactional
+    public List<CancelScheduleResponse> cancelSchedules(List<String> ids, String reason) {
+        log.info("Cancel saga START: {} schedule(s) with reason: {}", ids.size(), reason);
+
+        // Step 1: Find and validate schedules
+        List<EmployeeSchedule> schedules = scheduleRepository.findAllById(ids);
+        if (schedules.size() != new HashSet<>(ids).size()) {
+            throw new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "Schedule not found");
         }
-        if (originalStatus == ScheduleStatus.PENDING_CANCEL) {
-            throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED, 
-                    "Schedule cancellation is already in progress");
+
+        Map<String, ScheduleStatus> originalStatus = new HashMap<>();
+        for (EmployeeSchedule schedule : schedules) {
+            // Validate - cannot cancel already cancelled schedule
+            if (schedule.getStatus() == ScheduleStatus.CANCELLED) {
+                throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED,
+                        "Schedule " + schedule.getId() + " is already cancelled");
+            }
+            if (schedule.getStatus() == ScheduleStatus.PENDING_CANCEL) {
+                throw new ApiException(ErrorCode.OPERATION_NOT_ALLOWED,
+                        "Schedule " + schedule.getId() + " cancellation is already in progress");
+            }
+            originalStatus.put(schedule.getId(), schedule.getStatus());
         }
-        
-        // Get employee name for response
-        String employeeName = employeeRepository.findById(schedule.getEmployeeId())
-                .map(e -> e.getFullName())
-                .orElse("Unknown");
-        
+
+        // Get employee names for response
+        Map<String, String> employeeNames = employeeRepository.findAllById(schedules.stream()
+                        .map(EmployeeSchedule::getEmployeeId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Employee::getId, e -> Objects.requireNonNullElse(e.getFullName(), "Unknown")));
+
         // Step 2: Set to PENDING_CANCEL
-        schedule.setStatus(ScheduleStatus.PENDING_CANCEL);
-        schedule.setNotes(reason);
-        scheduleRepository.save(schedule);
-        log.info("Cancel saga STEP 2: Schedule {} set to PENDING_CANCEL", id);
-        
-        int cancelledAppointments = 0;
-        boolean appointmentsCancelled = false;
-        
+        for (EmployeeSchedule schedule : schedules) {
+            schedule.setStatus(ScheduleStatus.PENDING_CANCEL);
+            schedule.setNotes(reason);
+        }
+        scheduleRepository.saveAll(schedules);
+        log.info("Cancel saga STEP 2: {} schedule(s) set to PENDING_CANCEL", schedules.size());
+
+        List<DoctorDateCount> pairs = schedules.stream()
+                .map(schedule -> DoctorDateCount.builder()
+                        .doctorId(schedule.getEmployeeId())
+                        .date(schedule.getWorkDate())
+                        .build())
+                .toList();
+        List<DoctorDateCount> counts;
+
         try {
             // Step 3: Call appointment-service to cancel appointments
-            log.info("Cancel saga STEP 3: Calling appointment-service for schedule {}", id);
-            
-            var result = appointmentClient.cancelByDoctorAndDate(
-                    schedule.getEmployeeId(),
-                    schedule.getWorkDate(),
-                    reason
-            );
-            
-            cancelledAppointments = result.getData() != null ? result.getData() : 0;
-            appointmentsCancelled = true;
-            log.info("Cancel saga STEP 3 SUCCESS: Cancelled {} appointments", cancelledAppointments);
-            
+            log.info("Cancel saga STEP 3: Calling appointment-service for {} schedule(s)", schedules.size());
+
+            var result = appointmentClient.cancelByDoctorAndDates(pairs, reason);
+
+            counts = result.getData() != null ? result.getData() : List.of();
+            log.info("Cancel saga STEP 3 SUCCESS: Cancelled appointments of {} schedule(s)", counts.size());
+
         } catch (Exception e) {
-            // Appointment cancel failed - only need to rollback schedule
+            // Appointment cancel failed - only need to rollback schedules
             log.error("Cancel saga FAILED at STEP 3 (cancel appointments): {}", e.getMessage());
-            
-            schedule.setStatus(originalStatus);
-            schedule.setNotes(null);
-            scheduleRepository.save(schedule);
-            log.info("Cancel saga ROLLBACK: Schedule {} restored to {}", id, originalStatus);
-            
+
+            rollback(schedules, originalStatus);
+
             throw new ApiException(ErrorCode.INTERNAL_SERVER_ERROR,
-                    "Failed to cancel appointments. Schedule restored to " + originalStatus + 
-                    ". Error: " + e.getMessage());
+                    "Failed to cancel appointments. Schedules restored. Error: " + e.getMessage());
         }
-        
-        // Step 4: Set schedule to CANCELLED
+
+        // Step 4: Set schedules to CANCELLED
         try {
-            schedule.setStatus(ScheduleStatus.CANCELLED);
-            scheduleRepository.save(schedule);
-            log.info("Cancel saga COMPLETE: Schedule {} is now CANCELLED", id);
-            
+            schedules.forEach(schedule -> schedule.setStatus(ScheduleStatus.CANCELLED));
+            scheduleRepository.saveAll(schedules);
+            log.info("Cancel saga COMPLETE: {} schedule(s) now CANCELLED", schedules.size());
+            // Appointment-service already released the booked slots; the days themselves are gone now
+            slotDeltaPublisher.ifAvailable(publisher -> schedules.forEach(schedule ->
+                    publisher.invalidated(schedule.getEmployeeId(), schedule.getWorkDate())));
+
         } catch (Exception e) {
             // Final save failed AFTER appointments were cancelled - COMPENSATION needed!
             log.error("Cancel saga FAILED at STEP 4 (final save): {}. Triggering COMPENSATION.", e.getMessage());
-            
+
             // Compensate: Restore the appointments that were just cancelled
             try {
-                appointmentClient.restoreByDoctorAndDate(schedule.getEmployeeId(), schedule.getWorkDate());
-                log.info("COMPENSATION SUCCESS: Restored appointments for doctor {} on {}", 
-                        schedule.getEmployeeId(), schedule.getWorkDate());
+                appointmentClient.restoreByDoctorAndDates(pairs);
+                log.info("COMPENSATION SUCCESS: Restored appointments of {} schedule(s)", pairs.size());
             } catch (Exception compensateError) {
                 log.error("COMPENSATION FAILED: Could not restore appointments: {}", compensateError.getMessage());
                 // This is a critical failure - manual intervention may be needed
             }
-            
-            // Rollback schedule
-            schedule.setStatus(originalStatus);
-            schedule.setNotes(null);
-            scheduleRepository.save(schedule);
-            log.info("Cancel saga ROLLBACK: Schedule {} restored to {}", id, originalStatus);
-            
+
+            rollback(schedules, originalStatus);
+
             throw new ApiException(ErrorCode.INTERNAL_SERVER_ERROR,
                     "Failed to finalize schedule cancellation. Rolled back. Error: " + e.getMessage());
         }
-        
-        // Build response
-        return CancelScheduleResponse.builder()
-                .scheduleId(schedule.getId())
-                .employeeId(schedule.getEmployeeId())
-                .employeeName(employeeName)
-                .workDate(schedule.getWorkDate())
-                .status(ScheduleStatus.CANCELLED)
-                .cancelReason(reason)
-                .cancelledAppointments(cancelledAppointments)
-                .cancelledAt(Instant.now())
-                .build();
+
+        // Build responses, in request order
+        Map<String, Integer> cancelledByDoctorDay = new HashMap<>();
+        for (DoctorDateCount count : counts) {
+            cancelledByDoctorDay.put(count.getDoctorId() + "|" + count.getDate(),
+                    count.getCount() != null ? count.getCount() : 0);
+        }
+        Map<String, EmployeeSchedule> byId = schedules.stream()
+                .collect(Collectors.toMap(EmployeeSchedule::getId, Function.identity()));
+        Instant cancelledAt = Instant.now();
+        return ids.stream()
+                .distinct()
+                .map(byId::get)
+                .map(schedule -> CancelScheduleResponse.builder()
+                        .scheduleId(schedule.getId())
+                        .employeeId(schedule.getEmployeeId())
+                        .employeeName(employeeNames.getOrDefault(schedule.getEmployeeId(), "Unknown"))
+                        .workDate(schedule.getWorkDate())
+                        .status(ScheduleStatus.CANCELLED)
+                        .cancelReason(reason)
+                        .cancelledAppointments(cancelledByDoctorDay.getOrDefault(
+                                schedule.getEmployeeId() + "|" + schedule.getWorkDate(), 0))
+                        .cancelledAt(cancelledAt)
+                        .build())
+                .toList();
     }
-}
 
+    private void rollback(List<EmployeeSchedule> schedules, Map<String, ScheduleStatus> originalStatus) {
+        for (EmployeeSchedule schedule : schedules) {
+            schedule.setStatus(originalStatus.get(schedule.getId()));
+            schedule.setNotes(null);
+        }
+        scheduleRepository.saveAll(schedules);
+        log.info("Cancel saga ROLLBACK: {} schedule(s) restored to their original status", schedules.size());
+    }
+}
@@ -0,0 +1,141 @@
+package com.hms.hr_service.controllers;
+
+import com.hms.common.dtos.ApiResponse;
+import com.hms.common.testing.SqlBudget;
+import com.hms.hr_service.clients.AppointmentClient;
+import com.hms.hr_service.dtos.schedule.DoctorDateCount;
+import com.hms.hr_service.entities.Department;
+import com.hms.hr_service.entities.Employee;
+import com.hms.hr_service.entities.EmployeeSchedule;
+import com.hms.hr_service.enums.DepartmentStatus;
+import com.hms.hr_service.enums.EmployeeRole;
+import com.hms.hr_service.enums.EmployeeStatus;
+import com.hms.hr_service.enums.ScheduleStatus;
+import com.hms.hr_service.repositories.DepartmentRepository;
+import com.hms.hr_service.repositories.EmployeeRepository;
+import com.hms.hr_service.repositories.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the schedule list and bulk delete: fails when either goes back to queries per schedule.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hr_sql_budget_db;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "hms.sql.count.enabled=true"
+})
+@AutoConfigureMockMvc
+class ScheduleSqlBudgetTest {
+
+    private static final int DOCTORS = 3;
+    private static final int DAYS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @MockitoBean
+    private AppointmentClient appointmentClient;
+
+    private final List<String> scheduleIds = new ArrayList<>();
+    private LocalDate firstDay;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository.deleteAll();
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        scheduleIds.clear();
+        firstDay = LocalDate.now().plusDays(1);
+
+        Department department = new Department();
+        department.setName("Cardiology");
+        department.setStatus(DepartmentStatus.ACTIVE);
+        department = departmentRepository.save(department);
+
+        for (int i = 0; i < DOCTORS; i++) {
+            Employee doctor = employee("Doctor " + i, EmployeeRole.DOCTOR, department.getId());
+            for (int day = 0; day < DAYS; day++) {
+                scheduleIds.add(schedule(doctor.getId(), firstDay.plusDays(day)).getId());
+            }
+        }
+        // Not a doctor: excluded from the doctor list
+        schedule(employee("Nurse", EmployeeRole.NURSE, department.getId()).getId(), firstDay);
+    }
+
+    @Test
+    @SqlBudget(select = 3, maxRepeats = 1)
+    @DisplayName("Doctor Schedules: employees and departments should be loaded once per page, not per schedule")
+    void doctorSchedulesEnrichThePageInBatch() throws Exception {
+        mockMvc.perform(get("/hr/schedules/doctors")
+                        .param("startDate", firstDay.toString())
+                        .param("endDate", firstDay.plusDays(DAYS - 1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(DOCTORS * DAYS)))
+                .andExpect(jsonPath("$.data.content[0].employee.department.name", notNullValue()));
+    }
+
+    @Test
+    // One select to load the batch, one delete, plus the count of the check below
+    @SqlBudget(select = 2, delete = 1, maxRepeats = 1)
+    @DisplayName("Bulk Delete: schedules should be loaded and deleted in one statement each")
+    void bulkDeleteValidatesTheBatchAtOnce() throws Exception {
+        when(appointmentClient.countByDoctorAndDates(anyList())).thenReturn(ApiResponse.ok(List.<DoctorDateCount>of()));
+
+        mockMvc.perform(delete("/hr/schedules/bulk").param("ids", scheduleIds.toArray(String[]::new)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, scheduleRepository.count());
+    }
+
+    private Employee employee(String name, EmployeeRole role, String departmentId) {
+        Employee employee = new Employee();
+        employee.setFullName(name);
+        employee.setRole(role);
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setDepartmentId(departmentId);
+        return employeeRepository.save(employee);
+    }
+
+    private EmployeeSchedule schedule(String employeeId, LocalDate workDate) {
+        EmployeeSchedule schedule = new EmployeeSchedule();
+        schedule.setEmployeeId(employeeId);
+        schedule.setWorkDate(workDate);
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(LocalTime.of(17, 0));
+        schedule.setStatus(ScheduleStatus.AVAILABLE);
+        return scheduleRepository.save(schedule);
+    }
+}
@@ -0,0 +1,15 @@
+plugins {
+    id("java-library")
+}
+
+// Shared by common (servlet Feign clients) and api-gateway (reactive), so it must not pull in either web stack
+dependencies {
+    api("org.springframework.cloud:spring-cloud-starter-loadbalancer")
+    api("io.micrometer:micrometer-core")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Library module - no executable boot jar
+tasks.named("bootJar") {
+    enabled = false
+}
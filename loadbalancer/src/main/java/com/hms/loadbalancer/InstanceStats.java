@@ -0,0 +1,100 @@
+package com.hms.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live load signal of one service instance: peak-EWMA round-trip time, in-flight requests and
+ * consecutive failures for outlier ejection.
+ * <p>
+ * Peak EWMA: a slower sample replaces the average at once, faster samples pull it down
+ * exponentially with the time since the previous sample. A replica that turns slow is avoided
+ * immediately and is only trusted again gradually.
+ */
+public class InstanceStats {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Cost of an instance with requests in flight but no completed sample yet.
+     */
+    private static final double UNKNOWN_PENALTY = 1e9;
+
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final double decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private int ejections;
+    private long ejectedUntilNanos;
+
+    public InstanceStats(double decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Request that never completed (cancelled): release its in-flight slot without a sample.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return true if this failure ejected the instance
+     */
+    public synchronized boolean complete(long rttNanos, boolean failed, long nowNanos, PeakEwmaProperties properties) {
+        inFlight.decrementAndGet();
+        observe(rttNanos, nowNanos);
+        if (!failed) {
+            consecutiveFailures = 0;
+            ejections = 0;
+            return false;
+        }
+        if (++consecutiveFailures < properties.getConsecutiveFailures() || isEjected(nowNanos)) {
+            return false;
+        }
+        ejections++;
+        ejectedUntilNanos = nowNanos + properties.getBaseEjectionTime().toNanos() * Math.min(ejections, MAX_EJECTION_MULTIPLIER);
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    /**
+     * Expected wait for a new request: latency times queue length (in-flight + this request).
+     */
+    public synchronized double cost() {
+        int pending = inFlight.get();
+        if (lastSampleNanos == 0) {
+            return pending == 0 ? 0 : UNKNOWN_PENALTY + pending;
+        }
+        return ewmaNanos * (pending + 1);
+    }
+
+    public synchronized boolean isEjected(long nowNanos) {
+        return ejections > 0 && ejectedUntilNanos - nowNanos > 0;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double latencyMillis() {
+        return ewmaNanos / NANOS_PER_MILLI;
+    }
+
+    private void observe(long rttNanos, long nowNanos) {
+        if (lastSampleNanos == 0 || rttNanos > ewmaNanos) {
+            ewmaNanos = rttNanos;
+        } else {
+            double weight = Math.exp(-(nowNanos - lastSampleNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+    }
+}
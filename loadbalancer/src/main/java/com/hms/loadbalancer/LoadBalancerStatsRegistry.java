@@ -0,0 +1,43 @@
+package com.hms.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Stats of every instance this process has called, shared by all load-balanced clients so the
+ * gateway routes and Feign clients of one JVM see the same picture of a replica.
+ */
+public class LoadBalancerStatsRegistry {
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final PeakEwmaProperties properties;
+    private final BiConsumer<ServiceInstance, InstanceStats> onNewInstance;
+
+    public LoadBalancerStatsRegistry(PeakEwmaProperties properties, BiConsumer<ServiceInstance, InstanceStats> onNewInstance) {
+        this.properties = properties;
+        this.onNewInstance = onNewInstance;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> {
+            InstanceStats created = new InstanceStats(properties.getDecay().toNanos());
+            onNewInstance.accept(instance, created);
+            return created;
+        });
+    }
+
+    public PeakEwmaProperties properties() {
+        return properties;
+    }
+
+    public Map<String, InstanceStats> snapshot() {
+        return Map.copyOf(stats);
+    }
+
+    public static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
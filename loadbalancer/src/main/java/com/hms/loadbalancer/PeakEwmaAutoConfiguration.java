@@ -0,0 +1,46 @@
+package com.hms.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Makes peak-EWMA the default load balancer of every Spring Cloud LoadBalancer client in the JVM.
+ * Registered as an auto-configuration so the reactive gateway and the servlet services pick it up
+ * from the classpath alike.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "hms.loadbalancer.peak-ewma", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(PeakEwmaProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class PeakEwmaAutoConfiguration {
+
+    @Bean
+    public LoadBalancerStatsRegistry loadBalancerStatsRegistry(PeakEwmaProperties properties,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LoadBalancerStatsRegistry(properties, (instance, stats) -> meterRegistry.ifAvailable(registry -> {
+            String service = instance.getServiceId();
+            String address = instance.getHost() + ":" + instance.getPort();
+            Gauge.builder("hms.loadbalancer.latency", stats, InstanceStats::latencyMillis)
+                    .description("Peak-EWMA round-trip time (ms)")
+                    .tags("service", service, "instance", address)
+                    .register(registry);
+            Gauge.builder("hms.loadbalancer.inflight", stats, InstanceStats::inFlight)
+                    .tags("service", service, "instance", address)
+                    .register(registry);
+            Gauge.builder("hms.loadbalancer.ejected", stats, s -> s.isEjected(System.nanoTime()) ? 1 : 0)
+                    .tags("service", service, "instance", address)
+                    .register(registry);
+        }));
+    }
+
+    @Bean
+    public PeakEwmaLifecycle peakEwmaLifecycle(LoadBalancerStatsRegistry loadBalancerStatsRegistry) {
+        return new PeakEwmaLifecycle(loadBalancerStatsRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hms.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link InstanceStats} from real calls. Spring Cloud invokes load-balancer lifecycles from
+ * both the gateway's ReactiveLoadBalancerClientFilter and the Feign blocking load-balancer client.
+ */
+@Slf4j
+public class PeakEwmaLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    /**
+     * Cancelled exchanges never complete; their entries are dropped once this old.
+     */
+    private static final long ABANDONED_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final LoadBalancerStatsRegistry registry;
+    private final Map<Request<Object>, Call> calls = new ConcurrentHashMap<>();
+
+    public PeakEwmaLifecycle(LoadBalancerStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse.hasServer()) {
+            InstanceStats stats = registry.get(lbResponse.getServer());
+            stats.start();
+            calls.put(request, new Call(stats, System.nanoTime()));
+            if (calls.size() > PURGE_THRESHOLD) {
+                purgeAbandoned();
+            }
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Call call = calls.remove(completionContext.getLoadBalancerRequest());
+        if (call == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (call.stats().complete(now - call.startNanos(), isFailure(completionContext), now, registry.properties())) {
+            log.warn("Ejecting {} after {} consecutive failures",
+                    LoadBalancerStatsRegistry.key(completionContext.getLoadBalancerResponse().getServer()),
+                    registry.properties().getConsecutiveFailures());
+        }
+    }
+
+    private void purgeAbandoned() {
+        long now = System.nanoTime();
+        calls.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().startNanos() < ABANDONED_NANOS) {
+                return false;
+            }
+            entry.getValue().stats().abandon();
+            return true;
+        });
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> context) {
+        if (context.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return context.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError();
+    }
+
+    private record Call(InstanceStats stats, long startNanos) {
+    }
+}
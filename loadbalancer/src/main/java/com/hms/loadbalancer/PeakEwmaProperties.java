@@ -0,0 +1,38 @@
+package com.hms.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.loadbalancer.peak-ewma")
+public class PeakEwmaProperties {
+
+    /**
+     * Replace round-robin with peak-EWMA for every load-balanced client (gateway lb:// routes, Feign).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Decay time of the latency average; a latency peak is forgotten after a few multiples of it.
+     */
+    private Duration decay = Duration.ofSeconds(10);
+
+    /**
+     * Consecutive failures (connect errors, 5xx) that eject an instance.
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * First ejection length; repeated ejections of the same instance last longer.
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    /**
+     * Never eject more than this share of a service's instances.
+     */
+    private int maxEjectionPercent = 50;
+}
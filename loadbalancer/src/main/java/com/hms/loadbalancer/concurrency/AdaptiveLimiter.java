@@ -0,0 +1,78 @@
+package com.hms.loadbalancer.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight counter guarded by a {@link GradientLimit}. Callers {@link #tryAcquire} before doing
+ * the work and report the outcome on the returned {@link Permit}; a null permit means shed now.
+ */
+public class AdaptiveLimiter {
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveLimiter(GradientLimit limit) {
+        this.limit = limit;
+    }
+
+    public Permit tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * priority.share()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void onSuccess() {
+            release(false, true);
+        }
+
+        /**
+         * Downstream showed overload (timeout, 503, connection refused).
+         */
+        public void onDropped() {
+            release(true, true);
+        }
+
+        /**
+         * Outcome says nothing about downstream capacity (client cancelled, 4xx).
+         */
+        public void onIgnore() {
+            release(false, false);
+        }
+
+        private synchronized void release(boolean dropped, boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            if (sample) {
+                limit.onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hms.loadbalancer.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared by the gateway (one limiter per route) and the services (one limiter per instance).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hms.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    /**
+     * First matching rule decides; no match means writes are CRITICAL and reads NORMAL.
+     */
+    private List<PriorityRule> priorities = new ArrayList<>();
+
+    public GradientLimit newLimit() {
+        return new GradientLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class PriorityRule {
+        private String path;
+
+        /**
+         * Empty means any method.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private Priority priority = Priority.NORMAL;
+    }
+}
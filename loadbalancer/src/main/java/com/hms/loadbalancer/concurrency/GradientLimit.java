@@ -0,0 +1,67 @@
+package com.hms.loadbalancer.concurrency;
+
+/**
+ * Gradient concurrency limit (after Netflix concurrency-limits' Gradient2).
+ * <p>
+ * Compares a short-term RTT average with a long-term baseline. While they agree the limit grows by
+ * a small queue allowance; when short-term RTT rises above the baseline (requests are queueing
+ * downstream) the limit shrinks proportionally. A dropped request (timeout, 503) cuts the limit
+ * multiplicatively, like AIMD.
+ */
+public class GradientLimit {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.01;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * DROP_BACKOFF);
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt = shortRtt * (1 - SHORT_SMOOTHING) + rttNanos * SHORT_SMOOTHING;
+        longRtt = longRtt * (1 - LONG_SMOOTHING) + rttNanos * LONG_SMOOTHING;
+
+        // The baseline follows a lasting change in latency instead of treating it as overload forever
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Not using the limit: no evidence it should grow
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        limit = clamp(limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,27 @@
+package com.hms.loadbalancer.concurrency;
+
+/**
+ * Admission priority under load. Each priority may only use a share of the current limit, so as
+ * the limit shrinks, low-priority traffic is shed first and clinical writes keep the last slots.
+ */
+public enum Priority {
+    /**
+     * Clinical writes (exams, prescriptions, appointments, patients).
+     */
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    /**
+     * Reports, exports and aggregates - can be retried later.
+     */
+    LOW(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+}
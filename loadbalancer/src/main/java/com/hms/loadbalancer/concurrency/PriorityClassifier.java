@@ -0,0 +1,30 @@
+package com.hms.loadbalancer.concurrency;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps a request to its {@link Priority} from {@link ConcurrencyLimitProperties#getPriorities()}.
+ */
+public class PriorityClassifier {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<ConcurrencyLimitProperties.PriorityRule> rules;
+
+    public PriorityClassifier(List<ConcurrencyLimitProperties.PriorityRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public Priority classify(String method, String path) {
+        for (ConcurrencyLimitProperties.PriorityRule rule : rules) {
+            if ((rule.getMethods().isEmpty() || rule.getMethods().contains(method)) && matcher.match(rule.getPath(), path)) {
+                return rule.getPriority();
+            }
+        }
+        return WRITE_METHODS.contains(method) ? Priority.CRITICAL : Priority.NORMAL;
+    }
+}
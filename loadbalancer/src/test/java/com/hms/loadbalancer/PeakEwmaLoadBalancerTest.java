@@ -0,0 +1,75 @@
+package com.hms.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeakEwmaLoadBalancerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final PeakEwmaProperties properties = new PeakEwmaProperties();
+    private final LoadBalancerStatsRegistry registry = new LoadBalancerStatsRegistry(properties, (instance, stats) -> { });
+    private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(null, registry);
+
+    private final ServiceInstance fast = new DefaultServiceInstance("hr-1", "hr-service", "10.0.0.1", 8084, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("hr-2", "hr-service", "10.0.0.2", 8084, false);
+
+    private void sample(ServiceInstance instance, long rttMillis, boolean failed) {
+        InstanceStats stats = registry.get(instance);
+        stats.start();
+        stats.complete(rttMillis * MS, failed, System.nanoTime(), properties);
+    }
+
+    @Test
+    @DisplayName("The slower replica should lose every two-way comparison")
+    void prefersLowerLatency() {
+        sample(fast, 20, false);
+        sample(slow, 800, false);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(fast, loadBalancer.choose(List.of(fast, slow)).getServer());
+        }
+    }
+
+    @Test
+    @DisplayName("A latency spike should count at once, recovery only gradually")
+    void peakIsSticky() {
+        InstanceStats stats = registry.get(fast);
+        long now = System.nanoTime();
+        stats.start();
+        stats.complete(10 * MS, false, now, properties);
+        stats.start();
+        stats.complete(500 * MS, false, now + MS, properties);
+        assertEquals(500, stats.latencyMillis(), 0.001);
+
+        stats.start();
+        stats.complete(10 * MS, false, now + 2 * MS, properties);
+        assertTrue(stats.latencyMillis() > 400);
+    }
+
+    @Test
+    @DisplayName("Consecutive failures should eject an instance, but never all of them")
+    void ejectsOutliers() {
+        for (int i = 0; i < properties.getConsecutiveFailures(); i++) {
+            sample(slow, 5, true);
+        }
+        assertTrue(registry.get(slow).isEjected(System.nanoTime()));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.choose(List.of(fast, slow)).getServer());
+        }
+
+        for (int i = 0; i < properties.getConsecutiveFailures(); i++) {
+            sample(fast, 5, true);
+        }
+        // Both ejected: max-ejection-percent keeps one of them in rotation
+        assertNotNull(loadBalancer.choose(List.of(fast, slow)).getServer());
+    }
+}
@@ -0,0 +1,67 @@
+package com.hms.loadbalancer.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void lowPriorityIsShedBeforeCritical() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new GradientLimit(10, 1, 100));
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.tryAcquire(Priority.LOW));
+        }
+        assertNull(limiter.tryAcquire(Priority.LOW));
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.tryAcquire(Priority.CRITICAL));
+        }
+        assertNull(limiter.tryAcquire(Priority.CRITICAL));
+    }
+
+    @Test
+    void permitIsReleasedOnce() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new GradientLimit(10, 1, 100));
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire(Priority.NORMAL);
+
+        permit.onSuccess();
+        permit.onIgnore();
+
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndOnDrops() {
+        GradientLimit limit = new GradientLimit(50, 4, 200);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10_000_000, 50, false);
+        }
+        int steady = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(100_000_000, steady, false);
+        }
+        assertTrue(limit.getLimit() < steady);
+
+        int beforeDrop = limit.getLimit();
+        limit.onSample(0, beforeDrop, true);
+        assertTrue(limit.getLimit() < beforeDrop);
+    }
+
+    @Test
+    void classifierDefaultsWritesToCritical() {
+        ConcurrencyLimitProperties.PriorityRule reports = new ConcurrencyLimitProperties.PriorityRule();
+        reports.setPath("/api/reports/**");
+        reports.setPriority(Priority.LOW);
+        PriorityClassifier classifier = new PriorityClassifier(List.of(reports));
+
+        assertEquals(Priority.LOW, classifier.classify("GET", "/api/reports/revenue"));
+        assertEquals(Priority.CRITICAL, classifier.classify("POST", "/api/exams"));
+        assertEquals(Priority.NORMAL, classifier.classify("GET", "/api/patients/1"));
+    }
+}
@@ -10,5 +10,6 @@ dependencies {
     runtimeOnly("com.mysql:mysql-connector-j")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("com.h2database:h2")
+    testImplementation(testFixtures(project(":common"))) // @SqlBudget
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
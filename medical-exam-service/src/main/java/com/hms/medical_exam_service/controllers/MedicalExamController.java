@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -71,7 +72,8 @@ public class MedicalExamController extends GenericController<MedicalExam, String
     public ResponseEntity<ApiResponse<PageResponse<MedicalExamResponse>>> findAll(
             Pageable pageable,
             @RequestParam(value = "filter", required = false) @Nullable String filter,
-            @RequestParam(value = "all", defaultValue = "false") boolean all) {
+            @RequestParam(value = "all", defaultValue = "false") boolean all,
+            @RequestParam(value = "fields", required = false) @Nullable Set<String> fields) {
         
         String effectiveFilter = filter;
         
@@ -106,7 +108,7 @@ public class MedicalExamController extends GenericController<MedicalExam, String
         if (all) {
             pageable = Pageable.unpaged(pageable.getSort());
         }
-        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification)));
+        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification, fields)));
     }
 
     /**
@@ -1,8 +1,11 @@
 package com.hms.medical_exam_service.entities;
 
+import com.hms.common.branches.BranchEntityListener;
+import com.hms.common.branches.BranchScoped;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -15,14 +18,20 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "medical_exams")
-@EntityListeners(AuditingEntityListener.class)
-public class MedicalExam {
+@Table(name = "medical_exams",
+        indexes = @Index(name = "idx_medical_exams_branch_patient", columnList = "branch_id, patient_id"))
+@EntityListeners({AuditingEntityListener.class, BranchEntityListener.class})
+public class MedicalExam implements BranchScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
+    // Branch partition key: set by BranchEntityListener, filtered by Hibernate on every query
+    @TenantId
+    @Column(name = "branch_id", updatable = false, length = 36)
+    private String branchId;
+
     @Column(nullable = false, unique = true)
     private String appointmentId;
 
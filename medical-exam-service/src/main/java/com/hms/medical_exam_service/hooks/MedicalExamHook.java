@@ -19,7 +19,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Hook for MedicalExam business logic.
@@ -58,10 +61,14 @@ public class MedicalExamHook implements GenericHook<MedicalExam, String, Medical
     
     @Override
     public void enrichFindAll(PageResponse<MedicalExamResponse> response) {
-        // Populate hasPrescription for each exam
+        // Populate hasPrescription for the whole page with one query
+        List<String> examIds = response.getContent().stream().map(MedicalExamResponse::getId).toList();
+        if (examIds.isEmpty()) {
+            return;
+        }
+        Set<String> withPrescription = new HashSet<>(prescriptionRepository.findMedicalExamIdsWithPrescription(examIds));
         for (MedicalExamResponse exam : response.getContent()) {
-            boolean hasPrescription = prescriptionRepository.existsByMedicalExamId(exam.getId());
-            exam.setHasPrescription(hasPrescription);
+            exam.setHasPrescription(withPrescription.contains(exam.getId()));
         }
         log.debug("FindAll response with {} items, populated hasPrescription flags", response.getContent().size());
     }
@@ -4,9 +4,12 @@ import com.hms.common.repositories.SimpleRepository;
 import com.hms.medical_exam_service.entities.Prescription;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,12 @@ public interface PrescriptionRepository extends SimpleRepository<Prescription, S
      * Check if prescription exists for exam (for uniqueness validation)
      */
     boolean existsByMedicalExamId(String medicalExamId);
+
+    /**
+     * Those of the given exam IDs that have a prescription (one query for a page of exams)
+     */
+    @Query("SELECT p.medicalExamId FROM Prescription p WHERE p.medicalExamId IN :medicalExamIds")
+    List<String> findMedicalExamIdsWithPrescription(@Param("medicalExamIds") Collection<String> medicalExamIds);
     
     /**
      * Find all prescriptions for a patient (with pagination)
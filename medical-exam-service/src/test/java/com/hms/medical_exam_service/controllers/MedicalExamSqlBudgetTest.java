@@ -0,0 +1,74 @@
+package com.hms.medical_exam_service.controllers;
+
+import com.hms.common.testing.SqlBudget;
+import com.hms.medical_exam_service.entities.MedicalExam;
+import com.hms.medical_exam_service.entities.Prescription;
+import com.hms.medical_exam_service.repositories.MedicalExamRepository;
+import com.hms.medical_exam_service.repositories.PrescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the exam list: fails when enrichment goes back to one query per row.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:medical_sql_budget_db;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "hms.sql.count.enabled=true"
+})
+@AutoConfigureMockMvc
+class MedicalExamSqlBudgetTest {
+
+    private static final int EXAMS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MedicalExamRepository medicalExamRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @BeforeEach
+    void setUp() {
+        prescriptionRepository.deleteAll();
+        medicalExamRepository.deleteAll();
+        for (int i = 0; i < EXAMS; i++) {
+            MedicalExam exam = new MedicalExam();
+            exam.setAppointmentId("appt-budget-" + i);
+            exam.setDiagnosis("Checkup " + i);
+            MedicalExam saved = medicalExamRepository.save(exam);
+            if (i % 3 == 0) {
+                Prescription prescription = new Prescription();
+                prescription.setMedicalExamId(saved.getId());
+                prescription.setPrescribedAt(Instant.now());
+                prescriptionRepository.save(prescription);
+            }
+        }
+    }
+
+    @Test
+    @SqlBudget(select = 2, maxRepeats = 1)
+    @DisplayName("Find All: hasPrescription should be loaded for the whole page in one query")
+    void findAllLoadsPrescriptionFlagsInOneQuery() throws Exception {
+        mockMvc.perform(get("/exams/all").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(EXAMS)))
+                .andExpect(jsonPath("$.data.content[?(@.hasPrescription == true)]", hasSize(2)));
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.Set;
 
 @RequestMapping("/medicines")
 @RestController
@@ -42,9 +43,10 @@ public class MedicineController extends GenericController<Medicine, String, Medi
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<MedicineResponse>>> listMedicines(
             Pageable pageable,
-            @RequestParam(value = "search", required = false) @Nullable String search) {
+            @RequestParam(value = "search", required = false) @Nullable String search,
+            @RequestParam(value = "fields", required = false) @Nullable Set<String> fields) {
         Specification<Medicine> specification = RSQLJPASupport.toSpecification(search);
-        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification)));
+        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification, fields)));
     }
 
     /**
@@ -30,10 +30,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RequestMapping("/patients")
 @RestController
 public class PatientController extends GenericController<Patient, String, PatientRequest, PatientResponse> {
+
+    private static final Set<String> AGGREGATABLE_FIELDS = Set.of(
+            "gender", "bloodType", "dateOfBirth");
     
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
@@ -47,6 +51,11 @@ public class PatientController extends GenericController<Patient, String, Patien
         this.patientMapper = patientMapper;
     }
 
+    @Override
+    protected Set<String> aggregatableFields() {
+        return AGGREGATABLE_FIELDS;
+    }
+
     /**
      * Override to match API contract: GET /api/patients (instead of /api/patients/all)
      * Supports query params: page, size, search (RSQL), sort
@@ -54,9 +63,10 @@ public class PatientController extends GenericController<Patient, String, Patien
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<PatientResponse>>> listPatients(
             Pageable pageable,
-            @RequestParam(value = "search", required = false) @Nullable String search) {
+            @RequestParam(value = "search", required = false) @Nullable String search,
+            @RequestParam(value = "fields", required = false) @Nullable Set<String> fields) {
         Specification<Patient> specification = RSQLJPASupport.toSpecification(search);
-        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification)));
+        return ResponseEntity.ok(ApiResponse.ok(service.findAll(pageable, specification, fields)));
     }
 
     @GetMapping("/me")
@@ -4,6 +4,7 @@ include(
     "config-server",
     "discovery-service",
     "common",
+    "loadbalancer",
     "api-gateway",
     "medicine-service",
     "auth-service",